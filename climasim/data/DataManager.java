@@ -1,63 +1,114 @@
 package com.climasim.data;
 
+import com.climasim.data.generate.ClimateYearModel;
+import com.climasim.data.generate.EnsembleBands;
+import com.climasim.data.generate.EnsembleEngine;
+import com.climasim.data.generate.GridAnomalyModel;
+import com.climasim.data.generate.RandomStreams;
+import com.climasim.data.grid.AreaMeans;
+import com.climasim.data.grid.CellTrends;
+import com.climasim.data.grid.GridSpec;
+import com.climasim.data.grid.GriddedField;
+import com.climasim.data.grid.RegionMasks;
+import com.climasim.data.io.BinaryDataSnapshot;
+import com.climasim.data.io.PersistenceService;
+import com.climasim.data.io.YearlyClimateJsonLoader;
 import com.climasim.data.models.*;
+import com.climasim.data.query.MetricRollups;
+import com.climasim.data.query.MetricSplines;
+import com.climasim.data.query.RelevanceGraph;
+import com.climasim.data.query.SearchIndex;
+import com.climasim.data.query.SearchResult;
+import com.climasim.data.query.SolutionIndex;
+import com.climasim.data.store.IssueSeriesStore;
+import com.climasim.data.store.YearlyMetricStore;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
 
 public class DataManager {
 
-        // FIX: Added Singleton instance variable
-        private static DataManager instance;
-
         private static final String DATA_PATH = "/data/";
         private static final String CLIMATE_DATA_FILE = "climate_data_1980_2050.json";
         private static final String ISSUES_DATA_FILE = "climate_issues.json";
         private static final String SOLUTIONS_DATA_FILE = "climate_solutions.json";
+        private static final String SNAPSHOT_FILE = "climate_data.snapshot";
+        private static final String TEMPERATURE_FIELD_FILE = "temperature_anomaly_monthly.grid";
+        private static final String TEMPERATURE_TREND_FILE_PREFIX = "temperature_";
+        private static final Path DATA_DIR = Paths.get(System.getProperty("climasim.data.dir",
+                        System.getProperty("climasim.cache.dir",
+                                        System.getProperty("user.home") + File.separator + ".climasim")));
+
+        // Generated data and snapshots are written here in the background
+        private final PersistenceService persistence = new PersistenceService(DATA_DIR,
+                        Boolean.getBoolean("climasim.data.fsync"));
 
         private ObjectMapper objectMapper;
-        private Map<Integer, YearlyClimateData> yearlyDataCache;
-        private Map<String, ClimateIssue> climateIssuesCache;
-        private Map<String, Solution> solutionsCache;
-        private Map<IssueType, List<ClimateIssue>> issuesByType;
 
-        private boolean isDataLoaded = false;
-        private boolean isLoading = false;
-        private String lastError = null;
+        // Current data generation; replaced wholesale by each load, never mutated
+        private final AtomicReference<DataSnapshot> snapshot = new AtomicReference<>(DataSnapshot.EMPTY);
+
+        private volatile boolean isDataLoaded = false;
+        private volatile boolean isLoading = false;
+        private volatile String lastError = null;
+        private volatile float loadProgress = 0.0f;
+        private final AtomicReference<CompletableFuture<Boolean>> currentLoad = new AtomicReference<>();
+
+        // Called with each newly published generation, on the thread that published it
+        private final List<Consumer<DataSnapshot>> snapshotListeners = new CopyOnWriteArrayList<>();
+
+        // Latest published ensemble bands, null until an ensemble has run
+        private volatile EnsembleBands ensembleBands;
+
+        // Latest per-cell trend maps, null until a trend job has run
+        private volatile CellTrends temperatureTrends;
 
-        private Random dataGenerator;
         private static final long SEED = 12345L;
+        private static final int GENERATOR_VERSION = 6; // Bump when procedurally generated data changes
+        private static final int GENERATE_YEARS_PER_TASK = 8;
+        private static final float ENSEMBLE_TREND_SPREAD = 0.15f;
+        private static final float ENSEMBLE_TEMPERATURE_NOISE = 0.1f;
+        private static final double GRID_RESOLUTION = Double.parseDouble(
+                        System.getProperty("climasim.grid.resolution", "2.0"));
 
         // FIX: Constructor is now private for Singleton pattern
         private DataManager() {
                 this.objectMapper = new ObjectMapper();
-                this.yearlyDataCache = new ConcurrentHashMap<>();
-                this.climateIssuesCache = new ConcurrentHashMap<>();
-                this.solutionsCache = new ConcurrentHashMap<>();
-                this.issuesByType = new ConcurrentHashMap<>();
-                this.dataGenerator = new Random(SEED);
                 System.out.println("DataManager instantiated");
         }
 
-        // FIX: Added standard getInstance method for Singleton
+        // Initialization-on-demand holder: the JVM guarantees a single, safely published instance
+        private static class InstanceHolder {
+                private static final DataManager INSTANCE = new DataManager();
+        }
+
         public static DataManager getInstance() {
-                if (instance == null) {
-                        instance = new DataManager();
-                }
-                return instance;
+                return InstanceHolder.INSTANCE;
         }
 
         // FIX: This is the method Application.java will call
@@ -65,92 +116,461 @@ public class DataManager {
                 System.out.println("DataManager initialization started...");
                 // This calls your async method and waits for it to complete.
                 // This keeps your async logic while fitting into the app's synchronous startup.
-                initializeData().join();
+                initializeAsync().join();
                 System.out.println("DataManager initialization finished.");
         }
 
+        /**
+         * Start loading the data unless a load has already been started. Concurrent and
+         * repeated callers all receive the same future, so the data is loaded once.
+         */
+        public CompletableFuture<Boolean> initializeAsync() {
+                CompletableFuture<Boolean> current = currentLoad.get();
+                return current != null ? current : startLoad(null);
+        }
+
+        /**
+         * Publish a new load future in place of {@code expected}. If another caller won the
+         * race, its future is returned instead and no second load is started.
+         */
+        private CompletableFuture<Boolean> startLoad(CompletableFuture<Boolean> expected) {
+                CompletableFuture<Boolean> promise = new CompletableFuture<>();
+                if (!currentLoad.compareAndSet(expected, promise)) {
+                        return currentLoad.get();
+                }
+                initializeData().whenComplete((loaded, error) -> {
+                        if (error != null) {
+                                promise.completeExceptionally(error);
+                        } else {
+                                promise.complete(loaded);
+                        }
+                });
+                return promise;
+        }
+
+        /**
+         * Load a complete new generation as a dependency graph: the snapshot check gates the
+         * JSON loaders, the yearly, issue and solution loaders run in parallel, and the issue
+         * indices only wait for the issues. The result is published with one atomic swap, so
+         * readers keep using the previous generation until the new one is complete.
+         */
         private CompletableFuture<Boolean> initializeData() {
-                return CompletableFuture.supplyAsync(() -> {
-                        try {
-                                isLoading = true;
-                                lastError = null;
-                                loadYearlyClimateData();
-                                loadClimateIssues();
-                                loadClimateSolutions();
-                                buildDataIndices();
-                                isDataLoaded = true;
-                                isLoading = false;
-                                System.out.println("Climate data loaded successfully");
-                                System.out.println("- Yearly data points: " + yearlyDataCache.size());
-                                System.out.println("- Climate issues: " + climateIssuesCache.size());
-                                System.out.println("- Solutions: " + solutionsCache.size());
-                                return true;
-
-                        } catch (Exception e) {
-                                lastError = e.getMessage();
+                isLoading = true;
+                lastError = null;
+                loadProgress = 0.0f;
+                long started = System.nanoTime();
+
+                CompletableFuture<Long> sourceHash = CompletableFuture
+                                .supplyAsync(() -> timePhase("source hash", this::computeSourceHash));
+                CompletableFuture<DataSnapshot> loaded = sourceHash
+                                .thenApply(hash -> timePhase("snapshot read", () -> loadFromSnapshot(hash)))
+                                .thenCompose(contents -> {
+                                        if (contents != null) {
+                                                // Grid-derived metrics are already in the snapshot's columns
+                                                Map<String, ClimateIssue> issues = indexIssues(contents.getIssues());
+                                                Map<String, Solution> solutions = indexSolutions(contents.getSolutions());
+                                                return loadTemperatureField(contents.getYearlyStore())
+                                                                .thenApplyAsync(field -> timePhase("data indices",
+                                                                                () -> buildSnapshot(contents.getYearlyStore(),
+                                                                                                field, issues, solutions,
+                                                                                                buildDataIndices(issues))));
+                                        }
+                                        CompletableFuture<YearlyLoad> yearly = CompletableFuture.supplyAsync(
+                                                        () -> timePhase("yearly data", this::loadYearlyClimateData));
+                                        CompletableFuture<GriddedField> field = yearly
+                                                        .thenCompose(load -> loadTemperatureField(load.store))
+                                                        .thenApply(loadedField -> {
+                                                                // Loaded observations stay as they are
+                                                                if (loadedField != null && yearly.join().generated) {
+                                                                        timePhase("grid means", () -> deriveFromGrid(
+                                                                                        yearly.join().store, loadedField));
+                                                                }
+                                                                return loadedField;
+                                                        });
+                                        CompletableFuture<Map<String, ClimateIssue>> issues = CompletableFuture
+                                                        .supplyAsync(() -> timePhase("climate issues",
+                                                                        this::loadClimateIssues));
+                                        CompletableFuture<Map<String, Solution>> solutions = CompletableFuture
+                                                        .supplyAsync(() -> timePhase("solutions",
+                                                                        this::loadClimateSolutions));
+                                        CompletableFuture<Map<IssueType, List<ClimateIssue>>> indices = issues
+                                                        .thenApply(loadedIssues -> timePhase("data indices",
+                                                                        () -> buildDataIndices(loadedIssues)));
+                                        return CompletableFuture.allOf(field, solutions, indices).thenApply(ignored -> {
+                                                YearlyLoad load = yearly.join();
+                                                DataSnapshot next = buildSnapshot(load.store, field.join(),
+                                                                issues.join(), solutions.join(), indices.join());
+                                                // Both writers read the store only after the snapshot froze it
+                                                if (load.generated) {
+                                                        saveYearlyClimateData(load.store);
+                                                }
+                                                scheduleSnapshotWrite(sourceHash.join(), next);
+                                                return next;
+                                        });
+                                });
+
+                return loaded.handle((next, error) -> {
+                        if (error != null) {
+                                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                                lastError = cause.getMessage();
                                 isLoading = false;
-                                System.err.println("Failed to load climate data: " + e.getMessage());
-                                e.printStackTrace();
+                                System.err.println("Failed to load climate data: " + cause.getMessage());
+                                cause.printStackTrace();
                                 return false;
                         }
+                        snapshot.set(next);
+                        isDataLoaded = true;
+                        isLoading = false;
+                        loadProgress = 1.0f;
+                        for (Consumer<DataSnapshot> listener : snapshotListeners) {
+                                listener.accept(next);
+                        }
+                        System.out.println("Climate data loaded successfully in "
+                                        + String.format("%.1f ms", (System.nanoTime() - started) / 1e6));
+                        System.out.println("- Data generation: " + next.getGeneration());
+                        System.out.println("- Yearly data points: " + next.getYearlyStore().size());
+                        System.out.println("- Climate issues: " + next.getIssues().size());
+                        System.out.println("- Solutions: " + next.getSolutions().size());
+                        return true;
+                });
+        }
+
+        private DataSnapshot buildSnapshot(YearlyMetricStore yearly, GriddedField temperatureField,
+                        Map<String, ClimateIssue> loadedIssues,
+                        Map<String, Solution> solutions, Map<IssueType, List<ClimateIssue>> loadedByType) {
+                DataSnapshot previous = snapshot.get();
+                IssueSeriesStore issueSeries = timePhase("issue series",
+                                () -> IssueSeriesStore.build(loadedIssues.values()));
+                // The generation owns store-backed copies; the loaded issues are left untouched
+                Map<String, ClimateIssue> issues = new LinkedHashMap<>();
+                int row = 0;
+                for (ClimateIssue issue : loadedIssues.values()) {
+                        issues.put(issue.getId(), issue.withSeries(issueSeries, row++));
+                }
+                Map<IssueType, List<ClimateIssue>> issuesByType = new EnumMap<>(IssueType.class);
+                for (Map.Entry<IssueType, List<ClimateIssue>> entry : loadedByType.entrySet()) {
+                        List<ClimateIssue> copies = new ArrayList<>(entry.getValue().size());
+                        for (ClimateIssue issue : entry.getValue()) {
+                                copies.add(issues.get(issue.getId()));
+                        }
+                        issuesByType.put(entry.getKey(), copies);
+                }
+                MetricRollups rollups = timePhase("metric rollups",
+                                () -> MetricRollups.build(yearly, previous.getRollups()));
+                MetricSplines splines = timePhase("metric splines", () -> MetricSplines.build(yearly));
+                SearchIndex searchIndex = timePhase("search index",
+                                () -> SearchIndex.build(issues.values(), solutions.values(), previous.getSearchIndex()));
+                SolutionIndex solutionIndex = timePhase("solution index",
+                                () -> SolutionIndex.build(solutions.values()));
+                RelevanceGraph relevance = timePhase("relevance graph",
+                                () -> RelevanceGraph.build(issues.values(), solutions.values()));
+                return new DataSnapshot(previous.getGeneration() + 1, yearly, rollups, splines, searchIndex,
+                                solutionIndex, relevance, issueSeries, temperatureField, issues, solutions, issuesByType);
+        }
+
+        private static Map<String, ClimateIssue> indexIssues(List<ClimateIssue> issues) {
+                Map<String, ClimateIssue> byId = new LinkedHashMap<>();
+                for (ClimateIssue issue : issues) {
+                        byId.put(issue.getId(), issue);
+                }
+                return byId;
+        }
+
+        private static Map<String, Solution> indexSolutions(List<Solution> solutions) {
+                Map<String, Solution> byName = new LinkedHashMap<>();
+                for (Solution solution : solutions) {
+                        byName.put(solution.getName(), solution);
+                }
+                return byName;
+        }
+
+        private void timePhase(String phase, Runnable work) {
+                timePhase(phase, () -> {
+                        work.run();
+                        return null;
                 });
         }
 
-        private void loadYearlyClimateData() {
+        private <T> T timePhase(String phase, Callable<T> work) {
+                long started = System.nanoTime();
                 try {
-                        InputStream is = getClass().getResourceAsStream(DATA_PATH + CLIMATE_DATA_FILE);
-                        if (is != null) {
-                                TypeReference<Map<Integer, YearlyClimateData>> typeRef = new TypeReference<>() {
-                                };
-                                yearlyDataCache = objectMapper.readValue(is, typeRef);
-                                is.close();
+                        return work.call();
+                } catch (RuntimeException e) {
+                        throw e;
+                } catch (Exception e) {
+                        throw new CompletionException(e);
+                } finally {
+                        System.out.println("- " + phase + " took "
+                                        + String.format("%.1f ms", (System.nanoTime() - started) / 1e6));
+                }
+        }
+
+        /**
+         * Hash of the JSON sources; the binary snapshot is only reused while this matches.
+         * Missing sources hash as a marker, since their data is generated from SEED.
+         */
+        private long computeSourceHash() throws IOException {
+                CRC32C crc = new CRC32C();
+                // Global temperature is derived from the grid, so its resolution is a source too
+                crc.update(("v" + BinaryDataSnapshot.VERSION + ":" + SEED + ":" + GENERATOR_VERSION + ":"
+                                + GRID_RESOLUTION)
+                                .getBytes(StandardCharsets.UTF_8));
+                byte[] buffer = new byte[64 * 1024];
+                for (String fileName : new String[] { CLIMATE_DATA_FILE, ISSUES_DATA_FILE, SOLUTIONS_DATA_FILE }) {
+                        crc.update(fileName.getBytes(StandardCharsets.UTF_8));
+                        InputStream is = getClass().getResourceAsStream(DATA_PATH + fileName);
+                        if (is == null) {
+                                crc.update(0);
+                                continue;
+                        }
+                        try (is) {
+                                int read;
+                                while ((read = is.read(buffer)) > 0) {
+                                        crc.update(buffer, 0, read);
+                                }
+                        }
+                }
+                return crc.getValue();
+        }
+
+        /**
+         * Open the gridded anomaly field matching the yearly anomaly column, or generate
+         * it on the persistence thread when the file is missing or stale. Completes with
+         * null if neither works, so the data still loads without the grid. Years the
+         * store lacks, or that lack an anomaly, are NaN rather than a zero anomaly, so
+         * the field leaves them empty.
+         */
+        private CompletableFuture<GriddedField> loadTemperatureField(YearlyMetricStore yearly) {
+                float[] column = yearly.column(ClimateMetric.TEMPERATURE_ANOMALY);
+                float[] anomaly = new float[yearly.getCapacity()];
+                for (int row = 0; row < anomaly.length; row++) {
+                        anomaly[row] = yearly.hasMetric(ClimateMetric.TEMPERATURE_ANOMALY, row) ? column[row] : Float.NaN;
+                }
+                GridSpec grid = GridSpec.global(GRID_RESOLUTION);
+                long fieldHash = computeFieldHash(grid, yearly.getBaseYear(), anomaly);
+                Path file = persistence.resolve(TEMPERATURE_FIELD_FILE);
+                return CompletableFuture.supplyAsync(() -> timePhase("grid field open",
+                                () -> GriddedField.openIfCurrent(file, fieldHash, GriddedField.DEFAULT_CACHE_BYTES)))
+                                .thenCompose(field -> {
+                                        if (field != null) {
+                                                return CompletableFuture.completedFuture(field);
+                                        }
+                                        GridAnomalyModel model = new GridAnomalyModel(grid, anomaly, SEED);
+                                        return persistence.save(TEMPERATURE_FIELD_FILE,
+                                                        out -> GriddedField.writeTo(out, fieldHash, grid,
+                                                                        yearly.getBaseYear(), GridAnomalyModel.MONTHS,
+                                                                        model.getTimeSteps(), model))
+                                                        .thenApply(ignored -> timePhase("grid field open",
+                                                                        () -> GriddedField.open(file)));
+                                })
+                                .exceptionally(error -> {
+                                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                                        System.err.println("Failed to load gridded temperature field: "
+                                                        + cause.getMessage());
+                                        return null;
+                                });
+        }
+
+        /**
+         * Replace the modelled global and continental temperatures with area-weighted
+         * annual means of the gridded anomaly over each one's own climatology: the global
+         * baseline for the global mean, and for a region the mean offset between its
+         * modelled temperatures and its grid anomaly over the years both cover. Years the
+         * store lacks or the grid cannot cover keep their modelled values.
+         *
+         * Only generated stores are derived; values read from the yearly JSON are
+         * observations and are kept as loaded.
+         */
+        private void deriveFromGrid(YearlyMetricStore yearly, GriddedField field) {
+                float[] annual = AreaMeans.compute(field).annualGlobalMeans();
+                for (int i = 0; i < annual.length; i++) {
+                        int year = field.getBaseYear() + i;
+                        if (yearly.hasYear(year) && !Float.isNaN(annual[i])) {
+                                yearly.set(ClimateMetric.GLOBAL_TEMPERATURE, yearly.rowOf(year),
+                                                ClimateYearModel.BASELINE_GLOBAL_TEMPERATURE + annual[i]);
+                        }
+                }
+
+                RegionMasks masks = RegionMasks.continental(field.getGrid());
+                int regionCount = masks.getRegionCount();
+                float[] regional = masks.annualMeans(masks.aggregate(field), field.getStepsPerYear());
+                int years = regional.length / regionCount;
+                for (int slot = 0; slot < regionCount; slot++) {
+                        int regionId = masks.getRegion(slot).getId();
+                        double offsetSum = 0;
+                        int offsetCount = 0;
+                        for (int i = 0; i < years; i++) {
+                                int row = yearly.rowOf(field.getBaseYear() + i);
+                                float anomaly = regional[i * regionCount + slot];
+                                float modelled = row >= 0
+                                                ? yearly.getRegional(RegionalMetric.TEMPERATURE, row, regionId)
+                                                : Float.NaN;
+                                if (!Float.isNaN(anomaly) && !Float.isNaN(modelled)) {
+                                        offsetSum += modelled - anomaly;
+                                        offsetCount++;
+                                }
+                        }
+                        if (offsetCount == 0) {
+                                continue; // No modelled climatology to anchor the anomaly to
+                        }
+                        float baseline = (float) (offsetSum / offsetCount);
+                        for (int i = 0; i < years; i++) {
+                                int row = yearly.rowOf(field.getBaseYear() + i);
+                                float anomaly = regional[i * regionCount + slot];
+                                if (row >= 0 && !Float.isNaN(anomaly)) {
+                                        yearly.setRegional(RegionalMetric.TEMPERATURE, row, regionId,
+                                                        baseline + anomaly);
+                                }
+                        }
+                }
+        }
+
+        private long computeFieldHash(GridSpec grid, int baseYear, float[] anomaly) {
+                CRC32C crc = new CRC32C();
+                crc.update(("grid:v" + GriddedField.VERSION + ":" + SEED + ":" + GENERATOR_VERSION + ":" + grid + ":"
+                                + baseYear).getBytes(StandardCharsets.UTF_8));
+                for (float value : anomaly) {
+                        int bits = Float.floatToIntBits(value);
+                        crc.update(bits);
+                        crc.update(bits >>> 8);
+                        crc.update(bits >>> 16);
+                        crc.update(bits >>> 24);
+                }
+                return crc.getValue();
+        }
+
+        private BinaryDataSnapshot.Contents loadFromSnapshot(long sourceHash) {
+                Path snapshotPath = persistence.resolve(SNAPSHOT_FILE);
+                try {
+                        BinaryDataSnapshot.Contents contents = BinaryDataSnapshot.readIfCurrent(snapshotPath, sourceHash);
+                        if (contents != null) {
+                                System.out.println("Loaded climate data from snapshot: " + snapshotPath);
+                        }
+                        return contents;
+                } catch (Exception e) {
+                        System.err.println("Failed to read data snapshot, re-parsing sources: " + e.getMessage());
+                        return null;
+                }
+        }
+
+        /**
+         * Queue the binary snapshot on the persistence thread so startup does not wait
+         * for disk. The generation is immutable, so it can be encoded after publishing.
+         */
+        private void scheduleSnapshotWrite(long sourceHash, DataSnapshot data) {
+                if (!BinaryDataSnapshot.canRepresent(data.getIssueList())) {
+                        return;
+                }
+                persistence.save(SNAPSHOT_FILE, out -> BinaryDataSnapshot.writeTo(out, sourceHash,
+                                data.getYearlyStore(), data.getIssueList(), data.getSolutions().values()));
+        }
+
+        /**
+         * Yearly store from the bundled JSON, or generated from SEED when it is missing
+         * or unreadable
+         */
+        private YearlyLoad loadYearlyClimateData() {
+                try {
+                        URL resource = getClass().getResource(DATA_PATH + CLIMATE_DATA_FILE);
+                        if (resource != null) {
+                                // Stream tokens straight into the metric columns instead of binding a tree
+                                long totalBytes = resource.openConnection().getContentLengthLong();
+                                YearlyMetricStore store = new YearlyMetricStore(1980, 2050 - 1980 + 1);
+                                YearlyClimateJsonLoader loader = new YearlyClimateJsonLoader(objectMapper.getFactory());
+                                try (InputStream is = resource.openStream()) {
+                                        loader.load(is, totalBytes, store, this::onYearlyLoadProgress);
+                                }
+                                return new YearlyLoad(store, false);
                         } else {
-                                generateYearlyClimateData();
-                                saveYearlyClimateData();
+                                return new YearlyLoad(generateYearlyClimateData(), true);
                         }
                 } catch (Exception e) {
                         System.err.println(
                                         "Failed to load yearly climate data, generating new data: " + e.getMessage());
-                        generateYearlyClimateData();
+                        return new YearlyLoad(generateYearlyClimateData(), true);
                 }
         }
 
-        private void generateYearlyClimateData() {
+        /**
+         * A loaded yearly store and whether it was generated rather than read from JSON
+         */
+        private static final class YearlyLoad {
+                final YearlyMetricStore store;
+                final boolean generated;
+
+                YearlyLoad(YearlyMetricStore store, boolean generated) {
+                        this.store = store;
+                        this.generated = generated;
+                }
+        }
+
+        private void onYearlyLoadProgress(long bytesRead, long totalBytes, int yearsLoaded) {
+                if (totalBytes > 0) {
+                        loadProgress = Math.min(1.0f, (float) bytesRead / totalBytes);
+                }
+        }
+
+        /**
+         * Generate the yearly data in parallel. Rows and region columns are reserved up
+         * front so each task only writes its own rows, and every random draw comes from a
+         * stream keyed by year and region, so the result is identical on any thread count.
+         */
+        private YearlyMetricStore generateYearlyClimateData() {
                 System.out.println("Generating procedural climate data...");
+                YearlyMetricStore store = new YearlyMetricStore(1980, 2050 - 1980 + 1);
                 for (int year = 1980; year <= 2050; year++) {
-                        YearlyClimateData data = new YearlyClimateData();
-                        data.setYear(year);
-                        float yearsFromBase = year - 1980;
-                        float futureProjection = year > 2024 ? (year - 2024) * 0.5f : 0;
-                        float baseTemp = 14.0f;
-                        float tempIncrease = yearsFromBase * 0.02f + futureProjection * 0.03f;
-                        data.setGlobalTemperature(baseTemp + tempIncrease);
-                        data.setTemperatureAnomaly(tempIncrease);
-                        float baseCO2 = 315.0f;
-                        data.setCo2Level(baseCO2 + yearsFromBase * 2.2f + futureProjection * 1.8f);
-                        data.setSeaLevelChange(yearsFromBase * 0.32f + futureProjection * 0.45f);
-                        float iceBaseline = 100.0f;
-                        data.setArcticIceExtent(
-                                        Math.max(30.0f, iceBaseline - yearsFromBase * 0.8f - futureProjection * 1.2f));
-                        float phBaseline = 8.1f;
-                        data.setOceanPH(phBaseline - yearsFromBase * 0.002f - futureProjection * 0.003f);
-                        float forestBaseline = 100.0f;
-                        data.setGlobalForestCover(Math.max(70.0f,
-                                        forestBaseline - yearsFromBase * 0.3f - futureProjection * 0.5f));
-                        int baseEvents = 50;
-                        data.setExtremeWeatherEvents(
-                                        (int) (baseEvents + yearsFromBase * 1.5f + futureProjection * 2.0f));
-
-                        // Generate regional data
-                        generateRegionalData(data, year);
-
-                        // NEW: Generate summary for each year based on the data
-                        data.setSummary(generateYearSummary(data, year));
-
-                        yearlyDataCache.put(year, data);
+                        store.addYear(year);
+                }
+                store.reserveRegions(Region.count());
+                ForkJoinPool.commonPool().invoke(new GenerateYearsTask(store, 1980, 2050));
+                return store;
+        }
+
+        /**
+         * Splits a year range until it is small enough to generate directly
+         */
+        private final class GenerateYearsTask extends RecursiveAction {
+                private static final long serialVersionUID = 1L;
+
+                private final YearlyMetricStore store;
+                private final int firstYear;
+                private final int lastYear;
+
+                GenerateYearsTask(YearlyMetricStore store, int firstYear, int lastYear) {
+                        this.store = store;
+                        this.firstYear = firstYear;
+                        this.lastYear = lastYear;
+                }
+
+                @Override
+                protected void compute() {
+                        if (lastYear - firstYear < GENERATE_YEARS_PER_TASK) {
+                                for (int year = firstYear; year <= lastYear; year++) {
+                                        generateYear(store.view(year), year);
+                                }
+                                return;
+                        }
+                        int middle = (firstYear + lastYear) >>> 1;
+                        invokeAll(new GenerateYearsTask(store, firstYear, middle),
+                                        new GenerateYearsTask(store, middle + 1, lastYear));
                 }
         }
 
+        private void generateYear(YearlyClimateData data, int year) {
+                // The view writes straight into the store's metric columns
+                float[] values = new float[ClimateMetric.values().length];
+                ClimateYearModel.BASELINE.compute(year, values);
+                for (ClimateMetric metric : ClimateMetric.values()) {
+                        data.setMetric(metric, values[metric.ordinal()]);
+                }
+
+                // Generate regional data
+                generateRegionalData(data, year);
+
+                // NEW: Generate summary for each year based on the data
+                data.setSummary(generateYearSummary(data, year));
+        }
+
         // NEW: Method to generate comprehensive summary for each year
         private String generateYearSummary(YearlyClimateData data, int year) {
                 StringBuilder summary = new StringBuilder();
@@ -248,57 +668,57 @@ public class DataManager {
                 return summary.toString().trim();
         }
 
+        // deriveFromGrid later keeps each region's climatology and replaces the anomaly with grid means
         private void generateRegionalData(YearlyClimateData data, int year) {
-                Map<String, Float> regionalTemps = new HashMap<>();
-                Map<String, Float> regionalPrecipitation = new HashMap<>();
-                float globalTemp = data.getGlobalTemperature();
+                float anomaly = data.getTemperatureAnomaly();
                 float yearProgress = (year - 1980) / 70.0f;
-                String[] regions = { "Arctic", "North America", "Europe", "Asia", "Africa", "South America",
-                                "Australia", "Antarctica", "Pacific Islands" };
+                List<Region> regions = Region.continental();
+                // Rough annual mean temperature of each region's outline, degrees C
+                float[] climatology = { -12.0f, 6.0f, 9.0f, 8.0f, 24.0f, 21.0f, 21.0f, -20.0f, 26.0f };
                 float[] warmingMultipliers = { 2.5f, 1.0f, 1.1f, 1.2f, 1.3f, 1.0f, 1.4f, 1.8f, 0.8f };
                 float[] precipitationChanges = { 0.1f, -0.05f, 0.02f, -0.1f, -0.15f, -0.08f, -0.2f, 0.05f, 0.03f };
-                for (int i = 0; i < regions.length; i++) {
-                        float regionTemp = globalTemp * warmingMultipliers[i] + dataGenerator.nextFloat() * 0.5f
-                                        - 0.25f;
-                        regionalTemps.put(regions[i], regionTemp);
+                for (int i = 0; i < regions.size(); i++) {
+                        SplittableRandom random = RandomStreams.stream(SEED, RandomStreams.REGIONAL, year,
+                                        RandomStreams.key(regions.get(i).getName()));
+                        float regionTemp = climatology[i] + anomaly * warmingMultipliers[i]
+                                        + random.nextFloat() * 0.5f - 0.25f;
+                        data.setRegional(RegionalMetric.TEMPERATURE, regions.get(i), regionTemp);
                         float basePrecip = 1000.0f;
                         float precipChange = basePrecip * precipitationChanges[i] * yearProgress;
-                        regionalPrecipitation.put(regions[i], basePrecip + precipChange);
+                        data.setRegional(RegionalMetric.PRECIPITATION, regions.get(i), basePrecip + precipChange);
                 }
-                data.setRegionalTemperatures(regionalTemps);
-                data.setRegionalPrecipitation(regionalPrecipitation);
         }
 
-        private void loadClimateIssues() {
+        private Map<String, ClimateIssue> loadClimateIssues() {
                 try {
                         InputStream is = getClass().getResourceAsStream(DATA_PATH + ISSUES_DATA_FILE);
                         if (is != null) {
                                 List<ClimateIssue> issues = objectMapper.readValue(is, new TypeReference<>() {
                                 });
-                                for (ClimateIssue issue : issues) {
-                                        climateIssuesCache.put(issue.getId(), issue);
-                                }
                                 is.close();
+                                return indexIssues(issues);
                         } else {
-                                generateClimateIssues();
+                                return generateClimateIssues();
                         }
                 } catch (Exception e) {
                         System.err.println("Failed to load climate issues, generating new data: " + e.getMessage());
-                        generateClimateIssues();
+                        return generateClimateIssues();
                 }
         }
 
-        private void generateClimateIssues() {
+        private Map<String, ClimateIssue> generateClimateIssues() {
                 System.out.println("Generating climate issues data...");
-                createGlobalWarmingIssues();
-                createDeforestationIssues();
-                createOceanIssues();
-                createExtremeWeatherIssues();
-                createIceMeltingIssues();
-                createBiodiversityIssues();
+                Map<String, ClimateIssue> issues = new LinkedHashMap<>();
+                createGlobalWarmingIssues(issues);
+                createDeforestationIssues(issues);
+                createOceanIssues(issues);
+                createExtremeWeatherIssues(issues);
+                createIceMeltingIssues(issues);
+                createBiodiversityIssues(issues);
+                return issues;
         }
 
-        private void createGlobalWarmingIssues() {
+        private void createGlobalWarmingIssues(Map<String, ClimateIssue> issues) {
                 ClimateIssue globalWarming = new ClimateIssue();
                 globalWarming.setId("global_warming");
                 globalWarming.setTitle("Global Temperature Rise");
@@ -315,10 +735,10 @@ public class DataManager {
                                 new SubIssue("Heat-Related Health Issues",
                                                 "Increasing heat-related illness and mortality, especially in vulnerable populations"));
                 globalWarming.setSubIssues(subIssues);
-                climateIssuesCache.put(globalWarming.getId(), globalWarming);
+                issues.put(globalWarming.getId(), globalWarming);
         }
 
-        private void createDeforestationIssues() {
+        private void createDeforestationIssues(Map<String, ClimateIssue> issues) {
                 ClimateIssue deforestation = new ClimateIssue();
                 deforestation.setId("deforestation");
                 deforestation.setTitle("Amazon Deforestation");
@@ -332,10 +752,10 @@ public class DataManager {
                                 new SubIssue("Water Cycle Disruption",
                                                 "Altered precipitation patterns affecting regional climate"));
                 deforestation.setSubIssues(subIssues);
-                climateIssuesCache.put(deforestation.getId(), deforestation);
+                issues.put(deforestation.getId(), deforestation);
         }
 
-        private void createOceanIssues() {
+        private void createOceanIssues(Map<String, ClimateIssue> issues) {
                 ClimateIssue oceanAcidification = new ClimateIssue();
                 oceanAcidification.setId("ocean_acidification");
                 oceanAcidification.setTitle("Ocean Acidification");
@@ -350,10 +770,10 @@ public class DataManager {
                                                 "Coral systems dying due to temperature and pH changes"),
                                 new SubIssue("Fisheries Decline", "Commercial fish populations declining"));
                 oceanAcidification.setSubIssues(subIssues);
-                climateIssuesCache.put(oceanAcidification.getId(), oceanAcidification);
+                issues.put(oceanAcidification.getId(), oceanAcidification);
         }
 
-        private void createExtremeWeatherIssues() {
+        private void createExtremeWeatherIssues(Map<String, ClimateIssue> issues) {
                 ClimateIssue extremeWeather = new ClimateIssue();
                 extremeWeather.setId("extreme_weather");
                 extremeWeather.setTitle("Extreme Weather Events");
@@ -367,10 +787,10 @@ public class DataManager {
                                 new SubIssue("Flash Flooding",
                                                 "Increased precipitation causing infrastructure damage"));
                 extremeWeather.setSubIssues(subIssues);
-                climateIssuesCache.put(extremeWeather.getId(), extremeWeather);
+                issues.put(extremeWeather.getId(), extremeWeather);
         }
 
-        private void createIceMeltingIssues() {
+        private void createIceMeltingIssues(Map<String, ClimateIssue> issues) {
                 ClimateIssue iceMelting = new ClimateIssue();
                 iceMelting.setId("arctic_ice_melting");
                 iceMelting.setTitle("Arctic Ice Melting");
@@ -382,10 +802,10 @@ public class DataManager {
                                 new SubIssue("Albedo Effect Loss", "Reduced ice coverage accelerating warming"),
                                 new SubIssue("Polar Habitat Loss", "Arctic wildlife losing essential habitat"));
                 iceMelting.setSubIssues(subIssues);
-                climateIssuesCache.put(iceMelting.getId(), iceMelting);
+                issues.put(iceMelting.getId(), iceMelting);
         }
 
-        private void createBiodiversityIssues() {
+        private void createBiodiversityIssues(Map<String, ClimateIssue> issues) {
                 ClimateIssue biodiversity = new ClimateIssue();
                 biodiversity.setId("biodiversity_loss");
                 biodiversity.setTitle("Biodiversity Loss");
@@ -398,147 +818,228 @@ public class DataManager {
                                                 "Critical plant-pollinator relationships breaking down"),
                                 new SubIssue("Food Web Collapse", "Ecosystem balance being disrupted"));
                 biodiversity.setSubIssues(subIssues);
-                climateIssuesCache.put(biodiversity.getId(), biodiversity);
+                issues.put(biodiversity.getId(), biodiversity);
         }
 
-        private void loadClimateSolutions() {
+        private Map<String, Solution> loadClimateSolutions() {
                 try {
                         InputStream is = getClass().getResourceAsStream(DATA_PATH + SOLUTIONS_DATA_FILE);
                         if (is != null) {
                                 List<Solution> solutions = objectMapper.readValue(is, new TypeReference<>() {
                                 });
-                                for (Solution solution : solutions) {
-                                        solutionsCache.put(solution.getName(), solution);
-                                }
                                 is.close();
+                                return indexSolutions(solutions);
                         } else {
-                                generateClimateSolutions();
+                                return generateClimateSolutions();
                         }
                 } catch (Exception e) {
                         System.err.println("Failed to load climate solutions, generating new data: " + e.getMessage());
-                        generateClimateSolutions();
+                        return generateClimateSolutions();
                 }
         }
 
-        private void generateClimateSolutions() {
+        private Map<String, Solution> generateClimateSolutions() {
                 System.out.println("Generating climate solutions data...");
+                Map<String, Solution> solutions = new LinkedHashMap<>();
 
                 // Create comprehensive solutions for each type
-                solutionsCache.put("Solar Energy Expansion", new Solution("Solar Energy Expansion",
+                solutions.put("Solar Energy Expansion", new Solution("Solar Energy Expansion",
                                 "Massive deployment of solar photovoltaic systems globally",
                                 SolutionType.RENEWABLE_ENERGY));
 
-                solutionsCache.put("Amazon Reforestation", new Solution("Amazon Reforestation",
+                solutions.put("Amazon Reforestation", new Solution("Amazon Reforestation",
                                 "Large-scale tree planting and forest protection programs",
                                 SolutionType.REFORESTATION));
 
-                solutionsCache.put("Carbon Capture Technology", new Solution("Carbon Capture Technology",
+                solutions.put("Carbon Capture Technology", new Solution("Carbon Capture Technology",
                                 "Direct air capture and storage of atmospheric CO2", SolutionType.CARBON_CAPTURE));
 
-                solutionsCache.put("Climate Policy Reform", new Solution("Climate Policy Reform",
+                solutions.put("Climate Policy Reform", new Solution("Climate Policy Reform",
                                 "Government regulations and international climate agreements",
                                 SolutionType.POLICY_CHANGE));
 
-                solutionsCache.put("Individual Climate Action", new Solution("Individual Climate Action",
+                solutions.put("Individual Climate Action", new Solution("Individual Climate Action",
                                 "Personal lifestyle changes to reduce carbon footprint",
                                 SolutionType.INDIVIDUAL_ACTION));
 
-                solutionsCache.put("Green Technology Innovation", new Solution("Green Technology Innovation",
+                solutions.put("Green Technology Innovation", new Solution("Green Technology Innovation",
                                 "Development of clean technologies and sustainable practices",
                                 SolutionType.TECHNOLOGY));
 
-                solutionsCache.put("Wildlife Habitat Protection", new Solution("Wildlife Habitat Protection",
+                solutions.put("Wildlife Habitat Protection", new Solution("Wildlife Habitat Protection",
                                 "Conservation programs to protect endangered ecosystems", SolutionType.CONSERVATION));
 
-                solutionsCache.put("Climate Education Programs", new Solution("Climate Education Programs",
+                solutions.put("Climate Education Programs", new Solution("Climate Education Programs",
                                 "Public awareness campaigns about climate change impacts", SolutionType.EDUCATION));
+                return solutions;
         }
 
-        private void buildDataIndices() {
+        private Map<IssueType, List<ClimateIssue>> buildDataIndices(Map<String, ClimateIssue> issues) {
                 // Build indices for faster access
-                for (ClimateIssue issue : climateIssuesCache.values()) {
+                Map<IssueType, List<ClimateIssue>> issuesByType = new EnumMap<>(IssueType.class);
+                for (ClimateIssue issue : issues.values()) {
                         IssueType type = IssueType.GLOBAL_WARMING; // Default type
                         issuesByType.computeIfAbsent(type, k -> new ArrayList<>()).add(issue);
                 }
+                return issuesByType;
         }
 
-        private void saveYearlyClimateData() {
-                try {
-                        File outputDir = new File("src/main/resources" + DATA_PATH);
-                        if (outputDir.mkdirs()) {
-                                System.out.println("Created data directory");
-                        }
-                        File outputFile = new File(outputDir, CLIMATE_DATA_FILE);
-                        objectMapper.writerWithDefaultPrettyPrinter().writeValue(outputFile, yearlyDataCache);
-                        System.out.println("Saved yearly climate data to: " + outputFile.getAbsolutePath());
-                } catch (Exception e) {
-                        System.err.println("Failed to save yearly climate data: " + e.getMessage());
+        /**
+         * Export generated yearly data as compact JSON in the data directory. The store
+         * must already be frozen into a snapshot, after grid derivation, so the
+         * persistence thread serializes final values that nothing writes to anymore.
+         */
+        private void saveYearlyClimateData(YearlyMetricStore yearlyStore) {
+                if (!yearlyStore.isFrozen()) {
+                        throw new IllegalStateException("Yearly data must be frozen before it is exported");
                 }
+                persistence.save(CLIMATE_DATA_FILE, out -> objectMapper.writeValue(out, yearlyStore.asMap()));
         }
 
         // Public API methods
+        /**
+         * The year's data from the bounded year cache, materialized on demand when it
+         * was not prefetched
+         */
         public YearlyClimateData getClimateDataForYear(int year) {
-                return yearlyDataCache.get(year);
+                return snapshot.get().getYearCache().get(year);
+        }
+
+        /**
+         * Materialize the years around {@code year} in the background, reaching further in
+         * the direction the timeline moves: positive forward, negative back, 0 when still.
+         */
+        public void prefetchYears(int year, int direction) {
+                snapshot.get().getYearCache().prefetch(year, direction);
         }
 
         public Set<Integer> getAvailableYears() {
-                return yearlyDataCache.keySet();
+                return snapshot.get().getYearlyStore().getYears();
+        }
+
+        /**
+         * Interpolate every global metric at a fractional year into {@code out}, so
+         * smooth playback can sample each frame without allocating. Returns false when
+         * the year lies outside the loaded data and was clamped to its nearest end.
+         */
+        public boolean getClimateDataAt(float year, ClimateSample out) {
+                return snapshot.get().getSplines().evaluate(year, out);
+        }
+
+        // --- Year-range aggregates, O(1) per query ---
+
+        /**
+         * Mean of a metric over the years {@code fromYear..toYear} that hold data, or NaN if none do
+         */
+        public float getAverage(ClimateMetric metric, int fromYear, int toYear) {
+                return snapshot.get().getRollups().mean(metric, fromYear, toYear);
+        }
+
+        public float getMinimum(ClimateMetric metric, int fromYear, int toYear) {
+                return snapshot.get().getRollups().min(metric, fromYear, toYear);
+        }
+
+        public float getMaximum(ClimateMetric metric, int fromYear, int toYear) {
+                return snapshot.get().getRollups().max(metric, fromYear, toYear);
+        }
+
+        /**
+         * Change of a metric from {@code fromYear} to {@code toYear}, or NaN if either year is missing
+         */
+        public float getChange(ClimateMetric metric, int fromYear, int toYear) {
+                return snapshot.get().getRollups().delta(metric, fromYear, toYear);
+        }
+
+        /**
+         * Trailing {@code window}-year means indexed by {@code year - getRollups().getBaseYear()}
+         */
+        public float[] getRollingAverage(ClimateMetric metric, int window, float[] out) {
+                return snapshot.get().getRollups().rollingMean(metric, window, out);
+        }
+
+        /**
+         * Rollups of the current generation, for callers issuing many range queries
+         */
+        public MetricRollups getRollups() {
+                return snapshot.get().getRollups();
+        }
+
+        /**
+         * Copy one region's values for every stored year into {@code out}, indexed by
+         * {@code year - getSnapshot().getYearlyStore().getBaseYear()}. Years without data hold NaN.
+         */
+        public float[] getRegionalSeries(RegionalMetric metric, Region region, float[] out) {
+                return snapshot.get().getYearlyStore().regionalSeries(metric, region, out);
+        }
+
+        /**
+         * Copy one year's values for every region into {@code out}, indexed by region id,
+         * or return null when the year has no data
+         */
+        public float[] getRegionalSlice(RegionalMetric metric, int year, float[] out) {
+                YearlyMetricStore store = snapshot.get().getYearlyStore();
+                int row = store.rowOf(year);
+                return row >= 0 ? store.regionalSlice(metric, row, out) : null;
         }
 
         public List<ClimateIssue> getClimateIssuesForYear(int year) {
                 // Return all issues for any year - in a real app this would be filtered
-                return new ArrayList<>(climateIssuesCache.values());
+                return snapshot.get().getIssueList();
         }
 
         public List<ClimateIssue> getIssuesByType(IssueType type) {
-                return issuesByType.getOrDefault(type, new ArrayList<>());
+                return snapshot.get().getIssuesByType(type);
         }
 
         public Collection<ClimateIssue> getAllClimateIssues() {
-                return climateIssuesCache.values();
+                return snapshot.get().getIssues().values();
         }
 
         public ClimateIssue getClimateIssue(String id) {
-                return climateIssuesCache.get(id);
+                return snapshot.get().getIssues().get(id);
         }
 
         public Collection<Solution> getAllSolutions() {
-                return solutionsCache.values();
+                return snapshot.get().getSolutions().values();
         }
 
+        /**
+         * Solutions of a type, most effective first. The list is shared and unmodifiable.
+         */
         public List<Solution> getSolutionsByType(SolutionType type) {
-                return solutionsCache.values().stream()
-                                .filter(s -> s.getType() == type)
-                                .sorted((a, b) -> Double.compare(b.getEffectiveness(), a.getEffectiveness()))
-                                .collect(Collectors.toList());
+                return snapshot.get().getSolutionIndex().byType(type);
+        }
+
+        /**
+         * Solutions of a type, cheapest first. The list is shared and unmodifiable.
+         */
+        public List<Solution> getSolutionsByTypeCheapestFirst(SolutionType type) {
+                return snapshot.get().getSolutionIndex().byTypeCheapestFirst(type);
         }
 
         public Solution getSolution(String name) {
-                return solutionsCache.get(name);
+                return snapshot.get().getSolutions().get(name);
         }
 
+        /**
+         * Solutions relevant to an issue title, most relevant first. The list is shared and unmodifiable.
+         */
         public List<Solution> getSolutionsForIssue(String issueTitle) {
-                // Simple mapping based on issue title keywords
-                List<Solution> relevantSolutions = new ArrayList<>();
-                String lowerTitle = issueTitle.toLowerCase();
-
-                if (lowerTitle.contains("temperature") || lowerTitle.contains("warming")) {
-                        relevantSolutions.addAll(getSolutionsByType(SolutionType.RENEWABLE_ENERGY));
-                        relevantSolutions.addAll(getSolutionsByType(SolutionType.CARBON_CAPTURE));
-                } else if (lowerTitle.contains("forest") || lowerTitle.contains("deforestation")) {
-                        relevantSolutions.addAll(getSolutionsByType(SolutionType.REFORESTATION));
-                        relevantSolutions.addAll(getSolutionsByType(SolutionType.CONSERVATION));
-                } else if (lowerTitle.contains("ocean")) {
-                        relevantSolutions.addAll(getSolutionsByType(SolutionType.CONSERVATION));
-                        relevantSolutions.addAll(getSolutionsByType(SolutionType.POLICY_CHANGE));
-                } else {
-                        // Default - return a mix of solutions
-                        relevantSolutions.add(getSolution("Solar Energy Expansion"));
-                        relevantSolutions.add(getSolution("Climate Policy Reform"));
-                        relevantSolutions.add(getSolution("Individual Climate Action"));
-                }
+                return snapshot.get().getRelevance().forIssueTitle(issueTitle, -1);
+        }
+
+        /**
+         * The {@code limit} most relevant solutions for an issue id
+         */
+        public List<Solution> getTopSolutionsForIssue(String issueId, int limit) {
+                return snapshot.get().getRelevance().forIssue(issueId, limit);
+        }
 
-                return relevantSolutions.stream().filter(s -> s != null).collect(Collectors.toList());
+        /**
+         * The {@code limit} most relevant solutions for a sub-issue of a loaded issue
+         */
+        public List<Solution> getTopSolutionsForSubIssue(SubIssue subIssue, int limit) {
+                return snapshot.get().getRelevance().forSubIssue(subIssue, limit);
         }
 
         /**
@@ -547,21 +1048,30 @@ public class DataManager {
          * @return A list of Solution objects.
          */
         public List<Solution> getDonationProjects() {
-                // Return solutions that require donations
-                return getAllSolutions().stream()
-                                .filter(s -> s.getType() == SolutionType.REFORESTATION ||
-                                                s.getType() == SolutionType.CONSERVATION ||
-                                                s.getType() == SolutionType.RENEWABLE_ENERGY ||
-                                                s.getType() == SolutionType.CARBON_CAPTURE)
-                                .collect(Collectors.toList());
+                return snapshot.get().getSolutionIndex().getDonationProjects();
         }
 
+        /**
+         * Up to six solutions that ask for donations, for when {@link #getDonationProjects()} is empty
+         */
+        public List<Solution> getDonationFallbackProjects() {
+                return snapshot.get().getSolutionIndex().getDonationFallback();
+        }
+
+        /**
+         * Issues matching the query directly or through one of their sub-issues, best match
+         * first. A blank query returns every issue.
+         */
         public List<ClimateIssue> searchIssues(String query) {
-                String lowerQuery = query.toLowerCase();
-                return climateIssuesCache.values().stream()
-                                .filter(issue -> issue.getTitle().toLowerCase().contains(lowerQuery) ||
-                                                issue.getDescription().toLowerCase().contains(lowerQuery))
-                                .collect(Collectors.toList());
+                return snapshot.get().getSearchIndex().searchIssues(query);
+        }
+
+        /**
+         * Ranked issues, sub-issues and solutions for a query. Every word also matches as
+         * a prefix, so this can run on every keystroke.
+         */
+        public List<SearchResult> search(String query, int limit) {
+                return snapshot.get().getSearchIndex().search(query, limit);
         }
 
         // Status methods
@@ -577,12 +1087,106 @@ public class DataManager {
                 return lastError;
         }
 
+        /**
+         * Fraction of the yearly climate file read so far, from 0 to 1
+         */
+        public float getLoadProgress() {
+                return loadProgress;
+        }
+
+        /**
+         * Run a stochastic ensemble of the yearly model in the background and publish its
+         * median and 5-95% bands when done. Members are streamed into quantile sketches,
+         * so memory does not grow with {@code memberCount}.
+         */
+        public CompletableFuture<EnsembleBands> runEnsemble(int memberCount) {
+                EnsembleEngine engine = new EnsembleEngine(SEED, 1980, 2050, ENSEMBLE_TREND_SPREAD,
+                                ENSEMBLE_TEMPERATURE_NOISE);
+                return CompletableFuture.supplyAsync(() -> timePhase("ensemble of " + memberCount,
+                                () -> engine.run(memberCount)))
+                                .whenComplete((bands, error) -> {
+                                        if (error != null) {
+                                                System.err.println("Ensemble run failed: " + error.getMessage());
+                                        } else {
+                                                ensembleBands = bands;
+                                        }
+                                });
+        }
+
+        /**
+         * Compute per-cell trend statistics of the monthly temperature field in the
+         * background and publish them when done. Each statistic is also saved next to
+         * the field as its own single-step field, e.g. {@code temperature_trend.grid}.
+         * Completes with null when there is no field.
+         */
+        public CompletableFuture<CellTrends> runTemperatureTrends() {
+                GriddedField field = getTemperatureAnomalyField();
+                if (field == null) {
+                        return CompletableFuture.completedFuture(null);
+                }
+                return CompletableFuture.supplyAsync(() -> timePhase("cell trends", () -> CellTrends.compute(field)))
+                                .whenComplete((trends, error) -> {
+                                        if (error != null) {
+                                                System.err.println("Trend job failed: " + error.getMessage());
+                                                return;
+                                        }
+                                        temperatureTrends = trends;
+                                        for (CellTrends.Statistic statistic : CellTrends.Statistic.values()) {
+                                                persistence.save(TEMPERATURE_TREND_FILE_PREFIX + statistic.getKey()
+                                                                + ".grid", out -> trends.writeTo(out,
+                                                                                field.getSourceHash(), statistic));
+                                        }
+                                });
+        }
+
+        /**
+         * Per-cell trend maps of the most recent trend job, or null if none has completed
+         */
+        public CellTrends getTemperatureTrends() {
+                return temperatureTrends;
+        }
+
+        /**
+         * Monthly temperature anomaly on a regular lat/lon grid, memory-mapped from the
+         * data directory. Null when the field could not be opened or generated.
+         */
+        public GriddedField getTemperatureAnomalyField() {
+                return snapshot.get().getTemperatureField();
+        }
+
+        /**
+         * Bands of the most recent ensemble run, or null if none has completed
+         */
+        public EnsembleBands getEnsembleBands() {
+                return ensembleBands;
+        }
+
+        /**
+         * Current data generation. Callers that read several values should fetch it once
+         * and read from it, so they see one consistent generation.
+         */
+        public DataSnapshot getSnapshot() {
+                return snapshot.get();
+        }
+
+        /**
+         * Be told about every generation published after this call. Listeners run on
+         * the loading thread, so they should only hand the news on.
+         */
+        public void addSnapshotListener(Consumer<DataSnapshot> listener) {
+                snapshotListeners.add(listener);
+        }
+
+        /**
+         * Reload all data in the background. The current generation stays visible until
+         * the new one is complete and swapped in.
+         */
         public CompletableFuture<Boolean> refreshData() {
-                yearlyDataCache.clear();
-                climateIssuesCache.clear();
-                solutionsCache.clear();
-                issuesByType.clear();
-                isDataLoaded = false;
-                return initializeData();
-        }
-}
\ No newline at end of file
+                CompletableFuture<Boolean> current = currentLoad.get();
+                if (current != null && !current.isDone()) {
+                        // A load is already running; share it instead of starting another
+                        return current;
+                }
+                return startLoad(current);
+        }
+}
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.climasim.data;
+
+import com.climasim.data.grid.GriddedField;
+import com.climasim.data.models.ClimateIssue;
+import com.climasim.data.models.IssueType;
+import com.climasim.data.models.Solution;
+import com.climasim.data.query.MetricRollups;
+import com.climasim.data.query.MetricSplines;
+import com.climasim.data.query.RelevanceGraph;
+import com.climasim.data.query.SearchIndex;
+import com.climasim.data.query.SolutionIndex;
+import com.climasim.data.store.IssueSeriesStore;
+import com.climasim.data.store.YearCache;
+import com.climasim.data.store.YearlyMetricStore;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One generation of loaded climate data, published atomically and never mutated
+ * after publication.
+ *
+ * DataManager builds a complete snapshot off-thread and publishes it with a single
+ * reference swap, so readers always see a consistent set of yearly data, issues,
+ * solutions and indices from the same generation. The yearly store is frozen when
+ * the snapshot is built, so all derivation must happen before then and any later
+ * write fails rather than racing readers.
+ */
+public final class DataSnapshot {
+
+    static final DataSnapshot EMPTY = new DataSnapshot(0, new YearlyMetricStore(), MetricRollups.EMPTY,
+            MetricSplines.EMPTY, SearchIndex.EMPTY, SolutionIndex.EMPTY,
+            RelevanceGraph.EMPTY, IssueSeriesStore.EMPTY, null,
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final long generation;
+    private final YearlyMetricStore yearlyStore;
+    private final YearCache yearCache;
+    private final MetricRollups rollups;
+    private final MetricSplines splines;
+    private final SearchIndex searchIndex;
+    private final SolutionIndex solutionIndex;
+    private final RelevanceGraph relevance;
+    private final IssueSeriesStore issueSeries;
+    private final GriddedField temperatureField;
+    private final Map<String, ClimateIssue> issues;
+    private final List<ClimateIssue> issueList;
+    private final Map<String, Solution> solutions;
+    private final Map<IssueType, List<ClimateIssue>> issuesByType;
+
+    DataSnapshot(long generation, YearlyMetricStore yearlyStore, MetricRollups rollups, MetricSplines splines,
+            SearchIndex searchIndex, SolutionIndex solutionIndex, RelevanceGraph relevance,
+            IssueSeriesStore issueSeries, GriddedField temperatureField, Map<String, ClimateIssue> issues,
+            Map<String, Solution> solutions, Map<IssueType, List<ClimateIssue>> issuesByType) {
+        this.generation = generation;
+        yearlyStore.freeze();
+        this.yearlyStore = yearlyStore;
+        this.yearCache = new YearCache(yearlyStore);
+        this.rollups = rollups;
+        this.splines = splines;
+        this.searchIndex = searchIndex;
+        this.solutionIndex = solutionIndex;
+        this.relevance = relevance;
+        this.issueSeries = issueSeries;
+        this.temperatureField = temperatureField;
+        this.issues = Collections.unmodifiableMap(new LinkedHashMap<>(issues));
+        this.issueList = Collections.unmodifiableList(new ArrayList<>(issues.values()));
+        this.solutions = Collections.unmodifiableMap(new LinkedHashMap<>(solutions));
+        Map<IssueType, List<ClimateIssue>> byType = new EnumMap<>(IssueType.class);
+        for (Map.Entry<IssueType, List<ClimateIssue>> entry : issuesByType.entrySet()) {
+            byType.put(entry.getKey(), Collections.unmodifiableList(new ArrayList<>(entry.getValue())));
+        }
+        this.issuesByType = Collections.unmodifiableMap(byType);
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public boolean isEmpty() {
+        return generation == 0;
+    }
+
+    public YearlyMetricStore getYearlyStore() {
+        return yearlyStore;
+    }
+
+    /**
+     * Bounded cache of materialized years over this generation's yearly store
+     */
+    public YearCache getYearCache() {
+        return yearCache;
+    }
+
+    /**
+     * Range aggregates over this generation's yearly metrics
+     */
+    public MetricRollups getRollups() {
+        return rollups;
+    }
+
+    /**
+     * Interpolation of this generation's yearly metrics at fractional years
+     */
+    public MetricSplines getSplines() {
+        return splines;
+    }
+
+    /**
+     * Text index over this generation's issues, sub-issues and solutions
+     */
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * Per-type and donation lists over this generation's solutions
+     */
+    public SolutionIndex getSolutionIndex() {
+        return solutionIndex;
+    }
+
+    /**
+     * Issue and sub-issue to solution relevance for this generation
+     */
+    public RelevanceGraph getRelevance() {
+        return relevance;
+    }
+
+    /**
+     * Per-issue yearly data of this generation, one row per issue
+     */
+    public IssueSeriesStore getIssueSeries() {
+        return issueSeries;
+    }
+
+    /**
+     * Monthly gridded temperature anomaly behind this generation, or null when the
+     * grid was unavailable and the yearly metrics kept their modelled values
+     */
+    public GriddedField getTemperatureField() {
+        return temperatureField;
+    }
+
+    public Map<String, ClimateIssue> getIssues() {
+        return issues;
+    }
+
+    public List<ClimateIssue> getIssueList() {
+        return issueList;
+    }
+
+    public Map<String, Solution> getSolutions() {
+        return solutions;
+    }
+
+    public List<ClimateIssue> getIssuesByType(IssueType type) {
+        return issuesByType.getOrDefault(type, Collections.emptyList());
+    }
+}
\ No newline at end of file
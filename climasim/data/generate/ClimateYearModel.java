@@ -0,0 +1,76 @@
+package com.climasim.data.generate;
+
+import com.climasim.data.models.ClimateMetric;
+
+import java.util.SplittableRandom;
+
+/**
+ * Trend model behind the procedurally generated yearly metrics.
+ *
+ * The baseline produces the generated yearly dataset. Ensemble members use
+ * {@link #perturbed} copies whose trend rates are scaled by random factors, which
+ * is how the spread between plausible futures is sampled.
+ */
+public final class ClimateYearModel {
+
+    public static final int BASE_YEAR = 1980;
+    public static final int PROJECTION_START_YEAR = 2024;
+    public static final float BASELINE_GLOBAL_TEMPERATURE = 14.0f; // Climatology the anomaly is measured against
+
+    public static final ClimateYearModel BASELINE = new ClimateYearModel(1f, 1f, 1f, 1f, 1f, 1f, 1f);
+
+    private final float temperatureRate;
+    private final float co2Rate;
+    private final float seaLevelRate;
+    private final float iceLossRate;
+    private final float acidificationRate;
+    private final float deforestationRate;
+    private final float extremeWeatherRate;
+
+    private ClimateYearModel(float temperatureRate, float co2Rate, float seaLevelRate, float iceLossRate,
+            float acidificationRate, float deforestationRate, float extremeWeatherRate) {
+        this.temperatureRate = temperatureRate;
+        this.co2Rate = co2Rate;
+        this.seaLevelRate = seaLevelRate;
+        this.iceLossRate = iceLossRate;
+        this.acidificationRate = acidificationRate;
+        this.deforestationRate = deforestationRate;
+        this.extremeWeatherRate = extremeWeatherRate;
+    }
+
+    /**
+     * Copy of the baseline with each trend rate scaled by a factor drawn from
+     * {@code N(1, spread)}, floored at zero so no trend reverses
+     */
+    public static ClimateYearModel perturbed(SplittableRandom random, float spread) {
+        return new ClimateYearModel(factor(random, spread), factor(random, spread), factor(random, spread),
+                factor(random, spread), factor(random, spread), factor(random, spread), factor(random, spread));
+    }
+
+    private static float factor(SplittableRandom random, float spread) {
+        return (float) Math.max(0.0, 1.0 + random.nextGaussian() * spread);
+    }
+
+    /**
+     * Write every metric for {@code year} into {@code out}, indexed by metric ordinal
+     */
+    public void compute(int year, float[] out) {
+        float yearsFromBase = year - BASE_YEAR;
+        float futureProjection = year > PROJECTION_START_YEAR ? (year - PROJECTION_START_YEAR) * 0.5f : 0;
+        float tempIncrease = (yearsFromBase * 0.02f + futureProjection * 0.03f) * temperatureRate;
+        out[ClimateMetric.GLOBAL_TEMPERATURE.ordinal()] = BASELINE_GLOBAL_TEMPERATURE + tempIncrease;
+        out[ClimateMetric.TEMPERATURE_ANOMALY.ordinal()] = tempIncrease;
+        out[ClimateMetric.CO2_LEVEL.ordinal()] = 315.0f
+                + (yearsFromBase * 2.2f + futureProjection * 1.8f) * co2Rate;
+        out[ClimateMetric.SEA_LEVEL_CHANGE.ordinal()] = (yearsFromBase * 0.32f + futureProjection * 0.45f)
+                * seaLevelRate;
+        out[ClimateMetric.ARCTIC_ICE_EXTENT.ordinal()] = Math.max(30.0f,
+                100.0f - (yearsFromBase * 0.8f + futureProjection * 1.2f) * iceLossRate);
+        out[ClimateMetric.OCEAN_PH.ordinal()] = 8.1f
+                - (yearsFromBase * 0.002f + futureProjection * 0.003f) * acidificationRate;
+        out[ClimateMetric.GLOBAL_FOREST_COVER.ordinal()] = Math.max(70.0f,
+                100.0f - (yearsFromBase * 0.3f + futureProjection * 0.5f) * deforestationRate);
+        out[ClimateMetric.EXTREME_WEATHER_EVENTS.ordinal()] = (int) (50
+                + (yearsFromBase * 1.5f + futureProjection * 2.0f) * extremeWeatherRate);
+    }
+}
\ No newline at end of file
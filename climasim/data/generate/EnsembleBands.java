@@ -0,0 +1,83 @@
+package com.climasim.data.generate;
+
+import com.climasim.data.models.ClimateMetric;
+
+/**
+ * Per-year percentile bands of an ensemble run: the 5th percentile, the median and
+ * the 95th percentile of every metric. Series are indexed by {@code year - getFirstYear()}.
+ */
+public final class EnsembleBands {
+
+    public static final double LOWER_QUANTILE = 0.05;
+    public static final double MEDIAN_QUANTILE = 0.5;
+    public static final double UPPER_QUANTILE = 0.95;
+
+    private final int firstYear;
+    private final int memberCount;
+    private final float[][] lower; // [metric][year index]
+    private final float[][] median;
+    private final float[][] upper;
+
+    EnsembleBands(int firstYear, int memberCount, float[][] lower, float[][] median, float[][] upper) {
+        this.firstYear = firstYear;
+        this.memberCount = memberCount;
+        this.lower = lower;
+        this.median = median;
+        this.upper = upper;
+    }
+
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    public int getLastYear() {
+        return firstYear + getYearCount() - 1;
+    }
+
+    public int getYearCount() {
+        return median[0].length;
+    }
+
+    public int getMemberCount() {
+        return memberCount;
+    }
+
+    public float getLower(ClimateMetric metric, int year) {
+        return valueAt(lower, metric, year);
+    }
+
+    public float getMedian(ClimateMetric metric, int year) {
+        return valueAt(median, metric, year);
+    }
+
+    public float getUpper(ClimateMetric metric, int year) {
+        return valueAt(upper, metric, year);
+    }
+
+    /**
+     * 5th percentile series; callers must not modify it
+     */
+    public float[] lowerSeries(ClimateMetric metric) {
+        return lower[metric.ordinal()];
+    }
+
+    /**
+     * Median series; callers must not modify it
+     */
+    public float[] medianSeries(ClimateMetric metric) {
+        return median[metric.ordinal()];
+    }
+
+    /**
+     * 95th percentile series; callers must not modify it
+     */
+    public float[] upperSeries(ClimateMetric metric) {
+        return upper[metric.ordinal()];
+    }
+
+    private float valueAt(float[][] series, ClimateMetric metric, int year) {
+        int index = year - firstYear;
+        float[] values = series[metric.ordinal()];
+        return index >= 0 && index < values.length ? values[index] : Float.NaN;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package com.climasim.data.generate;
+
+import com.climasim.data.models.ClimateMetric;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs perturbed variants of {@link ClimateYearModel} and summarizes them as
+ * percentile bands.
+ *
+ * Each member draws its trend factors and year-to-year noise from its own
+ * {@link RandomStreams} stream keyed by member index, so members are independent
+ * and the run is reproducible. The member range is split over a fork-join pool;
+ * each leaf streams its members into one {@link QuantileSketch} per year and metric,
+ * and sibling results are merged on the way up. Memory therefore depends on the
+ * year span and the number of concurrent leaves, never on the member count.
+ */
+public class EnsembleEngine {
+
+    private static final ClimateMetric[] METRICS = ClimateMetric.values();
+    private static final int MEMBERS_PER_TASK = 64;
+
+    private final long seed;
+    private final int firstYear;
+    private final int lastYear;
+    private final float trendSpread;
+    private final float temperatureNoise;
+
+    /**
+     * @param trendSpread      standard deviation of the per-member trend factors
+     * @param temperatureNoise standard deviation in °C of year-to-year temperature variability
+     */
+    public EnsembleEngine(long seed, int firstYear, int lastYear, float trendSpread, float temperatureNoise) {
+        if (lastYear < firstYear) {
+            throw new IllegalArgumentException("Empty year range: " + firstYear + ".." + lastYear);
+        }
+        this.seed = seed;
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.trendSpread = trendSpread;
+        this.temperatureNoise = temperatureNoise;
+    }
+
+    public EnsembleBands run(int memberCount) {
+        if (memberCount < 1) {
+            throw new IllegalArgumentException("An ensemble needs at least one member: " + memberCount);
+        }
+        QuantileSketch[][] sketches = ForkJoinPool.commonPool().invoke(new MemberRangeTask(0, memberCount));
+        int years = lastYear - firstYear + 1;
+        float[][] lower = new float[METRICS.length][years];
+        float[][] median = new float[METRICS.length][years];
+        float[][] upper = new float[METRICS.length][years];
+        for (int y = 0; y < years; y++) {
+            for (int m = 0; m < METRICS.length; m++) {
+                QuantileSketch sketch = sketches[y][m];
+                lower[m][y] = sketch.quantile(EnsembleBands.LOWER_QUANTILE);
+                median[m][y] = sketch.quantile(EnsembleBands.MEDIAN_QUANTILE);
+                upper[m][y] = sketch.quantile(EnsembleBands.UPPER_QUANTILE);
+            }
+        }
+        return new EnsembleBands(firstYear, memberCount, lower, median, upper);
+    }
+
+    /**
+     * Run one member, writing its metrics for every year into the sketches
+     */
+    private void runMember(int member, QuantileSketch[][] sketches, float[] values) {
+        SplittableRandom random = RandomStreams.stream(seed, RandomStreams.ENSEMBLE, member);
+        ClimateYearModel model = ClimateYearModel.perturbed(random, trendSpread);
+        for (int year = firstYear; year <= lastYear; year++) {
+            model.compute(year, values);
+            float noise = (float) (random.nextGaussian() * temperatureNoise);
+            values[ClimateMetric.GLOBAL_TEMPERATURE.ordinal()] += noise;
+            values[ClimateMetric.TEMPERATURE_ANOMALY.ordinal()] += noise;
+            QuantileSketch[] yearSketches = sketches[year - firstYear];
+            for (int m = 0; m < METRICS.length; m++) {
+                yearSketches[m].add(values[m]);
+            }
+        }
+    }
+
+    private QuantileSketch[][] newSketches() {
+        QuantileSketch[][] sketches = new QuantileSketch[lastYear - firstYear + 1][METRICS.length];
+        for (QuantileSketch[] yearSketches : sketches) {
+            for (int m = 0; m < METRICS.length; m++) {
+                yearSketches[m] = new QuantileSketch();
+            }
+        }
+        return sketches;
+    }
+
+    /**
+     * Splits the member range in half until it is small enough to run directly
+     */
+    private final class MemberRangeTask extends RecursiveTask<QuantileSketch[][]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+
+        MemberRangeTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected QuantileSketch[][] compute() {
+            if (to - from <= MEMBERS_PER_TASK) {
+                QuantileSketch[][] sketches = newSketches();
+                float[] values = new float[METRICS.length];
+                for (int member = from; member < to; member++) {
+                    runMember(member, sketches, values);
+                }
+                return sketches;
+            }
+            int middle = (from + to) >>> 1;
+            MemberRangeTask right = new MemberRangeTask(middle, to);
+            right.fork();
+            QuantileSketch[][] merged = new MemberRangeTask(from, middle).compute();
+            QuantileSketch[][] other = right.join();
+            for (int y = 0; y < merged.length; y++) {
+                for (int m = 0; m < METRICS.length; m++) {
+                    merged[y][m].merge(other[y][m]);
+                }
+            }
+            return merged;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.climasim.data.generate;
+
+import com.climasim.data.grid.AreaMeans;
+import com.climasim.data.grid.GridSpec;
+import com.climasim.data.grid.GriddedField;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Procedural monthly temperature anomaly on a lat/lon grid.
+ *
+ * Each cell follows the yearly global anomaly, interpolated between years, scaled up
+ * towards the poles as in observed polar amplification, plus cell-level weather
+ * noise. The amplification is normalized to an area-weighted mean of one, so the
+ * field's global mean tracks the yearly anomaly it was built from. Values are
+ * rounded to 0.01 degrees like typical gridded products. Noise is drawn from
+ * streams keyed by time step and row, so any step can be generated alone and in
+ * any order.
+ */
+public final class GridAnomalyModel implements GriddedField.FieldSource {
+
+    public static final int MONTHS = 12;
+
+    private static final float POLAR_AMPLIFICATION = 1.5f; // Extra warming at the poles, relative to global
+    private static final float CELL_NOISE = 0.3f; // Standard deviation of monthly cell noise, degrees
+
+    private final GridSpec grid;
+    private final float[] yearlyAnomaly; // Global anomaly per year from the base year
+    private final long seed;
+    private final float[] rowAmplification;
+
+    public GridAnomalyModel(GridSpec grid, float[] yearlyAnomaly, long seed) {
+        this.grid = grid;
+        this.yearlyAnomaly = yearlyAnomaly;
+        this.seed = seed;
+        this.rowAmplification = new float[grid.getLatCount()];
+        double[] weights = AreaMeans.rowWeights(grid);
+        double[] amplification = new double[rowAmplification.length];
+        double weightedSum = 0;
+        double weightSum = 0;
+        for (int row = 0; row < amplification.length; row++) {
+            double polarity = grid.latitude(row) / 90.0;
+            amplification[row] = 1.0 + POLAR_AMPLIFICATION * polarity * polarity;
+            weightedSum += amplification[row] * weights[row];
+            weightSum += weights[row];
+        }
+        for (int row = 0; row < amplification.length; row++) {
+            rowAmplification[row] = (float) (amplification[row] * weightSum / weightedSum);
+        }
+    }
+
+    public int getTimeSteps() {
+        return yearlyAnomaly.length * MONTHS;
+    }
+
+    /**
+     * Global anomaly at {@code step}, interpolated between the mid-points of adjacent
+     * years. Steps in a year without data are NaN; a missing neighbour is not
+     * interpolated towards.
+     */
+    public float globalAnomaly(int step) {
+        int own = step / MONTHS;
+        if (Float.isNaN(yearlyAnomaly[own])) {
+            return Float.NaN;
+        }
+        float t = (step + 0.5f) / MONTHS - 0.5f;
+        int year = (int) Math.floor(t);
+        float frac = t - year;
+        float lo = yearlyAnomaly[Math.max(0, Math.min(yearlyAnomaly.length - 1, year))];
+        float hi = yearlyAnomaly[Math.max(0, Math.min(yearlyAnomaly.length - 1, year + 1))];
+        if (Float.isNaN(lo) || Float.isNaN(hi)) {
+            return yearlyAnomaly[own];
+        }
+        return lo + (hi - lo) * frac;
+    }
+
+    @Override
+    public void fill(int step, float[] out) {
+        float global = globalAnomaly(step);
+        int lonCount = grid.getLonCount();
+        for (int row = 0; row < rowAmplification.length; row++) {
+            SplittableRandom random = RandomStreams.stream(seed, RandomStreams.GRID, step, row);
+            float base = global * rowAmplification[row];
+            int offset = row * lonCount;
+            if (Float.isNaN(base)) {
+                Arrays.fill(out, offset, offset + lonCount, Float.NaN);
+                continue;
+            }
+            for (int col = 0; col < lonCount; col++) {
+                float value = base + (float) random.nextGaussian() * CELL_NOISE;
+                out[offset + col] = Math.round(value * 100f) / 100f;
+            }
+        }
+    }
+}
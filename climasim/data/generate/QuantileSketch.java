@@ -0,0 +1,203 @@
+package com.climasim.data.generate;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable streaming quantile sketch in the style of KLL.
+ *
+ * Values enter level 0; when a level fills up it is sorted and every other value is
+ * promoted to the next level with twice the weight. Lower levels get geometrically
+ * smaller capacities, so memory stays within a small multiple of k however many values
+ * are added; at the default k the rank error is about 1-2%. Two sketches merge by
+ * concatenating levels and compacting again, which lets parallel workers each feed
+ * their own sketch.
+ *
+ * Compaction picks which half to keep from a fixed-seed xorshift generator rather
+ * than a shared random source, so a fixed sequence of adds and merges always produces
+ * the same result.
+ */
+public final class QuantileSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_LEVEL_CAPACITY = 2;
+
+    private final int k;
+    private float[][] levels;
+    private int[] sizes;
+    private int levelCount;
+    private long count;
+    private float min = Float.POSITIVE_INFINITY;
+    private float max = Float.NEGATIVE_INFINITY;
+    private long coinState = 0x9E3779B97F4A7C15L;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    public QuantileSketch(int k) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_LEVEL_CAPACITY + ": " + k);
+        }
+        this.k = k;
+        this.levels = new float[4][];
+        this.sizes = new int[4];
+        this.levels[0] = new float[k];
+        this.levelCount = 1;
+    }
+
+    public void add(float value) {
+        if (Float.isNaN(value)) {
+            return;
+        }
+        append(0, value);
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (sizes[0] >= capacity(0)) {
+            compress();
+        }
+    }
+
+    /**
+     * Fold {@code other} into this sketch; {@code other} is left unchanged
+     */
+    public void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        while (levelCount < other.levelCount) {
+            addLevel();
+        }
+        for (int level = 0; level < other.levelCount; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compress();
+    }
+
+    /**
+     * Approximate value at quantile {@code q} in [0, 1], or NaN when the sketch is empty
+     */
+    public float quantile(double q) {
+        if (count == 0) {
+            return Float.NaN;
+        }
+        if (q <= 0) {
+            return min;
+        }
+        if (q >= 1) {
+            return max;
+        }
+        int retained = 0;
+        for (int level = 0; level < levelCount; level++) {
+            retained += sizes[level];
+        }
+        long[] packed = new long[retained];
+        int n = 0;
+        for (int level = 0; level < levelCount; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                // Sort key in the high bits, level in the low bits
+                packed[n++] = ((long) sortableBits(levels[level][i]) << 8) | level;
+            }
+        }
+        Arrays.sort(packed);
+        long total = 0;
+        for (long entry : packed) {
+            total += 1L << (entry & 0xFF);
+        }
+        double target = q * total;
+        long cumulative = 0;
+        for (long entry : packed) {
+            cumulative += 1L << (entry & 0xFF);
+            if (cumulative >= target) {
+                return fromSortableBits((int) (entry >> 8));
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Number of values currently held, which bounds the sketch's memory
+     */
+    public int getRetainedCount() {
+        int retained = 0;
+        for (int level = 0; level < levelCount; level++) {
+            retained += sizes[level];
+        }
+        return retained;
+    }
+
+    private int capacity(int level) {
+        int depth = levelCount - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void append(int level, float value) {
+        float[] items = levels[level];
+        if (sizes[level] == items.length) {
+            items = Arrays.copyOf(items, Math.max(MIN_LEVEL_CAPACITY, items.length * 2));
+            levels[level] = items;
+        }
+        items[sizes[level]++] = value;
+    }
+
+    private void addLevel() {
+        if (levelCount == levels.length) {
+            levels = Arrays.copyOf(levels, levelCount * 2);
+            sizes = Arrays.copyOf(sizes, levelCount * 2);
+        }
+        levels[levelCount] = new float[MIN_LEVEL_CAPACITY];
+        sizes[levelCount] = 0;
+        levelCount++;
+    }
+
+    /**
+     * Compact full levels bottom-up until every level is within its capacity
+     */
+    private void compress() {
+        for (int level = 0; level < levelCount; level++) {
+            if (sizes[level] < capacity(level)) {
+                continue;
+            }
+            if (level + 1 == levelCount) {
+                addLevel();
+            }
+            float[] items = levels[level];
+            int size = sizes[level];
+            Arrays.sort(items, 0, size);
+            // An odd leftover stays behind so the promoted pairs cover the level exactly
+            int start = size % 2 == 1 ? 1 : 0;
+            int offset = flipCoin();
+            for (int i = start + offset; i < size; i += 2) {
+                append(level + 1, items[i]);
+            }
+            sizes[level] = start;
+        }
+    }
+
+    private int flipCoin() {
+        coinState ^= coinState << 13;
+        coinState ^= coinState >>> 7;
+        coinState ^= coinState << 17;
+        return (int) (coinState >>> 63);
+    }
+
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits >= 0 ? bits : bits ^ 0x7FFFFFFF;
+    }
+
+    private static float fromSortableBits(int bits) {
+        return Float.intBitsToFloat(bits >= 0 ? bits : bits ^ 0x7FFFFFFF);
+    }
+}
\ No newline at end of file
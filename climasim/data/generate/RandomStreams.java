@@ -0,0 +1,53 @@
+package com.climasim.data.generate;
+
+import java.util.SplittableRandom;
+
+/**
+ * Keyed random streams for procedural data.
+ *
+ * Each stream is seeded from a base seed and a tuple of keys (a stream kind, a year,
+ * a region, a scenario...) through the SplitMix64 finalizer, so the values a task
+ * draws depend only on what it generates and never on which thread runs it or in
+ * what order. That keeps parallel generation bit-for-bit reproducible.
+ */
+public final class RandomStreams {
+
+    // Stream kinds, so different uses of the same year and region never share values
+    public static final int REGIONAL = 1;
+    public static final int ENSEMBLE = 2;
+    public static final int GRID = 3;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private RandomStreams() {
+    }
+
+    public static SplittableRandom stream(long seed, int kind, int key) {
+        return new SplittableRandom(mix(mix(seed, kind), key));
+    }
+
+    public static SplittableRandom stream(long seed, int kind, int key1, int key2) {
+        return new SplittableRandom(mix(mix(mix(seed, kind), key1), key2));
+    }
+
+    public static SplittableRandom stream(long seed, int kind, int key1, int key2, int key3) {
+        return new SplittableRandom(mix(mix(mix(mix(seed, kind), key1), key2), key3));
+    }
+
+    /**
+     * Stable key for a name; String hash codes are fixed by the language spec
+     */
+    public static int key(String name) {
+        return name.hashCode();
+    }
+
+    /**
+     * Fold one key into a seed with the SplitMix64 finalizer
+     */
+    static long mix(long seed, long key) {
+        long z = seed + GOLDEN_GAMMA * (key + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,261 @@
+package com.climasim.data.grid;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Area-weighted global, hemisphere and zonal means of a gridded field.
+ *
+ * Cells are weighted by the cosine of their centre latitude, which is proportional
+ * to cell area on a regular grid. A sweep is split into one fork-join task per
+ * latitude band of chunk rows and time slab; each task decodes its band once and
+ * reduces every row to a sum and a count of valid cells. The per-row results are
+ * then combined per time step, so no cell is visited twice. NaN cells are treated
+ * as missing and left out of both numerator and weight.
+ *
+ * The row kernel keeps four independent accumulators so the loop has no serial
+ * dependency and the JIT can unroll and vectorize it; rows holding a NaN are
+ * detected from the result and summed again with the missing-value loop.
+ */
+public final class AreaMeans {
+
+    private final GridSpec grid;
+    private final int timeSteps;
+    private final int stepsPerYear;
+    private final float[] global;
+    private final float[] north;
+    private final float[] south;
+    private final float[] zonal; // [step * latCount + row]
+
+    private AreaMeans(GridSpec grid, int timeSteps, int stepsPerYear) {
+        this.grid = grid;
+        this.timeSteps = timeSteps;
+        this.stepsPerYear = stepsPerYear;
+        this.global = new float[timeSteps];
+        this.north = new float[timeSteps];
+        this.south = new float[timeSteps];
+        this.zonal = new float[timeSteps * grid.getLatCount()];
+    }
+
+    /**
+     * Reduce every time step of {@code field} on the common pool
+     */
+    public static AreaMeans compute(GriddedField field) {
+        GridSpec grid = field.getGrid();
+        int latCount = grid.getLatCount();
+        int timeSteps = field.getTimeSteps();
+        double[] rowSums = new double[timeSteps * latCount];
+        int[] rowCounts = new int[timeSteps * latCount];
+        ForkJoinPool.commonPool().invoke(new BandTask(field, rowSums, rowCounts, 0,
+                field.getTimeChunkCount() * field.getRowChunkCount()));
+
+        AreaMeans means = new AreaMeans(grid, timeSteps, field.getStepsPerYear());
+        double[] weights = rowWeights(grid);
+        for (int step = 0; step < timeSteps; step++) {
+            means.combine(step, rowSums, rowCounts, step * latCount, weights);
+        }
+        return means;
+    }
+
+    /**
+     * Reduce a single time step laid out row by row over {@code grid}
+     */
+    public static AreaMeans compute(GridSpec grid, float[] field) {
+        int latCount = grid.getLatCount();
+        int lonCount = grid.getLonCount();
+        double[] rowSums = new double[latCount];
+        int[] rowCounts = new int[latCount];
+        for (int row = 0; row < latCount; row++) {
+            reduceRow(field, row * lonCount, lonCount, rowSums, rowCounts, row);
+        }
+        AreaMeans means = new AreaMeans(grid, 1, 1);
+        means.combine(0, rowSums, rowCounts, 0, rowWeights(grid));
+        return means;
+    }
+
+    private void combine(int step, double[] rowSums, int[] rowCounts, int offset, double[] weights) {
+        double globalSum = 0, globalWeight = 0;
+        double northSum = 0, northWeight = 0;
+        double southSum = 0, southWeight = 0;
+        int latCount = weights.length;
+        for (int row = 0; row < latCount; row++) {
+            double sum = rowSums[offset + row];
+            int count = rowCounts[offset + row];
+            zonal[step * latCount + row] = count > 0 ? (float) (sum / count) : Float.NaN;
+            double weightedSum = sum * weights[row];
+            double weight = count * weights[row];
+            globalSum += weightedSum;
+            globalWeight += weight;
+            double lat = grid.latitude(row);
+            // A row centred on the equator counts half towards each hemisphere
+            double northShare = lat > 0 ? 1.0 : (lat < 0 ? 0.0 : 0.5);
+            northSum += weightedSum * northShare;
+            northWeight += weight * northShare;
+            southSum += weightedSum * (1.0 - northShare);
+            southWeight += weight * (1.0 - northShare);
+        }
+        global[step] = mean(globalSum, globalWeight);
+        north[step] = mean(northSum, northWeight);
+        south[step] = mean(southSum, southWeight);
+    }
+
+    private static float mean(double sum, double weight) {
+        return weight > 0 ? (float) (sum / weight) : Float.NaN;
+    }
+
+    /**
+     * Cosine of each row's centre latitude, clamped at zero for rows centred on a pole
+     */
+    public static double[] rowWeights(GridSpec grid) {
+        double[] weights = new double[grid.getLatCount()];
+        for (int row = 0; row < weights.length; row++) {
+            weights[row] = Math.max(0.0, Math.cos(Math.toRadians(grid.latitude(row))));
+        }
+        return weights;
+    }
+
+    // --- Kernels ---
+
+    /**
+     * Sum and valid-cell count of {@code length} values into {@code sums[slot]} and
+     * {@code counts[slot]}
+     */
+    static void reduceRow(float[] values, int from, int length, double[] sums, int[] counts, int slot) {
+        double sum = sum(values, from, length);
+        if (Double.isNaN(sum)) {
+            int count = 0;
+            sum = 0;
+            for (int i = from; i < from + length; i++) {
+                float v = values[i];
+                if (v == v) {
+                    sum += v;
+                    count++;
+                }
+            }
+            sums[slot] = sum;
+            counts[slot] = count;
+        } else {
+            sums[slot] = sum;
+            counts[slot] = length;
+        }
+    }
+
+    /**
+     * Sum with four independent accumulators; NaN when any value is NaN
+     */
+    static double sum(float[] values, int from, int length) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        int end = from + length;
+        // Rows are short enough (at most a few thousand cells) for float partial sums
+        for (; i + 3 < end; i += 4) {
+            s0 += values[i];
+            s1 += values[i + 1];
+            s2 += values[i + 2];
+            s3 += values[i + 3];
+        }
+        for (; i < end; i++) {
+            s0 += values[i];
+        }
+        return (double) s0 + s1 + s2 + s3;
+    }
+
+    /**
+     * Splits the (time slab, latitude band) pairs until one pair remains, then reduces
+     * that band's rows for every step of the slab
+     */
+    private static final class BandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GriddedField field;
+        private final double[] rowSums;
+        private final int[] rowCounts;
+        private final int from;
+        private final int to;
+
+        BandTask(GriddedField field, double[] rowSums, int[] rowCounts, int from, int to) {
+            this.field = field;
+            this.rowSums = rowSums;
+            this.rowCounts = rowCounts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BandTask(field, rowSums, rowCounts, from, middle),
+                        new BandTask(field, rowSums, rowCounts, middle, to));
+                return;
+            }
+            int rowChunks = field.getRowChunkCount();
+            int timeChunk = from / rowChunks;
+            int rowChunk = from % rowChunks;
+            int steps = field.stepsInChunk(timeChunk);
+            int rows = field.rowsInChunk(rowChunk);
+            int latCount = field.getGrid().getLatCount();
+            int lonCount = field.getGrid().getLonCount();
+            float[] band = field.readBand(timeChunk, rowChunk, null);
+            int firstStep = timeChunk * field.getChunkSteps();
+            int firstRow = rowChunk * field.getChunkRows();
+            for (int s = 0; s < steps; s++) {
+                for (int r = 0; r < rows; r++) {
+                    reduceRow(band, (s * rows + r) * lonCount, lonCount, rowSums, rowCounts,
+                            (firstStep + s) * latCount + firstRow + r);
+                }
+            }
+        }
+    }
+
+    // --- Results ---
+
+    public GridSpec getGrid() {
+        return grid;
+    }
+
+    public int getTimeSteps() {
+        return timeSteps;
+    }
+
+    public float getGlobalMean(int step) {
+        return global[step];
+    }
+
+    public float getNorthernMean(int step) {
+        return north[step];
+    }
+
+    public float getSouthernMean(int step) {
+        return south[step];
+    }
+
+    public float getZonalMean(int step, int row) {
+        return zonal[step * grid.getLatCount() + row];
+    }
+
+    /**
+     * Zonal means of one step, one per row, into {@code out}
+     */
+    public float[] zonalMeans(int step, float[] out) {
+        int latCount = grid.getLatCount();
+        float[] means = out != null && out.length >= latCount ? out : new float[latCount];
+        System.arraycopy(zonal, step * latCount, means, 0, latCount);
+        return means;
+    }
+
+    /**
+     * Mean of the global series over each year's steps; years missing any step are NaN
+     */
+    public float[] annualGlobalMeans() {
+        float[] annual = new float[timeSteps / stepsPerYear];
+        for (int year = 0; year < annual.length; year++) {
+            double sum = 0;
+            for (int s = 0; s < stepsPerYear; s++) {
+                sum += global[year * stepsPerYear + s];
+            }
+            annual[year] = (float) (sum / stepsPerYear);
+        }
+        return annual;
+    }
+}
@@ -0,0 +1,304 @@
+package com.climasim.data.grid;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Per-cell trend statistics over the time axis of a gridded field.
+ *
+ * For every cell this fits a least-squares line and parabola against time in
+ * decades and runs a Mann-Kendall test for a monotonic trend. The field is streamed
+ * one tile of chunk rows and columns at a time, each tile's full series decoded once
+ * and its cells reduced in a fork-join task, so memory holds a few tiles rather than
+ * the field. NaN steps are left out per cell, and cells with fewer than
+ * {@link #MIN_VALID_STEPS} valid steps get NaN for every statistic.
+ *
+ * The Mann-Kendall S is computed in O(n log n) by counting inversions with a merge
+ * sort, and its variance is corrected for ties, which are common in fields rounded
+ * to 0.01. The test assumes independent steps; monthly anomalies are autocorrelated,
+ * so Z overstates significance and is best read as a relative map.
+ */
+public final class CellTrends {
+
+    public enum Statistic {
+        TREND("trend", "degC/decade"), // Slope of the least-squares line
+        ACCELERATION("acceleration", "degC/decade^2"), // Second derivative of the least-squares parabola
+        RESIDUAL_VARIANCE("residual_variance", "degC^2"), // Variance about the line
+        MANN_KENDALL_Z("mann_kendall_z", "sigma"); // Normal score of the Mann-Kendall S
+
+        private final String key;
+        private final String unit;
+
+        Statistic(String key, String unit) {
+            this.key = key;
+            this.unit = unit;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+    }
+
+    public static final int MIN_VALID_STEPS = 10;
+
+    private static final int INSERTION_RUN = 16;
+
+    private static final Statistic[] STATISTICS = Statistic.values();
+
+    private final GridSpec grid;
+    private final int baseYear;
+    private final int years;
+    private final float[][] maps; // Indexed by statistic ordinal, then cell
+
+    private CellTrends(GridSpec grid, int baseYear, int years) {
+        this.grid = grid;
+        this.baseYear = baseYear;
+        this.years = years;
+        this.maps = new float[STATISTICS.length][grid.getCellCount()];
+    }
+
+    /**
+     * Compute every statistic for every cell of {@code field} on the common pool
+     */
+    public static CellTrends compute(GriddedField field) {
+        CellTrends trends = new CellTrends(field.getGrid(), field.getBaseYear(),
+                (field.getTimeSteps() + field.getStepsPerYear() - 1) / field.getStepsPerYear());
+        ForkJoinPool.commonPool().invoke(new TileTask(field, trends.maps, 0,
+                field.getRowChunkCount() * field.getColChunkCount()));
+        return trends;
+    }
+
+    // --- Kernels ---
+
+    /**
+     * Fit one cell's series and store its statistics at {@code cell}. {@code values}
+     * and {@code scratch} hold at least {@code length} floats.
+     */
+    private static void reduceCell(float[] series, int from, int length, double[] decades, float[][] maps, int cell,
+            float[] values, float[] scratch) {
+        // Centred time keeps the normal equations well conditioned
+        double n = 0, t1 = 0, t2 = 0, t3 = 0, t4 = 0;
+        double y = 0, ty = 0, t2y = 0, yy = 0;
+        int valid = 0;
+        for (int i = 0; i < length; i++) {
+            float v = series[from + i];
+            if (v != v) {
+                continue;
+            }
+            double t = decades[i];
+            double tt = t * t;
+            n++;
+            t1 += t;
+            t2 += tt;
+            t3 += tt * t;
+            t4 += tt * tt;
+            y += v;
+            ty += t * v;
+            t2y += tt * v;
+            yy += (double) v * v;
+            values[valid++] = v;
+        }
+        if (valid < MIN_VALID_STEPS) {
+            for (float[] map : maps) {
+                map[cell] = Float.NaN;
+            }
+            return;
+        }
+
+        double stt = t2 - t1 * t1 / n;
+        double sty = ty - t1 * y / n;
+        double syy = yy - y * y / n;
+        double slope = sty / stt;
+        maps[Statistic.TREND.ordinal()][cell] = (float) slope;
+        maps[Statistic.RESIDUAL_VARIANCE.ordinal()][cell] = (float) (Math.max(0, syy - slope * sty) / (n - 2));
+
+        // Quadratic coefficient of the parabola by Cramer's rule on the normal equations
+        double det = n * (t2 * t4 - t3 * t3) - t1 * (t1 * t4 - t3 * t2) + t2 * (t1 * t3 - t2 * t2);
+        double detC = n * (t2 * t2y - ty * t3) - t1 * (t1 * t2y - ty * t2) + y * (t1 * t3 - t2 * t2);
+        maps[Statistic.ACCELERATION.ordinal()][cell] = det != 0 ? (float) (2 * detC / det) : Float.NaN;
+
+        maps[Statistic.MANN_KENDALL_Z.ordinal()][cell] = (float) mannKendallZ(values, scratch, valid);
+    }
+
+    /**
+     * Normal score of the Mann-Kendall S of {@code values[0..n)} in time order, with
+     * the usual tie correction and continuity correction. Sorts {@code values}.
+     */
+    static double mannKendallZ(float[] values, float[] scratch, int n) {
+        long inversions = sortCountingInversions(values, scratch, n);
+        long tiedPairs = 0;
+        double tieVariance = 0;
+        for (int i = 0; i < n;) {
+            int j = i + 1;
+            while (j < n && values[j] == values[i]) {
+                j++;
+            }
+            long t = j - i;
+            tiedPairs += t * (t - 1) / 2;
+            tieVariance += t * (t - 1) * (2 * t + 5);
+            i = j;
+        }
+        long pairs = (long) n * (n - 1) / 2;
+        // Concordant minus discordant pairs: every untied pair is one or the other
+        long s = pairs - tiedPairs - 2 * inversions;
+        double variance = ((double) n * (n - 1) * (2 * n + 5) - tieVariance) / 18.0;
+        if (s == 0 || variance <= 0) {
+            return 0;
+        }
+        return (s > 0 ? s - 1 : s + 1) / Math.sqrt(variance);
+    }
+
+    /**
+     * Bottom-up merge sort of {@code values[0..n)} returning the number of pairs
+     * {@code i < j} with {@code values[i] > values[j]}; equal values are not counted.
+     * Short runs are insertion sorted first, where each shift is one inversion.
+     */
+    private static long sortCountingInversions(float[] values, float[] scratch, int n) {
+        long inversions = 0;
+        for (int lo = 0; lo < n; lo += INSERTION_RUN) {
+            int hi = Math.min(lo + INSERTION_RUN, n);
+            for (int i = lo + 1; i < hi; i++) {
+                float v = values[i];
+                int j = i - 1;
+                while (j >= lo && values[j] > v) {
+                    values[j + 1] = values[j];
+                    j--;
+                }
+                values[j + 1] = v;
+                inversions += i - 1 - j;
+            }
+        }
+        float[] from = values;
+        float[] to = scratch;
+        for (int width = INSERTION_RUN; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    if (from[i] <= from[j]) {
+                        to[k++] = from[i++];
+                    } else {
+                        inversions += mid - i;
+                        to[k++] = from[j++];
+                    }
+                }
+                while (i < mid) {
+                    to[k++] = from[i++];
+                }
+                while (j < hi) {
+                    to[k++] = from[j++];
+                }
+            }
+            float[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != values) {
+            System.arraycopy(from, 0, values, 0, n);
+        }
+        return inversions;
+    }
+
+    /**
+     * Splits the tiles until one remains, then decodes that tile's full series and
+     * reduces each of its cells
+     */
+    private static final class TileTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GriddedField field;
+        private final float[][] maps;
+        private final int from;
+        private final int to;
+
+        TileTask(GriddedField field, float[][] maps, int from, int to) {
+            this.field = field;
+            this.maps = maps;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(field, maps, from, middle), new TileTask(field, maps, middle, to));
+                return;
+            }
+            int colChunks = field.getColChunkCount();
+            int rowChunk = from / colChunks;
+            int colChunk = from % colChunks;
+            int rows = field.rowsInChunk(rowChunk);
+            int cols = field.colsInChunk(colChunk);
+            int timeSteps = field.getTimeSteps();
+            int firstRow = rowChunk * field.getChunkRows();
+            int firstCol = colChunk * field.getChunkCols();
+            GridSpec grid = field.getGrid();
+
+            double[] decades = new double[timeSteps];
+            double centre = timeSteps / 2.0;
+            for (int step = 0; step < timeSteps; step++) {
+                decades[step] = (step + 0.5 - centre) / field.getStepsPerYear() / 10.0;
+            }
+            float[] series = field.readTileSeries(rowChunk, colChunk, null);
+            float[] values = new float[timeSteps];
+            float[] scratch = new float[timeSteps];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    reduceCell(series, (r * cols + c) * timeSteps, timeSteps, decades, maps,
+                            grid.index(firstRow + r, firstCol + c), values, scratch);
+                }
+            }
+        }
+    }
+
+    // --- Results ---
+
+    public GridSpec getGrid() {
+        return grid;
+    }
+
+    /**
+     * First year of the analysed period
+     */
+    public int getBaseYear() {
+        return baseYear;
+    }
+
+    public int getYears() {
+        return years;
+    }
+
+    public float get(Statistic statistic, int row, int col) {
+        return maps[statistic.ordinal()][grid.index(row, col)];
+    }
+
+    /**
+     * Map of one statistic, row by row over the grid, into {@code out}
+     */
+    public float[] map(Statistic statistic, float[] out) {
+        float[] source = maps[statistic.ordinal()];
+        float[] map = out != null && out.length >= source.length ? out : new float[source.length];
+        System.arraycopy(source, 0, map, 0, source.length);
+        return map;
+    }
+
+    /**
+     * Write one statistic as a derived field of a single step dated to the base year,
+     * so it opens and renders like any other field
+     */
+    public void writeTo(OutputStream out, long sourceHash, Statistic statistic) throws IOException {
+        float[] source = maps[statistic.ordinal()];
+        GriddedField.writeTo(out, sourceHash, grid, baseYear, 1, 1, 1, GriddedField.DEFAULT_CHUNK_CELLS,
+                GriddedField.DEFAULT_CHUNK_CELLS, (step, map) -> System.arraycopy(source, 0, map, 0, source.length));
+    }
+}
@@ -0,0 +1,141 @@
+package com.climasim.data.grid;
+
+/**
+ * Regular latitude/longitude grid.
+ *
+ * Rows run from north to south and columns from west to east, the same orientation
+ * as the equirectangular globe textures, so a field laid out row by row can be
+ * uploaded as a texture without flipping. Coordinates are cell centres in degrees.
+ * Cells are indexed {@code row * lonCount + col}.
+ */
+public final class GridSpec {
+
+    private final int latCount;
+    private final int lonCount;
+    private final double northLat; // Centre latitude of row 0
+    private final double latStep; // Degrees between rows, positive going south
+    private final double westLon; // Centre longitude of column 0
+    private final double lonStep;
+
+    public GridSpec(int latCount, int lonCount, double northLat, double latStep, double westLon, double lonStep) {
+        if (latCount < 1 || lonCount < 1) {
+            throw new IllegalArgumentException("Grid must have at least one cell: " + latCount + "x" + lonCount);
+        }
+        if (latStep <= 0 || lonStep <= 0) {
+            throw new IllegalArgumentException("Grid steps must be positive: " + latStep + ", " + lonStep);
+        }
+        this.latCount = latCount;
+        this.lonCount = lonCount;
+        this.northLat = northLat;
+        this.latStep = latStep;
+        this.westLon = westLon;
+        this.lonStep = lonStep;
+    }
+
+    /**
+     * Global grid with square cells of {@code resolution} degrees, e.g. 0.5 for a
+     * 720 x 360 grid
+     */
+    public static GridSpec global(double resolution) {
+        int latCount = (int) Math.round(180.0 / resolution);
+        int lonCount = (int) Math.round(360.0 / resolution);
+        if (Math.abs(latCount * resolution - 180.0) > 1e-9 || Math.abs(lonCount * resolution - 360.0) > 1e-9) {
+            throw new IllegalArgumentException("Resolution must divide 180 degrees: " + resolution);
+        }
+        return new GridSpec(latCount, lonCount, 90.0 - resolution / 2, resolution, -180.0 + resolution / 2,
+                resolution);
+    }
+
+    public int getLatCount() {
+        return latCount;
+    }
+
+    public int getLonCount() {
+        return lonCount;
+    }
+
+    public int getCellCount() {
+        return latCount * lonCount;
+    }
+
+    public double getNorthLat() {
+        return northLat;
+    }
+
+    public double getLatStep() {
+        return latStep;
+    }
+
+    public double getWestLon() {
+        return westLon;
+    }
+
+    public double getLonStep() {
+        return lonStep;
+    }
+
+    public double latitude(int row) {
+        return northLat - row * latStep;
+    }
+
+    public double longitude(int col) {
+        return westLon + col * lonStep;
+    }
+
+    public int index(int row, int col) {
+        return row * lonCount + col;
+    }
+
+    /**
+     * Row whose cell contains {@code lat}, clamped to the grid
+     */
+    public int rowOf(double lat) {
+        int row = (int) Math.floor((northLat + latStep / 2 - lat) / latStep);
+        return Math.max(0, Math.min(latCount - 1, row));
+    }
+
+    /**
+     * Column whose cell contains {@code lon}, wrapping around the date line when the
+     * grid spans the globe and clamping otherwise
+     */
+    public int colOf(double lon) {
+        int col = (int) Math.floor((lon - (westLon - lonStep / 2)) / lonStep);
+        if (isGlobalInLongitude()) {
+            return Math.floorMod(col, lonCount);
+        }
+        return Math.max(0, Math.min(lonCount - 1, col));
+    }
+
+    public boolean isGlobalInLongitude() {
+        return Math.abs(lonCount * lonStep - 360.0) < 1e-9;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GridSpec)) {
+            return false;
+        }
+        GridSpec other = (GridSpec) o;
+        return latCount == other.latCount && lonCount == other.lonCount
+                && Double.compare(northLat, other.northLat) == 0 && Double.compare(latStep, other.latStep) == 0
+                && Double.compare(westLon, other.westLon) == 0 && Double.compare(lonStep, other.lonStep) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 31 * latCount + lonCount;
+        result = 31 * result + Double.hashCode(northLat);
+        result = 31 * result + Double.hashCode(latStep);
+        result = 31 * result + Double.hashCode(westLon);
+        return 31 * result + Double.hashCode(lonStep);
+    }
+
+    @Override
+    public String toString() {
+        return "GridSpec{" + latCount + "x" + lonCount + ", north=" + northLat + ", latStep=" + latStep
+                + ", west=" + westLon + ", lonStep=" + lonStep + "}";
+    }
+}
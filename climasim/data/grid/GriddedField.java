@@ -0,0 +1,566 @@
+package com.climasim.data.grid;
+
+import com.climasim.data.io.CompressedFloats;
+import com.climasim.data.io.TimeSeriesCodec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Gridded climate field stored as (time, lat, lon) chunks in a memory-mapped file.
+ *
+ * Layout (little-endian):
+ * <pre>
+ * header  96 bytes: magic, version, source hash, grid, time axis and chunk shape
+ * chunks  one {@link TimeSeriesCodec} series per chunk, cell by cell with each
+ *         cell's time steps adjacent so the XOR coding sees smooth series
+ * index   offset, length and CRC32C per chunk, in (time, row, column) chunk order
+ * </pre>
+ *
+ * Every chunk covers a fixed number of time steps, rows and columns; chunks on the
+ * far edges of an axis are clipped to the grid. The file is mapped, never read into
+ * the heap; only decoded chunks live there, in an LRU cache bounded by a byte budget.
+ * A time step or a cell's series decodes just the chunks it crosses.
+ */
+public final class GriddedField {
+
+    public static final int MAGIC = 0x43475244; // "CGRD"
+    public static final int VERSION = 1;
+
+    public static final int DEFAULT_CHUNK_STEPS = 12;
+    public static final int DEFAULT_CHUNK_CELLS = 32;
+    public static final long DEFAULT_CACHE_BYTES = 64L << 20;
+
+    /**
+     * Supplies the field one time step at a time, row by row over the grid
+     */
+    @FunctionalInterface
+    public interface FieldSource {
+        void fill(int step, float[] out);
+    }
+
+    private static final int HEADER_SIZE = 96;
+    private static final int INDEX_ENTRY_SIZE = 16;
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_VERSION = 4;
+    private static final int OFF_SOURCE_HASH = 8;
+    private static final int OFF_LAT_COUNT = 16;
+    private static final int OFF_LON_COUNT = 20;
+    private static final int OFF_NORTH_LAT = 24;
+    private static final int OFF_LAT_STEP = 32;
+    private static final int OFF_WEST_LON = 40;
+    private static final int OFF_LON_STEP = 48;
+    private static final int OFF_BASE_YEAR = 56;
+    private static final int OFF_STEPS_PER_YEAR = 60;
+    private static final int OFF_TIME_STEPS = 64;
+    private static final int OFF_CHUNK_STEPS = 68;
+    private static final int OFF_CHUNK_ROWS = 72;
+    private static final int OFF_CHUNK_COLS = 76;
+
+    private final GridSpec grid;
+    private final long sourceHash;
+    private final int baseYear;
+    private final int stepsPerYear;
+    private final int timeSteps;
+    private final int chunkSteps;
+    private final int chunkRows;
+    private final int chunkCols;
+    private final int rowChunks;
+    private final int colChunks;
+
+    private final long[] chunkOffsets;
+    private final int[] chunkLengths;
+    private final int[] chunkChecksums;
+
+    // Overlapping windows over the file; each chunk lies entirely in the window of its start
+    private final MappedByteBuffer[] segments;
+
+    private final ChunkCache cache;
+
+    private GriddedField(ByteBuffer header, MappedByteBuffer[] segments, long[] chunkOffsets, int[] chunkLengths,
+            int[] chunkChecksums, long cacheBytes) {
+        this.grid = new GridSpec(header.getInt(OFF_LAT_COUNT), header.getInt(OFF_LON_COUNT),
+                header.getDouble(OFF_NORTH_LAT), header.getDouble(OFF_LAT_STEP), header.getDouble(OFF_WEST_LON),
+                header.getDouble(OFF_LON_STEP));
+        this.sourceHash = header.getLong(OFF_SOURCE_HASH);
+        this.baseYear = header.getInt(OFF_BASE_YEAR);
+        this.stepsPerYear = header.getInt(OFF_STEPS_PER_YEAR);
+        this.timeSteps = header.getInt(OFF_TIME_STEPS);
+        this.chunkSteps = header.getInt(OFF_CHUNK_STEPS);
+        this.chunkRows = header.getInt(OFF_CHUNK_ROWS);
+        this.chunkCols = header.getInt(OFF_CHUNK_COLS);
+        this.rowChunks = ceilDiv(grid.getLatCount(), chunkRows);
+        this.colChunks = ceilDiv(grid.getLonCount(), chunkCols);
+        this.segments = segments;
+        this.chunkOffsets = chunkOffsets;
+        this.chunkLengths = chunkLengths;
+        this.chunkChecksums = chunkChecksums;
+        long chunkBytes = (long) chunkSteps * chunkRows * chunkCols * Float.BYTES;
+        this.cache = new ChunkCache((int) Math.max(1, Math.min(Integer.MAX_VALUE, cacheBytes / chunkBytes)));
+    }
+
+    // --- Opening ---
+
+    public static GriddedField open(Path file) throws IOException {
+        return open(file, DEFAULT_CACHE_BYTES);
+    }
+
+    /**
+     * Map a field file, keeping at most about {@code cacheBytes} of decoded chunks on the
+     * heap. Throws if the file is not a complete field of this version.
+     */
+    public static GriddedField open(Path file, long cacheBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a gridded field: " + file);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            if (header.getInt(OFF_MAGIC) != MAGIC || header.getInt(OFF_VERSION) != VERSION) {
+                throw new IOException("Not a version " + VERSION + " gridded field: " + file);
+            }
+
+            int chunkCount = chunkCount(header);
+            long indexOffset = size - (long) chunkCount * INDEX_ENTRY_SIZE;
+            if (chunkCount <= 0 || indexOffset < HEADER_SIZE) {
+                throw new IOException("Truncated gridded field: " + file);
+            }
+            ByteBuffer index = ByteBuffer.allocate(chunkCount * INDEX_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, index, indexOffset);
+            long[] offsets = new long[chunkCount];
+            int[] lengths = new int[chunkCount];
+            int[] checksums = new int[chunkCount];
+            int maxLength = 0;
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                offsets[chunk] = index.getLong();
+                lengths[chunk] = index.getInt();
+                checksums[chunk] = index.getInt();
+                if (offsets[chunk] < HEADER_SIZE || lengths[chunk] < 0
+                        || offsets[chunk] + lengths[chunk] > indexOffset) {
+                    throw new IOException("Corrupt chunk index in " + file);
+                }
+                maxLength = Math.max(maxLength, lengths[chunk]);
+            }
+
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((indexOffset - 1) / SEGMENT_SIZE) + 1];
+            for (int s = 0; s < segments.length; s++) {
+                long start = s * SEGMENT_SIZE;
+                long end = Math.min(indexOffset, start + SEGMENT_SIZE + maxLength);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                segments[s].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new GriddedField(header, segments, offsets, lengths, checksums, cacheBytes);
+        }
+    }
+
+    /**
+     * Open the field if it exists, is a field of this version and was built from
+     * {@code sourceHash}. Returns null otherwise so the caller can regenerate it.
+     */
+    public static GriddedField openIfCurrent(Path file, long sourceHash, long cacheBytes) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_SIZE) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            if (header.getInt(OFF_MAGIC) != MAGIC || header.getInt(OFF_VERSION) != VERSION
+                    || header.getLong(OFF_SOURCE_HASH) != sourceHash) {
+                return null;
+            }
+        }
+        return open(file, cacheBytes);
+    }
+
+    private static int chunkCount(ByteBuffer header) {
+        long count = (long) ceilDiv(header.getInt(OFF_TIME_STEPS), header.getInt(OFF_CHUNK_STEPS))
+                * ceilDiv(header.getInt(OFF_LAT_COUNT), header.getInt(OFF_CHUNK_ROWS))
+                * ceilDiv(header.getInt(OFF_LON_COUNT), header.getInt(OFF_CHUNK_COLS));
+        return count > Integer.MAX_VALUE / INDEX_ENTRY_SIZE ? -1 : (int) count;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) {
+                throw new IOException("Unexpected end of gridded field");
+            }
+        }
+        buf.flip();
+    }
+
+    // --- Shape ---
+
+    public GridSpec getGrid() {
+        return grid;
+    }
+
+    public long getSourceHash() {
+        return sourceHash;
+    }
+
+    public int getBaseYear() {
+        return baseYear;
+    }
+
+    public int getStepsPerYear() {
+        return stepsPerYear;
+    }
+
+    public int getTimeSteps() {
+        return timeSteps;
+    }
+
+    /**
+     * Time step of {@code subStep} (e.g. the month) within {@code year}
+     */
+    public int stepOf(int year, int subStep) {
+        return (year - baseYear) * stepsPerYear + subStep;
+    }
+
+    public int yearOf(int step) {
+        return baseYear + step / stepsPerYear;
+    }
+
+    public int getChunkSteps() {
+        return chunkSteps;
+    }
+
+    public int getChunkRows() {
+        return chunkRows;
+    }
+
+    public int getChunkCols() {
+        return chunkCols;
+    }
+
+    public int getTimeChunkCount() {
+        return ceilDiv(timeSteps, chunkSteps);
+    }
+
+    public int getRowChunkCount() {
+        return rowChunks;
+    }
+
+    public int getColChunkCount() {
+        return colChunks;
+    }
+
+    /**
+     * Time steps covered by time chunk {@code timeChunk}; only the last one can be short
+     */
+    public int stepsInChunk(int timeChunk) {
+        return chunkExtent(timeChunk, chunkSteps, timeSteps);
+    }
+
+    /**
+     * Rows covered by row chunk {@code rowChunk}; only the last one can be short
+     */
+    public int rowsInChunk(int rowChunk) {
+        return chunkExtent(rowChunk, chunkRows, grid.getLatCount());
+    }
+
+    /**
+     * Columns covered by column chunk {@code colChunk}; only the last one can be short
+     */
+    public int colsInChunk(int colChunk) {
+        return chunkExtent(colChunk, chunkCols, grid.getLonCount());
+    }
+
+    // --- Reading ---
+
+    public float get(int step, int row, int col) {
+        checkStep(step);
+        int timeChunk = step / chunkSteps;
+        int rowChunk = row / chunkRows;
+        int colChunk = col / chunkCols;
+        float[] values = chunk(chunkId(timeChunk, rowChunk, colChunk));
+        int steps = chunkExtent(timeChunk, chunkSteps, timeSteps);
+        int cols = chunkExtent(colChunk, chunkCols, grid.getLonCount());
+        return values[((row - rowChunk * chunkRows) * cols + col - colChunk * chunkCols) * steps
+                + step - timeChunk * chunkSteps];
+    }
+
+    /**
+     * Read one time step of the whole grid into {@code out}, row by row. Allocates when
+     * {@code out} is null or too small.
+     */
+    public float[] readStep(int step, float[] out) {
+        checkStep(step);
+        float[] field = out != null && out.length >= grid.getCellCount() ? out : new float[grid.getCellCount()];
+        int timeChunk = step / chunkSteps;
+        int steps = chunkExtent(timeChunk, chunkSteps, timeSteps);
+        int stepInChunk = step - timeChunk * chunkSteps;
+        int lonCount = grid.getLonCount();
+        for (int rowChunk = 0; rowChunk < rowChunks; rowChunk++) {
+            int rows = chunkExtent(rowChunk, chunkRows, grid.getLatCount());
+            for (int colChunk = 0; colChunk < colChunks; colChunk++) {
+                int cols = chunkExtent(colChunk, chunkCols, lonCount);
+                float[] values = chunk(chunkId(timeChunk, rowChunk, colChunk));
+                int cell = 0;
+                for (int r = 0; r < rows; r++) {
+                    int target = (rowChunk * chunkRows + r) * lonCount + colChunk * chunkCols;
+                    for (int c = 0; c < cols; c++, cell++) {
+                        field[target + c] = values[cell * steps + stepInChunk];
+                    }
+                }
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Read every time step of one cell into {@code out}. Allocates when {@code out} is
+     * null or too small.
+     */
+    public float[] readCellSeries(int row, int col, float[] out) {
+        float[] series = out != null && out.length >= timeSteps ? out : new float[timeSteps];
+        int rowChunk = row / chunkRows;
+        int colChunk = col / chunkCols;
+        int cols = chunkExtent(colChunk, chunkCols, grid.getLonCount());
+        int cell = (row - rowChunk * chunkRows) * cols + col - colChunk * chunkCols;
+        int timeChunks = ceilDiv(timeSteps, chunkSteps);
+        for (int timeChunk = 0; timeChunk < timeChunks; timeChunk++) {
+            int steps = chunkExtent(timeChunk, chunkSteps, timeSteps);
+            float[] values = chunk(chunkId(timeChunk, rowChunk, colChunk));
+            System.arraycopy(values, cell * steps, series, timeChunk * chunkSteps, steps);
+        }
+        return series;
+    }
+
+    /**
+     * Decode one band of chunk rows over one time slab into {@code out}, laid out as
+     * {@code [(step * rows + row) * lonCount + col]} relative to the slab and band.
+     * Bypasses the chunk cache, so whole-field sweeps do not evict interactive reads.
+     */
+    public float[] readBand(int timeChunk, int rowChunk, float[] out) {
+        int steps = stepsInChunk(timeChunk);
+        int rows = rowsInChunk(rowChunk);
+        int lonCount = grid.getLonCount();
+        int size = steps * rows * lonCount;
+        float[] band = out != null && out.length >= size ? out : new float[size];
+        float[] values = null;
+        for (int colChunk = 0; colChunk < colChunks; colChunk++) {
+            int cols = chunkExtent(colChunk, chunkCols, lonCount);
+            values = decodeChunk(chunkId(timeChunk, rowChunk, colChunk), values);
+            int cell = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++, cell++) {
+                    int target = r * lonCount + colChunk * chunkCols + c;
+                    int source = cell * steps;
+                    for (int s = 0; s < steps; s++) {
+                        band[s * rows * lonCount + target] = values[source + s];
+                    }
+                }
+            }
+        }
+        return band;
+    }
+
+    /**
+     * Decode the full time series of one tile of chunk rows and columns into
+     * {@code out}, laid out as {@code [cell * timeSteps + step]} with the tile's cells
+     * row by row. Bypasses the chunk cache like {@link #readBand}.
+     */
+    public float[] readTileSeries(int rowChunk, int colChunk, float[] out) {
+        int cells = rowsInChunk(rowChunk) * colsInChunk(colChunk);
+        int size = cells * timeSteps;
+        float[] series = out != null && out.length >= size ? out : new float[size];
+        float[] values = null;
+        for (int timeChunk = 0; timeChunk < getTimeChunkCount(); timeChunk++) {
+            int steps = stepsInChunk(timeChunk);
+            values = decodeChunk(chunkId(timeChunk, rowChunk, colChunk), values);
+            for (int cell = 0; cell < cells; cell++) {
+                System.arraycopy(values, cell * steps, series, cell * timeSteps + timeChunk * chunkSteps, steps);
+            }
+        }
+        return series;
+    }
+
+    private void checkStep(int step) {
+        if (step < 0 || step >= timeSteps) {
+            throw new IndexOutOfBoundsException("Time step " + step + " out of " + timeSteps);
+        }
+    }
+
+    private int chunkId(int timeChunk, int rowChunk, int colChunk) {
+        return (timeChunk * rowChunks + rowChunk) * colChunks + colChunk;
+    }
+
+    private static int chunkExtent(int chunk, int chunkSize, int axisLength) {
+        return Math.min(chunkSize, axisLength - chunk * chunkSize);
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    private float[] chunk(int id) {
+        float[] values = cache.get(id);
+        return values != null ? values : cache.put(id, decodeChunk(id, null));
+    }
+
+    private float[] decodeChunk(int id, float[] out) {
+        long offset = chunkOffsets[id];
+        int segment = (int) (offset / SEGMENT_SIZE);
+        ByteBuffer bytes = segments[segment].slice((int) (offset - segment * SEGMENT_SIZE), chunkLengths[id])
+                .order(ByteOrder.LITTLE_ENDIAN);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.duplicate());
+        if ((int) crc.getValue() != chunkChecksums[id]) {
+            throw new IllegalStateException("Checksum mismatch in gridded field chunk " + id);
+        }
+        return CompressedFloats.readFrom(bytes).decodeAll(out);
+    }
+
+    // --- Cache ---
+
+    public long getCacheHits() {
+        return cache.hits.get();
+    }
+
+    public long getCacheMisses() {
+        return cache.misses.get();
+    }
+
+    public int getCachedChunks() {
+        return cache.size();
+    }
+
+    /**
+     * LRU of decoded chunks, bounded by count since every chunk decodes to at most the
+     * full chunk shape
+     */
+    private static final class ChunkCache {
+        private final LinkedHashMap<Integer, float[]> chunks; // Access ordered, guarded by itself
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        ChunkCache(int capacity) {
+            this.chunks = new LinkedHashMap<>(Math.min(capacity, 1024) * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, float[]> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        float[] get(int id) {
+            synchronized (chunks) {
+                float[] values = chunks.get(id);
+                (values != null ? hits : misses).incrementAndGet();
+                return values;
+            }
+        }
+
+        float[] put(int id, float[] values) {
+            synchronized (chunks) {
+                float[] raced = chunks.putIfAbsent(id, values);
+                return raced != null ? raced : values;
+            }
+        }
+
+        int size() {
+            synchronized (chunks) {
+                return chunks.size();
+            }
+        }
+    }
+
+    // --- Writing ---
+
+    /**
+     * Write a field with the default chunk shape
+     */
+    public static void writeTo(OutputStream out, long sourceHash, GridSpec grid, int baseYear, int stepsPerYear,
+            int timeSteps, FieldSource source) throws IOException {
+        writeTo(out, sourceHash, grid, baseYear, stepsPerYear, timeSteps, DEFAULT_CHUNK_STEPS,
+                DEFAULT_CHUNK_CELLS, DEFAULT_CHUNK_CELLS, source);
+    }
+
+    /**
+     * Pull {@code timeSteps} steps from {@code source} and write them as a field file.
+     * One time slab of {@code chunkSteps} steps is held in memory at a time. Pair with
+     * {@code PersistenceService} for an atomic replace of the field file.
+     */
+    public static void writeTo(OutputStream out, long sourceHash, GridSpec grid, int baseYear, int stepsPerYear,
+            int timeSteps, int chunkSteps, int chunkRows, int chunkCols, FieldSource source) throws IOException {
+        if (timeSteps < 1 || stepsPerYear < 1 || chunkSteps < 1 || chunkRows < 1 || chunkCols < 1) {
+            throw new IllegalArgumentException("Field and chunk extents must be positive");
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(OFF_MAGIC, MAGIC);
+        header.putInt(OFF_VERSION, VERSION);
+        header.putLong(OFF_SOURCE_HASH, sourceHash);
+        header.putInt(OFF_LAT_COUNT, grid.getLatCount());
+        header.putInt(OFF_LON_COUNT, grid.getLonCount());
+        header.putDouble(OFF_NORTH_LAT, grid.getNorthLat());
+        header.putDouble(OFF_LAT_STEP, grid.getLatStep());
+        header.putDouble(OFF_WEST_LON, grid.getWestLon());
+        header.putDouble(OFF_LON_STEP, grid.getLonStep());
+        header.putInt(OFF_BASE_YEAR, baseYear);
+        header.putInt(OFF_STEPS_PER_YEAR, stepsPerYear);
+        header.putInt(OFF_TIME_STEPS, timeSteps);
+        header.putInt(OFF_CHUNK_STEPS, chunkSteps);
+        header.putInt(OFF_CHUNK_ROWS, chunkRows);
+        header.putInt(OFF_CHUNK_COLS, chunkCols);
+        int chunkCount = chunkCount(header);
+        if (chunkCount <= 0) {
+            throw new IllegalArgumentException("Too many chunks for one field file");
+        }
+        out.write(header.array());
+
+        int latCount = grid.getLatCount();
+        int lonCount = grid.getLonCount();
+        int rowChunks = ceilDiv(latCount, chunkRows);
+        int colChunks = ceilDiv(lonCount, chunkCols);
+        ByteBuffer index = ByteBuffer.allocate(chunkCount * INDEX_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        float[][] slab = new float[chunkSteps][grid.getCellCount()];
+        float[] values = new float[chunkSteps * chunkRows * chunkCols];
+        CRC32C crc = new CRC32C();
+        long offset = HEADER_SIZE;
+        for (int firstStep = 0; firstStep < timeSteps; firstStep += chunkSteps) {
+            int steps = Math.min(chunkSteps, timeSteps - firstStep);
+            for (int s = 0; s < steps; s++) {
+                source.fill(firstStep + s, slab[s]);
+            }
+            for (int rowChunk = 0; rowChunk < rowChunks; rowChunk++) {
+                int rows = chunkExtent(rowChunk, chunkRows, latCount);
+                for (int colChunk = 0; colChunk < colChunks; colChunk++) {
+                    int cols = chunkExtent(colChunk, chunkCols, lonCount);
+                    int n = 0;
+                    for (int r = 0; r < rows; r++) {
+                        int cellRow = (rowChunk * chunkRows + r) * lonCount + colChunk * chunkCols;
+                        for (int c = 0; c < cols; c++) {
+                            for (int s = 0; s < steps; s++) {
+                                values[n++] = slab[s][cellRow + c];
+                            }
+                        }
+                    }
+                    CompressedFloats encoded = TimeSeriesCodec.encode(values, 0, n);
+                    ByteBuffer bytes = ByteBuffer.allocate(encoded.serializedSize()).order(ByteOrder.LITTLE_ENDIAN);
+                    encoded.writeTo(bytes);
+                    crc.reset();
+                    crc.update(bytes.array(), 0, bytes.capacity());
+                    out.write(bytes.array(), 0, bytes.capacity());
+                    index.putLong(offset).putInt(bytes.capacity()).putInt((int) crc.getValue());
+                    offset += bytes.capacity();
+                }
+            }
+        }
+        out.write(index.array());
+    }
+}
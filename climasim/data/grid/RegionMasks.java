@@ -0,0 +1,399 @@
+package com.climasim.data.grid;
+
+import com.climasim.data.models.Region;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Region masks rasterized onto a grid, and the aggregator that reduces a field to
+ * one area-weighted mean per region.
+ *
+ * Each region's mask is kept as a list of runs of consecutive cells within a row,
+ * which is compact for the box- and polygon-shaped regions used here and expands
+ * to plain cell indices on demand. For aggregation the runs of all regions are cut
+ * into segments where the set of covering regions is constant, so one sweep over
+ * the grid sums each covered cell exactly once and adds the segment's sum to every
+ * region it belongs to. Cells outside every region are never read. Regions may
+ * overlap; cells are weighted by the cosine of their latitude as in {@link AreaMeans}
+ * and NaN cells are left out.
+ *
+ * Masks depend only on the grid and the shapes, so they are built once; the masks
+ * of the continental regions are cached per grid.
+ */
+public final class RegionMasks {
+
+    private static final Map<Region, RegionShape> CONTINENTAL_SHAPES = continentalShapes();
+    private static final Map<GridSpec, RegionMasks> CONTINENTAL_MASKS = new ConcurrentHashMap<>();
+
+    private final GridSpec grid;
+    private final Region[] regions;
+    private final int[][] runs; // Per region slot: [start cell, length] pairs, row by row
+    private final int[] cellCounts;
+    private final double[] rowWeights;
+
+    // Segments of constant region membership, grouped by row
+    private final int[] rowFirstSegment; // latCount + 1 entries
+    private final int[] segmentCol;
+    private final int[] segmentLength;
+    private final int[] segmentFirstSlot; // segmentCount + 1 entries into segmentSlots
+    private final int[] segmentSlots;
+
+    private RegionMasks(GridSpec grid, Region[] regions, int[][] runs, int[] cellCounts, int[] rowFirstSegment,
+            int[] segmentCol, int[] segmentLength, int[] segmentFirstSlot, int[] segmentSlots) {
+        this.grid = grid;
+        this.regions = regions;
+        this.runs = runs;
+        this.cellCounts = cellCounts;
+        this.rowWeights = AreaMeans.rowWeights(grid);
+        this.rowFirstSegment = rowFirstSegment;
+        this.segmentCol = segmentCol;
+        this.segmentLength = segmentLength;
+        this.segmentFirstSlot = segmentFirstSlot;
+        this.segmentSlots = segmentSlots;
+    }
+
+    /**
+     * Masks of {@link Region#continental()} on {@code grid}, built on first use
+     */
+    public static RegionMasks continental(GridSpec grid) {
+        return CONTINENTAL_MASKS.computeIfAbsent(grid, key -> build(key, CONTINENTAL_SHAPES));
+    }
+
+    /**
+     * Rasterize {@code shapes} onto {@code grid} by testing every cell centre. Region
+     * slots follow the map's iteration order.
+     */
+    public static RegionMasks build(GridSpec grid, Map<Region, RegionShape> shapes) {
+        int latCount = grid.getLatCount();
+        int lonCount = grid.getLonCount();
+        Region[] regions = shapes.keySet().toArray(new Region[0]);
+        RegionShape[] outlines = shapes.values().toArray(new RegionShape[0]);
+        int regionCount = regions.length;
+
+        RunBuilder[] runBuilders = new RunBuilder[regionCount];
+        for (int slot = 0; slot < regionCount; slot++) {
+            runBuilders[slot] = new RunBuilder();
+        }
+        int[] rowFirstSegment = new int[latCount + 1];
+        IntList segmentCol = new IntList();
+        IntList segmentLength = new IntList();
+        IntList segmentFirstSlot = new IntList();
+        IntList segmentSlots = new IntList();
+
+        boolean[][] inside = new boolean[regionCount][lonCount];
+        for (int row = 0; row < latCount; row++) {
+            double lat = grid.latitude(row);
+            for (int slot = 0; slot < regionCount; slot++) {
+                boolean[] mask = inside[slot];
+                for (int col = 0; col < lonCount; col++) {
+                    mask[col] = outlines[slot].contains(lat, grid.longitude(col));
+                }
+                runBuilders[slot].addRow(mask, row * lonCount);
+            }
+
+            rowFirstSegment[row] = segmentCol.size;
+            int col = 0;
+            while (col < lonCount) {
+                int start = col++;
+                while (col < lonCount && sameMembership(inside, start, col)) {
+                    col++;
+                }
+                int firstSlot = segmentSlots.size;
+                for (int slot = 0; slot < regionCount; slot++) {
+                    if (inside[slot][start]) {
+                        segmentSlots.add(slot);
+                    }
+                }
+                if (segmentSlots.size > firstSlot) {
+                    segmentCol.add(start);
+                    segmentLength.add(col - start);
+                    segmentFirstSlot.add(firstSlot);
+                }
+            }
+        }
+        rowFirstSegment[latCount] = segmentCol.size;
+        segmentFirstSlot.add(segmentSlots.size);
+
+        int[][] runs = new int[regionCount][];
+        int[] cellCounts = new int[regionCount];
+        for (int slot = 0; slot < regionCount; slot++) {
+            runs[slot] = runBuilders[slot].runs.toArray();
+            cellCounts[slot] = runBuilders[slot].cells;
+        }
+        return new RegionMasks(grid, regions, runs, cellCounts, rowFirstSegment, segmentCol.toArray(),
+                segmentLength.toArray(), segmentFirstSlot.toArray(), segmentSlots.toArray());
+    }
+
+    private static boolean sameMembership(boolean[][] inside, int a, int b) {
+        for (boolean[] mask : inside) {
+            if (mask[a] != mask[b]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Outlines of the nine continental regions as lat/lon boxes. They are coarse and
+     * include the surrounding ocean; the generated fields have no land mask to refine
+     * them against.
+     */
+    private static Map<Region, RegionShape> continentalShapes() {
+        Map<Region, RegionShape> shapes = new LinkedHashMap<>();
+        shapes.put(Region.ARCTIC, RegionShape.polarCap(66.5));
+        shapes.put(Region.NORTH_AMERICA, RegionShape.union(
+                RegionShape.box(15, 72, -168, -52),
+                RegionShape.box(7, 15, -92, -77), // Central America
+                RegionShape.box(60, 84, -73, -12))); // Greenland
+        shapes.put(Region.EUROPE, RegionShape.union(
+                RegionShape.box(36, 71, -11, 40),
+                RegionShape.box(63, 67, -25, -13))); // Iceland
+        shapes.put(Region.ASIA, RegionShape.union(
+                RegionShape.box(5, 78, 40, 180),
+                RegionShape.box(-11, 5, 95, 141), // Maritime Southeast Asia
+                RegionShape.box(60, 72, -180, -168))); // Chukotka
+        shapes.put(Region.AFRICA, RegionShape.union(
+                RegionShape.box(-35, 35, -18, 34),
+                RegionShape.box(-12, 12, 34, 52))); // Horn of Africa
+        shapes.put(Region.SOUTH_AMERICA, RegionShape.box(-56, 12, -82, -34));
+        shapes.put(Region.AUSTRALIA, RegionShape.box(-44, -10, 112, 154));
+        shapes.put(Region.ANTARCTICA, RegionShape.polarCap(-60));
+        shapes.put(Region.PACIFIC_ISLANDS, RegionShape.box(-25, 20, 155, -130));
+        return Collections.unmodifiableMap(shapes);
+    }
+
+    // --- Masks ---
+
+    public GridSpec getGrid() {
+        return grid;
+    }
+
+    public int getRegionCount() {
+        return regions.length;
+    }
+
+    public Region getRegion(int slot) {
+        return regions[slot];
+    }
+
+    /**
+     * Slot of {@code region}, or -1 when it has no mask here
+     */
+    public int slotOf(Region region) {
+        for (int slot = 0; slot < regions.length; slot++) {
+            if (regions[slot] == region) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    public int getCellCount(int slot) {
+        return cellCounts[slot];
+    }
+
+    /**
+     * Ascending indices of the cells in a region's mask
+     */
+    public int[] cellIndices(int slot) {
+        int[] regionRuns = runs[slot];
+        int[] cells = new int[cellCounts[slot]];
+        int next = 0;
+        for (int i = 0; i < regionRuns.length; i += 2) {
+            for (int cell = regionRuns[i]; cell < regionRuns[i] + regionRuns[i + 1]; cell++) {
+                cells[next++] = cell;
+            }
+        }
+        return cells;
+    }
+
+    // --- Aggregation ---
+
+    /**
+     * Area-weighted mean of every region over a single time step laid out row by row,
+     * indexed by slot. Regions without a valid cell are NaN.
+     */
+    public float[] aggregate(float[] field, float[] out) {
+        int regionCount = regions.length;
+        double[] sums = new double[regionCount];
+        double[] weights = new double[regionCount];
+        double[] scratchSum = new double[1];
+        int[] scratchCount = new int[1];
+        int lonCount = grid.getLonCount();
+        for (int row = 0; row < grid.getLatCount(); row++) {
+            accumulateRow(field, row * lonCount, row, sums, weights, 0, scratchSum, scratchCount);
+        }
+        float[] means = out != null && out.length >= regionCount ? out : new float[regionCount];
+        for (int slot = 0; slot < regionCount; slot++) {
+            means[slot] = weights[slot] > 0 ? (float) (sums[slot] / weights[slot]) : Float.NaN;
+        }
+        return means;
+    }
+
+    /**
+     * Area-weighted mean of every region over every step of {@code field}, laid out as
+     * {@code [step * regionCount + slot]}. The field is swept once, one fork-join task
+     * per time slab and latitude band as in {@link AreaMeans#compute(GriddedField)}.
+     */
+    public float[] aggregate(GriddedField field) {
+        if (!field.getGrid().equals(grid)) {
+            throw new IllegalArgumentException("Field grid " + field.getGrid() + " does not match masks on " + grid);
+        }
+        int regionCount = regions.length;
+        int timeSteps = field.getTimeSteps();
+        int rowChunks = field.getRowChunkCount();
+        // Each band writes its own partial sums, so tasks never share a slot
+        double[][] sums = new double[rowChunks][timeSteps * regionCount];
+        double[][] weights = new double[rowChunks][timeSteps * regionCount];
+        ForkJoinPool.commonPool().invoke(new BandTask(field, sums, weights, 0, field.getTimeChunkCount() * rowChunks));
+
+        float[] means = new float[timeSteps * regionCount];
+        for (int i = 0; i < means.length; i++) {
+            double sum = 0;
+            double weight = 0;
+            for (int band = 0; band < rowChunks; band++) {
+                sum += sums[band][i];
+                weight += weights[band][i];
+            }
+            means[i] = weight > 0 ? (float) (sum / weight) : Float.NaN;
+        }
+        return means;
+    }
+
+    /**
+     * Mean over each year's steps of a series from {@link #aggregate(GriddedField)},
+     * laid out as {@code [year * regionCount + slot]}
+     */
+    public float[] annualMeans(float[] stepMeans, int stepsPerYear) {
+        int regionCount = regions.length;
+        int years = stepMeans.length / regionCount / stepsPerYear;
+        float[] annual = new float[years * regionCount];
+        for (int year = 0; year < years; year++) {
+            for (int slot = 0; slot < regionCount; slot++) {
+                double sum = 0;
+                for (int s = 0; s < stepsPerYear; s++) {
+                    sum += stepMeans[(year * stepsPerYear + s) * regionCount + slot];
+                }
+                annual[year * regionCount + slot] = (float) (sum / stepsPerYear);
+            }
+        }
+        return annual;
+    }
+
+    private void accumulateRow(float[] values, int rowOffset, int row, double[] sums, double[] weights, int base,
+            double[] scratchSum, int[] scratchCount) {
+        double rowWeight = rowWeights[row];
+        for (int seg = rowFirstSegment[row]; seg < rowFirstSegment[row + 1]; seg++) {
+            AreaMeans.reduceRow(values, rowOffset + segmentCol[seg], segmentLength[seg], scratchSum, scratchCount, 0);
+            double weightedSum = scratchSum[0] * rowWeight;
+            double weight = scratchCount[0] * rowWeight;
+            for (int k = segmentFirstSlot[seg]; k < segmentFirstSlot[seg + 1]; k++) {
+                int slot = segmentSlots[k];
+                sums[base + slot] += weightedSum;
+                weights[base + slot] += weight;
+            }
+        }
+    }
+
+    /**
+     * Splits the (time slab, latitude band) pairs until one pair remains, then adds
+     * that band's segments into the band's partial sums for every step of the slab
+     */
+    private final class BandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final GriddedField field;
+        private final double[][] sums;
+        private final double[][] weights;
+        private final int from;
+        private final int to;
+
+        BandTask(GriddedField field, double[][] sums, double[][] weights, int from, int to) {
+            this.field = field;
+            this.sums = sums;
+            this.weights = weights;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BandTask(field, sums, weights, from, middle),
+                        new BandTask(field, sums, weights, middle, to));
+                return;
+            }
+            int rowChunks = field.getRowChunkCount();
+            int timeChunk = from / rowChunks;
+            int rowChunk = from % rowChunks;
+            int steps = field.stepsInChunk(timeChunk);
+            int rows = field.rowsInChunk(rowChunk);
+            int firstStep = timeChunk * field.getChunkSteps();
+            int firstRow = rowChunk * field.getChunkRows();
+            if (rowFirstSegment[firstRow] == rowFirstSegment[firstRow + rows]) {
+                return; // No region covers this band
+            }
+            int lonCount = grid.getLonCount();
+            int regionCount = regions.length;
+            float[] band = field.readBand(timeChunk, rowChunk, null);
+            double[] scratchSum = new double[1];
+            int[] scratchCount = new int[1];
+            for (int s = 0; s < steps; s++) {
+                for (int r = 0; r < rows; r++) {
+                    accumulateRow(band, (s * rows + r) * lonCount, firstRow + r, sums[rowChunk], weights[rowChunk],
+                            (firstStep + s) * regionCount, scratchSum, scratchCount);
+                }
+            }
+        }
+    }
+
+    // --- Builders ---
+
+    /**
+     * Collects one region's runs of consecutive cells, row by row
+     */
+    private static final class RunBuilder {
+        final IntList runs = new IntList();
+        int cells;
+
+        void addRow(boolean[] mask, int rowOffset) {
+            int col = 0;
+            while (col < mask.length) {
+                if (!mask[col]) {
+                    col++;
+                    continue;
+                }
+                int start = col;
+                while (col < mask.length && mask[col]) {
+                    col++;
+                }
+                runs.add(rowOffset + start);
+                runs.add(col - start);
+                cells += col - start;
+            }
+        }
+    }
+
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.climasim.data.grid;
+
+/**
+ * Geographic outline of a region, tested against grid cell centres.
+ *
+ * Shapes are only evaluated when masks are built, so they favour simple definitions
+ * over speed: lat/lon boxes, polygons in lat/lon space and unions of both.
+ */
+@FunctionalInterface
+public interface RegionShape {
+
+    boolean contains(double lat, double lon);
+
+    /**
+     * Box between two latitudes and two longitudes. A box whose west edge is east of
+     * its east edge wraps across the date line.
+     */
+    static RegionShape box(double southLat, double northLat, double westLon, double eastLon) {
+        if (westLon <= eastLon) {
+            return (lat, lon) -> lat >= southLat && lat <= northLat && lon >= westLon && lon <= eastLon;
+        }
+        return (lat, lon) -> lat >= southLat && lat <= northLat && (lon >= westLon || lon <= eastLon);
+    }
+
+    /**
+     * Everything poleward of {@code lat}: north of it when positive, south when negative
+     */
+    static RegionShape polarCap(double lat) {
+        return lat >= 0 ? (cellLat, lon) -> cellLat >= lat : (cellLat, lon) -> cellLat <= lat;
+    }
+
+    /**
+     * Polygon given as alternating latitude and longitude vertices, tested by ray
+     * casting in lat/lon space. Edges must not cross the date line.
+     */
+    static RegionShape polygon(double... latLon) {
+        if (latLon.length < 6 || latLon.length % 2 != 0) {
+            throw new IllegalArgumentException("A polygon needs at least three lat/lon pairs");
+        }
+        double[] vertices = latLon.clone();
+        int n = vertices.length / 2;
+        return (lat, lon) -> {
+            boolean inside = false;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                double latI = vertices[2 * i], lonI = vertices[2 * i + 1];
+                double latJ = vertices[2 * j], lonJ = vertices[2 * j + 1];
+                if ((latI > lat) != (latJ > lat) && lon < (lonJ - lonI) * (lat - latI) / (latJ - latI) + lonI) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        };
+    }
+
+    static RegionShape union(RegionShape... shapes) {
+        RegionShape[] parts = shapes.clone();
+        return (lat, lon) -> {
+            for (RegionShape part : parts) {
+                if (part.contains(lat, lon)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+}
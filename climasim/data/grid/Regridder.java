@@ -0,0 +1,394 @@
+package com.climasim.data.grid;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Remaps fields from one lat/lon grid to another.
+ *
+ * The remap is linear, so it is computed once per (source, target, method) as a
+ * sparse matrix in compressed rows: one row per target cell listing the source cells
+ * it draws from and their weights. A small LRU keeps the matrices of recently used
+ * grid pairs. Regridding a time step is then a sparse
+ * matrix-vector product, and the steps of a time slab are regridded in parallel.
+ * Weights of a row sum to one; when some of a row's source cells are NaN the rest
+ * are renormalized, and a target cell with no valid source is NaN.
+ *
+ * Bilinear interpolates between the four source cell centres around each target
+ * centre and suits refining a grid. First-order conservative weights each source
+ * cell by its area of overlap with the target cell on the sphere, so area-weighted
+ * means are preserved when coarsening.
+ */
+public final class Regridder {
+
+    public enum Method {
+        BILINEAR,
+        CONSERVATIVE
+    }
+
+    private static final int CACHE_CAPACITY = 8; // Grid pairs whose weights stay cached
+
+    // Access-ordered LRU of recently used remaps, guarded by itself
+    private static final Map<Key, Regridder> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Regridder> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
+    private final GridSpec source;
+    private final GridSpec target;
+    private final Method method;
+    private final int[] rowStart; // Target cell count + 1 entries into sourceCells and weights
+    private final int[] sourceCells;
+    private final float[] weights;
+
+    private Regridder(GridSpec source, GridSpec target, Method method, int[] rowStart, int[] sourceCells,
+            float[] weights) {
+        this.source = source;
+        this.target = target;
+        this.method = method;
+        this.rowStart = rowStart;
+        this.sourceCells = sourceCells;
+        this.weights = weights;
+    }
+
+    /**
+     * Remap from {@code source} to {@code target}, reusing the weights of one of the
+     * last {@value #CACHE_CAPACITY} grid pairs. Weights are built outside the cache
+     * lock, so a slow build does not hold up lookups of other pairs; two threads asking
+     * for the same new pair may both build it, and the first to finish is kept.
+     * Callers that regrid one pair for a long time can hold on to the instance.
+     */
+    public static Regridder of(GridSpec source, GridSpec target, Method method) {
+        Key key = new Key(source, target, method);
+        synchronized (CACHE) {
+            Regridder cached = CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Regridder built = build(source, target, method);
+        synchronized (CACHE) {
+            Regridder raced = CACHE.putIfAbsent(key, built);
+            return raced != null ? raced : built;
+        }
+    }
+
+    private static Regridder build(GridSpec source, GridSpec target, Method method) {
+        WeightsBuilder builder = new WeightsBuilder(target.getCellCount());
+        for (int row = 0; row < target.getLatCount(); row++) {
+            for (int col = 0; col < target.getLonCount(); col++) {
+                if (method == Method.BILINEAR) {
+                    addBilinear(builder, source, target.latitude(row), target.longitude(col));
+                } else {
+                    addConservative(builder, source, target, row, col);
+                }
+                builder.endRow();
+            }
+        }
+        return new Regridder(source, target, method, builder.rowStart, Arrays.copyOf(builder.cells, builder.size),
+                Arrays.copyOf(builder.weights, builder.size));
+    }
+
+    // --- Weights ---
+
+    private static void addBilinear(WeightsBuilder builder, GridSpec source, double lat, double lon) {
+        int latCount = source.getLatCount();
+        double rowPos = (source.getNorthLat() - lat) / source.getLatStep();
+        if (rowPos < -0.5 || rowPos > latCount - 0.5) {
+            return; // Outside the source's latitude range
+        }
+        // Between the outermost row centre and the grid edge, hold the edge row
+        int row0 = (int) Math.floor(Math.max(0, Math.min(latCount - 1, rowPos)));
+        int row1 = Math.min(row0 + 1, latCount - 1);
+        double rowFrac = Math.max(0, Math.min(1, rowPos - row0));
+
+        int lonCount = source.getLonCount();
+        int col0;
+        int col1;
+        double colFrac;
+        if (source.isGlobalInLongitude()) {
+            double colPos = (lon - source.getWestLon()) / source.getLonStep();
+            int floor = (int) Math.floor(colPos);
+            colFrac = colPos - floor;
+            col0 = Math.floorMod(floor, lonCount);
+            col1 = Math.floorMod(floor + 1, lonCount);
+        } else {
+            double colPos = (shiftIntoSource(source, lon) - source.getWestLon()) / source.getLonStep();
+            if (colPos < -0.5 || colPos > lonCount - 0.5) {
+                return;
+            }
+            col0 = (int) Math.floor(Math.max(0, Math.min(lonCount - 1, colPos)));
+            col1 = Math.min(col0 + 1, lonCount - 1);
+            colFrac = Math.max(0, Math.min(1, colPos - col0));
+        }
+
+        builder.add(source.index(row0, col0), (1 - rowFrac) * (1 - colFrac));
+        builder.add(source.index(row0, col1), (1 - rowFrac) * colFrac);
+        builder.add(source.index(row1, col0), rowFrac * (1 - colFrac));
+        builder.add(source.index(row1, col1), rowFrac * colFrac);
+    }
+
+    /**
+     * {@code lon} moved by whole turns into the longitude span of a regional grid
+     */
+    private static double shiftIntoSource(GridSpec source, double lon) {
+        double westEdge = source.getWestLon() - source.getLonStep() / 2;
+        return westEdge + ((lon - westEdge) % 360.0 + 360.0) % 360.0;
+    }
+
+    private static void addConservative(WeightsBuilder builder, GridSpec source, GridSpec target, int row, int col) {
+        double targetNorth = Math.min(90, target.latitude(row) + target.getLatStep() / 2);
+        double targetSouth = Math.max(-90, target.latitude(row) - target.getLatStep() / 2);
+        double targetWest = target.longitude(col) - target.getLonStep() / 2;
+        double targetEast = targetWest + target.getLonStep();
+
+        double sourceNorthEdge = source.getNorthLat() + source.getLatStep() / 2;
+        int firstRow = Math.max(0, (int) Math.floor((sourceNorthEdge - targetNorth) / source.getLatStep()));
+        int lastRow = Math.min(source.getLatCount() - 1,
+                (int) Math.ceil((sourceNorthEdge - targetSouth) / source.getLatStep()) - 1);
+        double sourceWestEdge = source.getWestLon() - source.getLonStep() / 2;
+        boolean global = source.isGlobalInLongitude();
+        int lonCount = source.getLonCount();
+
+        for (int sourceRow = firstRow; sourceRow <= lastRow; sourceRow++) {
+            double north = Math.min(targetNorth, Math.min(90, sourceNorthEdge - sourceRow * source.getLatStep()));
+            double south = Math.max(targetSouth,
+                    Math.max(-90, sourceNorthEdge - (sourceRow + 1) * source.getLatStep()));
+            // Area of a lat/lon box is proportional to its sine-of-latitude span times its width
+            double latSpan = Math.sin(Math.toRadians(north)) - Math.sin(Math.toRadians(south));
+            if (latSpan <= 0) {
+                continue;
+            }
+            // A regional source may line up with the target a whole turn away
+            for (int turn = global ? 0 : -1; turn <= (global ? 0 : 1); turn++) {
+                double west = targetWest + turn * 360.0;
+                double east = targetEast + turn * 360.0;
+                int firstCol = (int) Math.floor((west - sourceWestEdge) / source.getLonStep());
+                int lastCol = (int) Math.ceil((east - sourceWestEdge) / source.getLonStep()) - 1;
+                for (int c = firstCol; c <= lastCol; c++) {
+                    if (!global && (c < 0 || c >= lonCount)) {
+                        continue;
+                    }
+                    double cellWest = sourceWestEdge + c * source.getLonStep();
+                    double overlap = Math.min(east, cellWest + source.getLonStep()) - Math.max(west, cellWest);
+                    if (overlap > 0) {
+                        builder.add(source.index(sourceRow, Math.floorMod(c, lonCount)), latSpan * overlap);
+                    }
+                }
+            }
+        }
+    }
+
+    // --- Applying ---
+
+    public GridSpec getSource() {
+        return source;
+    }
+
+    public GridSpec getTarget() {
+        return target;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Number of stored weights; regridding a step costs one multiply-add per weight
+     */
+    public int getWeightCount() {
+        return weights.length;
+    }
+
+    /**
+     * Regrid one time step laid out row by row over the source grid into {@code out}
+     */
+    public float[] apply(float[] field, float[] out) {
+        int cellCount = target.getCellCount();
+        float[] result = out != null && out.length >= cellCount ? out : new float[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            double sum = 0;
+            double weight = 0;
+            for (int k = rowStart[cell]; k < rowStart[cell + 1]; k++) {
+                float value = field[sourceCells[k]];
+                if (value == value) {
+                    sum += weights[k] * value;
+                    weight += weights[k];
+                }
+            }
+            result[cell] = weight > 0 ? (float) (sum / weight) : Float.NaN;
+        }
+        return result;
+    }
+
+    /**
+     * Regrid the first {@code count} steps of {@code fields} into {@code out}, one
+     * step per fork-join task
+     */
+    public void apply(float[][] fields, float[][] out, int count) {
+        ForkJoinPool.commonPool().invoke(new RangeTask(0, count, step -> apply(fields[step], out[step])));
+    }
+
+    /**
+     * Field source serving {@code field} regridded onto the target grid. Each time slab
+     * is decoded band by band and regridded in parallel on first access, so the
+     * source suits the sequential pulls of {@link GriddedField#writeTo}; it is not
+     * thread-safe.
+     */
+    public GriddedField.FieldSource regridded(GriddedField field) {
+        if (!field.getGrid().equals(source)) {
+            throw new IllegalArgumentException("Field grid " + field.getGrid() + " does not match remap from " + source);
+        }
+        return new SlabSource(field);
+    }
+
+    /**
+     * Write {@code field} regridded onto the target grid as a new field file with the
+     * same time axis
+     */
+    public void writeTo(OutputStream out, long sourceHash, GriddedField field) throws IOException {
+        GriddedField.writeTo(out, sourceHash, target, field.getBaseYear(), field.getStepsPerYear(),
+                field.getTimeSteps(), regridded(field));
+    }
+
+    private final class SlabSource implements GriddedField.FieldSource {
+        private final GriddedField field;
+        private final float[][] sourceSteps;
+        private final float[][] targetSteps;
+        private int slab = -1;
+
+        SlabSource(GriddedField field) {
+            this.field = field;
+            this.sourceSteps = new float[field.getChunkSteps()][source.getCellCount()];
+            this.targetSteps = new float[field.getChunkSteps()][target.getCellCount()];
+        }
+
+        @Override
+        public void fill(int step, float[] out) {
+            int timeChunk = step / field.getChunkSteps();
+            if (timeChunk != slab) {
+                loadSlab(timeChunk);
+            }
+            System.arraycopy(targetSteps[step - timeChunk * field.getChunkSteps()], 0, out, 0,
+                    target.getCellCount());
+        }
+
+        private void loadSlab(int timeChunk) {
+            slab = -1;
+            int steps = field.stepsInChunk(timeChunk);
+            int lonCount = source.getLonCount();
+            ForkJoinPool.commonPool().invoke(new RangeTask(0, field.getRowChunkCount(), rowChunk -> {
+                int rows = field.rowsInChunk(rowChunk);
+                int firstCell = rowChunk * field.getChunkRows() * lonCount;
+                float[] band = field.readBand(timeChunk, rowChunk, null);
+                for (int s = 0; s < steps; s++) {
+                    System.arraycopy(band, s * rows * lonCount, sourceSteps[s], firstCell, rows * lonCount);
+                }
+            }));
+            apply(sourceSteps, targetSteps, steps);
+            slab = timeChunk;
+        }
+    }
+
+    /**
+     * Runs {@code body} for every index of a range, splitting down to single indices
+     */
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        RangeTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, middle, body), new RangeTask(middle, to, body));
+            } else if (to > from) {
+                body.accept(from);
+            }
+        }
+    }
+
+    /**
+     * Appends weights row by row, dropping zeros and scaling each row to sum to one
+     */
+    private static final class WeightsBuilder {
+        final int[] rowStart;
+        int[] cells = new int[1024];
+        float[] weights = new float[1024];
+        double[] raw = new double[1024];
+        int size;
+        int rows;
+
+        WeightsBuilder(int rowCount) {
+            this.rowStart = new int[rowCount + 1];
+        }
+
+        void add(int cell, double weight) {
+            if (weight <= 0) {
+                return;
+            }
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                raw = Arrays.copyOf(raw, size * 2);
+            }
+            cells[size] = cell;
+            raw[size++] = weight;
+        }
+
+        void endRow() {
+            int first = rowStart[rows];
+            double total = 0;
+            for (int k = first; k < size; k++) {
+                total += raw[k];
+            }
+            for (int k = first; k < size; k++) {
+                weights[k] = (float) (raw[k] / total);
+            }
+            rowStart[++rows] = size;
+        }
+    }
+
+    private static final class Key {
+        private final GridSpec source;
+        private final GridSpec target;
+        private final Method method;
+
+        Key(GridSpec source, GridSpec target, Method method) {
+            this.source = source;
+            this.target = target;
+            this.method = method;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return source.equals(other.source) && target.equals(other.target) && method == other.method;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * source.hashCode() + target.hashCode()) * 31 + method.hashCode();
+        }
+    }
+}
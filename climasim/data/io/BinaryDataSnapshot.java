@@ -0,0 +1,500 @@
+package com.climasim.data.io;
+
+import com.climasim.data.models.ClimateIssue;
+import com.climasim.data.models.ClimateMetric;
+import com.climasim.data.models.IssueType;
+import com.climasim.data.models.IssueUrgency;
+import com.climasim.data.models.Region;
+import com.climasim.data.models.RegionalMetric;
+import com.climasim.data.models.Solution;
+import com.climasim.data.models.SolutionType;
+import com.climasim.data.models.SubIssue;
+import com.climasim.data.store.YearlyMetricStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact binary snapshot of the yearly, issue and solution data.
+ *
+ * Layout (little-endian):
+ * <pre>
+ * header    64 bytes: magic, version, source hash, payload CRC32C, year shape,
+ *           region count and section offsets
+ * present   one byte per year row, padded to 4 bytes
+ * metrics   one compressed series over the rows per {@link ClimateMetric}, NaN where
+ *           a row lacks a float metric
+ * regions   region name ids, then one compressed series over the rows per
+ *           {@link RegionalMetric} and region
+ * strings   count, end offsets, UTF-8 bytes
+ * issues    string ids, enum ordinals and sub-issue name/description pairs
+ * solutions name, description and type per solution
+ * </pre>
+ *
+ * Series are {@link TimeSeriesCodec} blocks: XOR-coded floats and delta-of-delta
+ * coded counts. Snapshots are read through {@link FileChannel#map}, so a load is a
+ * checksum pass plus bulk series decodes into the store columns instead of a JSON
+ * parse. The source hash lets callers discard a snapshot when the JSON it was built
+ * from changes.
+ */
+public class BinaryDataSnapshot {
+
+    public static final int MAGIC = 0x4353494D; // "CSIM"
+    public static final int VERSION = 3;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_VERSION = 4;
+    private static final int OFF_SOURCE_HASH = 8;
+    private static final int OFF_CHECKSUM = 16;
+    private static final int OFF_BASE_YEAR = 20;
+    private static final int OFF_ROW_COUNT = 24;
+    private static final int OFF_METRIC_COUNT = 28;
+    private static final int OFF_REGION_COUNT = 32;
+    private static final int OFF_STRINGS = 36;
+    private static final int OFF_ISSUES = 40;
+    private static final int OFF_SOLUTIONS = 44;
+    private static final int OFF_PAYLOAD_LENGTH = 48;
+
+    private static final int NO_STRING = -1;
+    private static final int NO_ORDINAL = -1;
+
+    private static final ClimateMetric[] METRICS = ClimateMetric.values();
+
+    /**
+     * Decoded snapshot contents
+     */
+    public static class Contents {
+        private final YearlyMetricStore yearlyStore;
+        private final List<ClimateIssue> issues;
+        private final List<Solution> solutions;
+
+        public Contents(YearlyMetricStore yearlyStore, List<ClimateIssue> issues, List<Solution> solutions) {
+            this.yearlyStore = yearlyStore;
+            this.issues = issues;
+            this.solutions = solutions;
+        }
+
+        public YearlyMetricStore getYearlyStore() {
+            return yearlyStore;
+        }
+
+        public List<ClimateIssue> getIssues() {
+            return issues;
+        }
+
+        public List<Solution> getSolutions() {
+            return solutions;
+        }
+    }
+
+    private BinaryDataSnapshot() {
+    }
+
+    /**
+     * Whether the issues can be stored without losing data. Locations and per-year
+     * issue data are not part of the format, and sub-issues are stored as name and
+     * description only, so snapshots are skipped when any sub-issue differs from its
+     * category defaults.
+     */
+    public static boolean canRepresent(Iterable<ClimateIssue> issues) {
+        for (ClimateIssue issue : issues) {
+            if (issue.getPrimaryLocation() != null || issue.getAffectedRegions() != null
+                    || issue.hasYearlyData()) {
+                return false;
+            }
+            if (issue.getSubIssues() != null) {
+                for (SubIssue subIssue : issue.getSubIssues()) {
+                    if (subIssue == null || !subIssue.matchesCategoryDefaults()) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    // --- Reading ---
+
+    /**
+     * Read the snapshot if it exists, is intact and was built from {@code sourceHash}.
+     * Returns null otherwise so the caller falls back to the JSON sources.
+     */
+    public static Contents readIfCurrent(Path file, long sourceHash) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_SIZE) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer buf = mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.getInt(OFF_MAGIC) != MAGIC || buf.getInt(OFF_VERSION) != VERSION
+                    || buf.getLong(OFF_SOURCE_HASH) != sourceHash
+                    || buf.getInt(OFF_METRIC_COUNT) != METRICS.length) {
+                return null;
+            }
+            int payloadLength = buf.getInt(OFF_PAYLOAD_LENGTH);
+            if (payloadLength < 0 || HEADER_SIZE + (long) payloadLength != channel.size()) {
+                return null;
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(buf.slice(HEADER_SIZE, payloadLength));
+            if ((int) crc.getValue() != buf.getInt(OFF_CHECKSUM)) {
+                return null;
+            }
+            return decode(buf);
+        }
+    }
+
+    private static Contents decode(ByteBuffer buf) throws IOException {
+        int baseYear = buf.getInt(OFF_BASE_YEAR);
+        int rowCount = buf.getInt(OFF_ROW_COUNT);
+        int regionCount = buf.getInt(OFF_REGION_COUNT);
+        String[] strings = readStringTable(buf, buf.getInt(OFF_STRINGS));
+
+        YearlyMetricStore store = new YearlyMetricStore(baseYear, rowCount);
+        int pos = HEADER_SIZE;
+        for (int row = 0; row < rowCount; row++) {
+            if (buf.get(pos + row) != 0) {
+                store.addYear(baseYear + row);
+            }
+        }
+        pos += align4(rowCount);
+
+        float[] floats = new float[rowCount];
+        buf.position(pos);
+        for (ClimateMetric metric : METRICS) {
+            if (metric.isCount()) {
+                CompressedInts series = CompressedInts.readFrom(buf);
+                checkLength(series.length(), rowCount, metric);
+                int[] counts = series.decodeAll(null);
+                for (int row = 0; row < rowCount; row++) {
+                    store.setExtremeWeatherEvents(row, counts[row]);
+                }
+            } else {
+                readSeries(buf, rowCount, metric, floats);
+                for (int row = 0; row < rowCount; row++) {
+                    if (!Float.isNaN(floats[row])) {
+                        store.set(metric, row, floats[row]);
+                    }
+                }
+            }
+        }
+
+        int[] regionIds = new int[regionCount];
+        for (int r = 0; r < regionCount; r++) {
+            regionIds[r] = Region.of(strings[buf.getInt()]).getId();
+        }
+        for (RegionalMetric metric : RegionalMetric.values()) {
+            readRegionalSeries(buf, store, regionIds, metric, floats);
+        }
+
+        List<ClimateIssue> issues = readIssues(buf, buf.getInt(OFF_ISSUES), strings);
+        List<Solution> solutions = readSolutions(buf, buf.getInt(OFF_SOLUTIONS), strings);
+        return new Contents(store, issues, solutions);
+    }
+
+    private static void readRegionalSeries(ByteBuffer buf, YearlyMetricStore store, int[] regionIds,
+            RegionalMetric metric, float[] scratch) throws IOException {
+        int rowCount = store.getCapacity();
+        for (int regionId : regionIds) {
+            readSeries(buf, rowCount, metric, scratch);
+            for (int row = 0; row < rowCount; row++) {
+                if (store.hasYear(store.yearOf(row))) {
+                    store.setRegional(metric, row, regionId, scratch[row]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decode the next series into {@code out}, which holds exactly {@code rowCount}
+     * values. A series of any other length means the file does not match its header.
+     */
+    private static void readSeries(ByteBuffer buf, int rowCount, Enum<?> metric, float[] out) throws IOException {
+        CompressedFloats series = CompressedFloats.readFrom(buf);
+        checkLength(series.length(), rowCount, metric);
+        series.decodeAll(out);
+    }
+
+    private static void checkLength(int length, int rowCount, Enum<?> metric) throws IOException {
+        if (length != rowCount) {
+            throw new IOException("Snapshot series for " + metric + " has " + length + " values, expected "
+                    + rowCount);
+        }
+    }
+
+    private static String[] readStringTable(ByteBuffer buf, int pos) {
+        int count = buf.getInt(pos);
+        int offsetsPos = pos + 4;
+        int bytesPos = offsetsPos + count * 4;
+        String[] strings = new String[count];
+        int start = 0;
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < count; i++) {
+            int end = buf.getInt(offsetsPos + i * 4);
+            int length = end - start;
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            buf.get(bytesPos + start, scratch, 0, length);
+            strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+            start = end;
+        }
+        return strings;
+    }
+
+    private static List<ClimateIssue> readIssues(ByteBuffer buf, int pos, String[] strings) {
+        int count = buf.getInt(pos);
+        pos += 4;
+        IssueType[] types = IssueType.values();
+        IssueUrgency[] urgencies = IssueUrgency.values();
+        List<ClimateIssue> issues = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ClimateIssue issue = new ClimateIssue();
+            issue.setId(string(strings, buf.getInt(pos)));
+            issue.setTitle(string(strings, buf.getInt(pos + 4)));
+            issue.setDescription(string(strings, buf.getInt(pos + 8)));
+            issue.setDetails(string(strings, buf.getInt(pos + 12)));
+            int type = buf.getInt(pos + 16);
+            int urgency = buf.getInt(pos + 20);
+            issue.setType(type == NO_ORDINAL ? null : types[type]);
+            issue.setUrgency(urgency == NO_ORDINAL ? null : urgencies[urgency]);
+            issue.setGlobalImpactScore(buf.getDouble(pos + 24));
+            int subCount = buf.getInt(pos + 32);
+            pos += 36;
+            if (subCount >= 0) {
+                List<SubIssue> subIssues = new ArrayList<>(subCount);
+                for (int s = 0; s < subCount; s++) {
+                    subIssues.add(new SubIssue(string(strings, buf.getInt(pos)),
+                            string(strings, buf.getInt(pos + 4))));
+                    pos += 8;
+                }
+                issue.setSubIssues(subIssues);
+            }
+            issues.add(issue);
+        }
+        return issues;
+    }
+
+    private static List<Solution> readSolutions(ByteBuffer buf, int pos, String[] strings) {
+        int count = buf.getInt(pos);
+        pos += 4;
+        SolutionType[] types = SolutionType.values();
+        List<Solution> solutions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            solutions.add(new Solution(string(strings, buf.getInt(pos)), string(strings, buf.getInt(pos + 4)),
+                    types[buf.getInt(pos + 8)]));
+            pos += 12;
+        }
+        return solutions;
+    }
+
+    private static String string(String[] strings, int id) {
+        return id == NO_STRING ? null : strings[id];
+    }
+
+    // --- Writing ---
+
+    /**
+     * Encode a snapshot and write it to {@code out}. Callers own the stream; pair with
+     * {@link PersistenceService} for an atomic replace of the snapshot file.
+     */
+    public static void writeTo(OutputStream out, long sourceHash, YearlyMetricStore store,
+            Iterable<ClimateIssue> issues, Iterable<Solution> solutions) throws IOException {
+        StringTable strings = new StringTable();
+        int baseYear = store.getBaseYear();
+        int rowCount = store.getCapacity();
+
+        List<Region> regionList = new ArrayList<>();
+        for (int id = 0; id < Region.count(); id++) {
+            Region region = Region.byId(id);
+            for (RegionalMetric metric : RegionalMetric.values()) {
+                if (store.hasRegion(metric, region)) {
+                    regionList.add(region);
+                    break;
+                }
+            }
+        }
+        Region[] regions = regionList.toArray(new Region[0]);
+
+        List<ClimateIssue> issueList = new ArrayList<>();
+        int subIssueTotal = 0;
+        for (ClimateIssue issue : issues) {
+            issueList.add(issue);
+            strings.intern(issue.getId());
+            strings.intern(issue.getTitle());
+            strings.intern(issue.getDescription());
+            strings.intern(issue.getDetails());
+            if (issue.getSubIssues() != null) {
+                for (SubIssue subIssue : issue.getSubIssues()) {
+                    strings.intern(subIssue.getName());
+                    strings.intern(subIssue.getDescription());
+                    subIssueTotal++;
+                }
+            }
+        }
+        List<Solution> solutionList = new ArrayList<>();
+        for (Solution solution : solutions) {
+            solutionList.add(solution);
+            strings.intern(solution.getName());
+            strings.intern(solution.getDescription());
+        }
+        for (Region region : regions) {
+            strings.intern(region.getName());
+        }
+
+        // Encode every series up front so the section sizes are known
+        int columnsSize = align4(rowCount);
+        CompressedFloats[] metricSeries = new CompressedFloats[METRICS.length]; // Null for the count metric
+        CompressedInts countSeries = null;
+        float[] floats = new float[rowCount];
+        for (ClimateMetric metric : METRICS) {
+            if (metric.isCount()) {
+                countSeries = TimeSeriesCodec.encode(Arrays.copyOf(store.countColumn(), rowCount));
+                columnsSize += countSeries.serializedSize();
+            } else {
+                for (int row = 0; row < rowCount; row++) {
+                    floats[row] = store.hasMetric(metric, row) ? store.get(metric, row) : Float.NaN;
+                }
+                metricSeries[metric.ordinal()] = TimeSeriesCodec.encode(floats);
+                columnsSize += metricSeries[metric.ordinal()].serializedSize();
+            }
+        }
+        List<CompressedFloats> regionalSeries = new ArrayList<>();
+        int regionsSize = regions.length * 4;
+        for (RegionalMetric metric : RegionalMetric.values()) {
+            for (Region region : regions) {
+                CompressedFloats encoded = TimeSeriesCodec.encode(store.regionalSeries(metric, region, floats),
+                        0, rowCount);
+                regionalSeries.add(encoded);
+                regionsSize += encoded.serializedSize();
+            }
+        }
+        int stringsOffset = HEADER_SIZE + columnsSize + regionsSize;
+        int issuesOffset = stringsOffset + strings.encodedSize();
+        int solutionsOffset = issuesOffset + 4 + issueList.size() * 36 + subIssueTotal * 8;
+        int totalSize = solutionsOffset + 4 + solutionList.size() * 12;
+
+        ByteBuffer buf = ByteBuffer.allocate(totalSize).order(ByteOrder.LITTLE_ENDIAN);
+        buf.position(HEADER_SIZE);
+        for (int row = 0; row < rowCount; row++) {
+            buf.put((byte) (store.hasYear(baseYear + row) ? 1 : 0));
+        }
+        buf.position(HEADER_SIZE + align4(rowCount));
+        for (ClimateMetric metric : METRICS) {
+            if (metric.isCount()) {
+                countSeries.writeTo(buf);
+            } else {
+                metricSeries[metric.ordinal()].writeTo(buf);
+            }
+        }
+        for (Region region : regions) {
+            buf.putInt(strings.intern(region.getName()));
+        }
+        for (CompressedFloats encoded : regionalSeries) {
+            encoded.writeTo(buf);
+        }
+
+        strings.writeTo(buf);
+
+        buf.putInt(issueList.size());
+        for (ClimateIssue issue : issueList) {
+            buf.putInt(strings.intern(issue.getId()));
+            buf.putInt(strings.intern(issue.getTitle()));
+            buf.putInt(strings.intern(issue.getDescription()));
+            buf.putInt(strings.intern(issue.getDetails()));
+            buf.putInt(issue.getType() != null ? issue.getType().ordinal() : NO_ORDINAL);
+            buf.putInt(issue.getUrgency() != null ? issue.getUrgency().ordinal() : NO_ORDINAL);
+            buf.putDouble(issue.getGlobalImpactScore());
+            List<SubIssue> subIssues = issue.getSubIssues();
+            buf.putInt(subIssues != null ? subIssues.size() : -1);
+            if (subIssues != null) {
+                for (SubIssue subIssue : subIssues) {
+                    buf.putInt(strings.intern(subIssue.getName()));
+                    buf.putInt(strings.intern(subIssue.getDescription()));
+                }
+            }
+        }
+
+        buf.putInt(solutionList.size());
+        for (Solution solution : solutionList) {
+            buf.putInt(strings.intern(solution.getName()));
+            buf.putInt(strings.intern(solution.getDescription()));
+            buf.putInt(solution.getType().ordinal());
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buf.slice(HEADER_SIZE, totalSize - HEADER_SIZE));
+        buf.putInt(OFF_MAGIC, MAGIC);
+        buf.putInt(OFF_VERSION, VERSION);
+        buf.putLong(OFF_SOURCE_HASH, sourceHash);
+        buf.putInt(OFF_CHECKSUM, (int) crc.getValue());
+        buf.putInt(OFF_BASE_YEAR, baseYear);
+        buf.putInt(OFF_ROW_COUNT, rowCount);
+        buf.putInt(OFF_METRIC_COUNT, METRICS.length);
+        buf.putInt(OFF_REGION_COUNT, regions.length);
+        buf.putInt(OFF_STRINGS, stringsOffset);
+        buf.putInt(OFF_ISSUES, issuesOffset);
+        buf.putInt(OFF_SOLUTIONS, solutionsOffset);
+        buf.putInt(OFF_PAYLOAD_LENGTH, totalSize - HEADER_SIZE);
+        out.write(buf.array(), 0, totalSize);
+    }
+
+    private static int align4(int size) {
+        return (size + 3) & ~3;
+    }
+
+    /**
+     * Deduplicating string table; id -1 encodes null
+     */
+    private static class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+        private int byteLength;
+
+        int intern(String value) {
+            if (value == null) {
+                return NO_STRING;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = encoded.size();
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                byteLength += bytes.length;
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        int encodedSize() {
+            return 4 + encoded.size() * 4 + byteLength;
+        }
+
+        void writeTo(ByteBuffer buf) {
+            buf.putInt(encoded.size());
+            int end = 0;
+            for (byte[] bytes : encoded) {
+                end += bytes.length;
+                buf.putInt(end);
+            }
+            for (byte[] bytes : encoded) {
+                buf.put(bytes);
+            }
+        }
+    }
+}
\ No newline at end of file
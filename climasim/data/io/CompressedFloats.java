@@ -0,0 +1,99 @@
+package com.climasim.data.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Immutable float series compressed by {@link TimeSeriesCodec}.
+ *
+ * {@link #get} decodes at most the start of one block; {@link #decodeBlock} and
+ * {@link #decodeAll} first unpack the XOR stream into raw bit patterns and then
+ * convert them in a single straight loop the JIT can vectorize. Bit patterns are
+ * kept exactly, including NaN payloads.
+ */
+public final class CompressedFloats {
+
+    private final int length;
+    private final int[] blockOffsets; // Bit offset of each block in data
+    private final byte[] data;
+
+    CompressedFloats(int length, int[] blockOffsets, byte[] data) {
+        this.length = length;
+        this.blockOffsets = blockOffsets;
+        this.data = data;
+    }
+
+    /**
+     * Read a series written by {@link #writeTo}, advancing {@code buf} past it
+     */
+    public static CompressedFloats readFrom(ByteBuffer buf) {
+        int length = buf.getInt();
+        int[] offsets = TimeSeriesCodec.readOffsets(buf, length);
+        return new CompressedFloats(length, offsets, TimeSeriesCodec.readData(buf));
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int blockCount() {
+        return blockOffsets.length;
+    }
+
+    public float get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + length);
+        }
+        int block = index / TimeSeriesCodec.BLOCK_SIZE;
+        int[] bits = new int[index - block * TimeSeriesCodec.BLOCK_SIZE + 1];
+        TimeSeriesCodec.decodeFloatBits(data, blockOffsets[block], bits.length, bits, 0);
+        return Float.intBitsToFloat(bits[bits.length - 1]);
+    }
+
+    /**
+     * Decode one block into {@code out} at {@code offset}; returns the number of values written
+     */
+    public int decodeBlock(int block, float[] out, int offset) {
+        int count = blockLength(block);
+        int[] bits = new int[count];
+        TimeSeriesCodec.decodeFloatBits(data, blockOffsets[block], count, bits, 0);
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = Float.intBitsToFloat(bits[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Decode the whole series into {@code out}, allocated when null or too small
+     */
+    public float[] decodeAll(float[] out) {
+        float[] values = out != null && out.length >= length ? out : new float[length];
+        int[] bits = new int[length];
+        for (int b = 0; b < blockOffsets.length; b++) {
+            TimeSeriesCodec.decodeFloatBits(data, blockOffsets[b], blockLength(b), bits,
+                    b * TimeSeriesCodec.BLOCK_SIZE);
+        }
+        for (int i = 0; i < length; i++) {
+            values[i] = Float.intBitsToFloat(bits[i]);
+        }
+        return values;
+    }
+
+    private int blockLength(int block) {
+        return Math.min(TimeSeriesCodec.BLOCK_SIZE, length - block * TimeSeriesCodec.BLOCK_SIZE);
+    }
+
+    /**
+     * Size of the compressed payload in bytes
+     */
+    public int compressedSize() {
+        return data.length;
+    }
+
+    public int serializedSize() {
+        return TimeSeriesCodec.serializedSize(blockOffsets, data);
+    }
+
+    public void writeTo(ByteBuffer buf) {
+        TimeSeriesCodec.writeTo(buf, length, blockOffsets, data);
+    }
+}
@@ -0,0 +1,81 @@
+package com.climasim.data.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Immutable int series compressed by {@link TimeSeriesCodec} as delta-of-delta varints
+ */
+public final class CompressedInts {
+
+    private final int length;
+    private final int[] blockOffsets; // Byte offset of each block in data
+    private final byte[] data;
+
+    CompressedInts(int length, int[] blockOffsets, byte[] data) {
+        this.length = length;
+        this.blockOffsets = blockOffsets;
+        this.data = data;
+    }
+
+    /**
+     * Read a series written by {@link #writeTo}, advancing {@code buf} past it
+     */
+    public static CompressedInts readFrom(ByteBuffer buf) {
+        int length = buf.getInt();
+        int[] offsets = TimeSeriesCodec.readOffsets(buf, length);
+        return new CompressedInts(length, offsets, TimeSeriesCodec.readData(buf));
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int blockCount() {
+        return blockOffsets.length;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + length);
+        }
+        int block = index / TimeSeriesCodec.BLOCK_SIZE;
+        int[] values = new int[index - block * TimeSeriesCodec.BLOCK_SIZE + 1];
+        TimeSeriesCodec.decodeInts(data, blockOffsets[block], values.length, values, 0);
+        return values[values.length - 1];
+    }
+
+    /**
+     * Decode one block into {@code out} at {@code offset}; returns the number of values written
+     */
+    public int decodeBlock(int block, int[] out, int offset) {
+        int count = Math.min(TimeSeriesCodec.BLOCK_SIZE, length - block * TimeSeriesCodec.BLOCK_SIZE);
+        TimeSeriesCodec.decodeInts(data, blockOffsets[block], count, out, offset);
+        return count;
+    }
+
+    /**
+     * Decode the whole series into {@code out}, allocated when null or too small
+     */
+    public int[] decodeAll(int[] out) {
+        int[] values = out != null && out.length >= length ? out : new int[length];
+        for (int b = 0; b < blockOffsets.length; b++) {
+            decodeBlock(b, values, b * TimeSeriesCodec.BLOCK_SIZE);
+        }
+        return values;
+    }
+
+    /**
+     * Size of the compressed payload in bytes
+     */
+    public int compressedSize() {
+        return data.length;
+    }
+
+    public int serializedSize() {
+        return TimeSeriesCodec.serializedSize(blockOffsets, data);
+    }
+
+    public void writeTo(ByteBuffer buf) {
+        TimeSeriesCodec.writeTo(buf, length, blockOffsets, data);
+    }
+}
@@ -0,0 +1,165 @@
+package com.climasim.data.io;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background writer for files in the data directory.
+ *
+ * Saves run on a single daemon thread, so callers never wait for disk. Each file is
+ * written to a temporary sibling and renamed over the target, so a crash mid-write
+ * leaves the previous version in place instead of a truncated file. Requests for the
+ * same file are coalesced: while a save is queued, newer requests replace its content
+ * and only the latest one is written. With {@code fsync} enabled the data is forced to
+ * disk before the rename, trading save latency for durability across power loss.
+ */
+public class PersistenceService {
+
+    /**
+     * Streams a file's content. Runs on the persistence thread, so it should read from
+     * data that is no longer being modified.
+     */
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private final Path directory;
+    private final boolean fsync;
+    private final ExecutorService executor;
+
+    // Latest unwritten save per file name; an entry means a save is queued
+    private final ConcurrentHashMap<String, Save> pending = new ConcurrentHashMap<>();
+
+    private static final class Save {
+        final Content content;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Save(Content content) {
+            this.content = content;
+        }
+    }
+
+    public PersistenceService(Path directory, boolean fsync) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "climasim-persistence");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public Path resolve(String fileName) {
+        return directory.resolve(fileName);
+    }
+
+    /**
+     * Queue a save of {@code fileName}. If a save of the same file is still queued, its
+     * content is replaced and no second write is scheduled. The future completes once
+     * the file written in its place is in place, or with the write's failure.
+     */
+    public CompletableFuture<Void> save(String fileName, Content content) {
+        Save save = new Save(content);
+        Save replaced = pending.put(fileName, save);
+        if (replaced == null) {
+            executor.execute(() -> drain(fileName));
+        } else {
+            save.done.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    replaced.done.completeExceptionally(error);
+                } else {
+                    replaced.done.complete(null);
+                }
+            });
+        }
+        return save.done;
+    }
+
+    private void drain(String fileName) {
+        Save save = pending.remove(fileName);
+        if (save == null) {
+            return;
+        }
+        Path target = resolve(fileName);
+        long started = System.nanoTime();
+        try {
+            writeAtomically(target, save.content, fsync);
+            System.out.println("Saved " + target + " in "
+                    + String.format("%.1f ms", (System.nanoTime() - started) / 1e6));
+            save.done.complete(null);
+        } catch (Exception e) {
+            System.err.println("Failed to save " + target + ": " + e.getMessage());
+            save.done.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Write {@code content} to a temporary file next to {@code file} and move it into
+     * place, so readers see either the old file or the complete new one
+     */
+    public static void writeAtomically(Path file, Content content, boolean fsync) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+                OutputStream buffered = new BufferedOutputStream(new FilterOutputStream(out) {
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        flush(); // Writers may close the stream; the file is closed below
+                    }
+                }, 64 * 1024);
+                content.writeTo(buffered);
+                buffered.flush();
+                if (fsync) {
+                    out.getFD().sync();
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (fsync) {
+                syncDirectory(dir);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Persist the rename itself. Not every platform can open a directory, in which case
+     * the rename is left to the file system's own ordering.
+     */
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for sync on this platform
+        }
+    }
+}
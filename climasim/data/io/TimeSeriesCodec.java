@@ -0,0 +1,292 @@
+package com.climasim.data.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Block compression for smooth numeric time series.
+ *
+ * Floats use Gorilla-style XOR coding: each value is XORed with the previous one and
+ * only the meaningful bits of the result are written, reusing the previous leading /
+ * trailing zero window when it still fits. Ints are written as zigzag varints of the
+ * delta-of-delta, which is zero for any linear stretch. Series are cut into blocks of
+ * {@link #BLOCK_SIZE} values that each start from a raw value, so a single value or
+ * block decodes without touching the rest of the series.
+ *
+ * Encoded series serialize as: length, block count, block offsets, data length, data.
+ */
+public final class TimeSeriesCodec {
+
+    public static final int BLOCK_SIZE = 128;
+
+    private TimeSeriesCodec() {
+    }
+
+    public static CompressedFloats encode(float[] values) {
+        return encode(values, 0, values.length);
+    }
+
+    public static CompressedFloats encode(float[] values, int from, int length) {
+        int blocks = blockCount(length);
+        int[] offsets = new int[blocks];
+        BitWriter out = new BitWriter(Math.max(16, length));
+        for (int b = 0; b < blocks; b++) {
+            offsets[b] = (int) out.bitLength();
+            int start = from + b * BLOCK_SIZE;
+            int end = from + Math.min(length, (b + 1) * BLOCK_SIZE);
+            int previous = Float.floatToRawIntBits(values[start]);
+            out.write(previous, 32);
+            int previousLeading = -1;
+            int previousTrailing = 0;
+            for (int i = start + 1; i < end; i++) {
+                int bits = Float.floatToRawIntBits(values[i]);
+                int xor = bits ^ previous;
+                previous = bits;
+                if (xor == 0) {
+                    out.write(0, 1);
+                    continue;
+                }
+                int leading = Math.min(31, Integer.numberOfLeadingZeros(xor));
+                int trailing = Integer.numberOfTrailingZeros(xor);
+                if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    out.write(0b10, 2);
+                    out.write(xor >>> previousTrailing, 32 - previousLeading - previousTrailing);
+                } else {
+                    int meaningful = 32 - leading - trailing;
+                    out.write(0b11, 2);
+                    out.write(leading, 5);
+                    out.write(meaningful - 1, 5);
+                    out.write(xor >>> trailing, meaningful);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+        }
+        return new CompressedFloats(length, offsets, out.toByteArray());
+    }
+
+    public static CompressedInts encode(int[] values) {
+        return encode(values, 0, values.length);
+    }
+
+    public static CompressedInts encode(int[] values, int from, int length) {
+        int blocks = blockCount(length);
+        int[] offsets = new int[blocks];
+        ByteWriter out = new ByteWriter(Math.max(16, length));
+        for (int b = 0; b < blocks; b++) {
+            offsets[b] = out.length();
+            int start = from + b * BLOCK_SIZE;
+            int end = from + Math.min(length, (b + 1) * BLOCK_SIZE);
+            long previous = values[start];
+            long previousDelta = 0;
+            out.writeVarLong(zigzag(previous));
+            for (int i = start + 1; i < end; i++) {
+                long delta = values[i] - previous;
+                out.writeVarLong(zigzag(delta - previousDelta));
+                previous = values[i];
+                previousDelta = delta;
+            }
+        }
+        return new CompressedInts(length, offsets, out.toByteArray());
+    }
+
+    static int blockCount(int length) {
+        return (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Decode the XOR stream of one block into raw float bit patterns. Kept separate from
+     * the bits-to-float conversion so that conversion is one branch-free loop over the
+     * whole output.
+     */
+    static void decodeFloatBits(byte[] data, int bitOffset, int count, int[] out, int outOffset) {
+        BitReader in = new BitReader(data, bitOffset);
+        int value = in.read(32);
+        out[outOffset] = value;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            if (in.read(1) != 0) {
+                if (in.read(1) != 0) {
+                    leading = in.read(5);
+                    trailing = 32 - leading - (in.read(5) + 1);
+                }
+                value ^= in.read(32 - leading - trailing) << trailing;
+            }
+            out[outOffset + i] = value;
+        }
+    }
+
+    /**
+     * Decode one int block. Returns the position after the block.
+     */
+    static int decodeInts(byte[] data, int offset, int count, int[] out, int outOffset) {
+        ByteReader in = new ByteReader(data, offset);
+        long value = unzigzag(in.readVarLong());
+        long delta = 0;
+        out[outOffset] = (int) value;
+        for (int i = 1; i < count; i++) {
+            delta += unzigzag(in.readVarLong());
+            value += delta;
+            out[outOffset + i] = (int) value;
+        }
+        return in.position();
+    }
+
+    static int serializedSize(int[] offsets, byte[] data) {
+        return 4 + 4 + offsets.length * 4 + 4 + data.length;
+    }
+
+    static void writeTo(ByteBuffer buf, int length, int[] offsets, byte[] data) {
+        buf.putInt(length);
+        buf.putInt(offsets.length);
+        for (int offset : offsets) {
+            buf.putInt(offset);
+        }
+        buf.putInt(data.length);
+        buf.put(data);
+    }
+
+    static int[] readOffsets(ByteBuffer buf, int length) {
+        int blocks = buf.getInt();
+        if (length < 0 || blocks != blockCount(length)) {
+            throw new IllegalArgumentException("Corrupt series header: length " + length + ", blocks " + blocks);
+        }
+        int[] offsets = new int[blocks];
+        for (int b = 0; b < blocks; b++) {
+            offsets[b] = buf.getInt();
+        }
+        return offsets;
+    }
+
+    static byte[] readData(ByteBuffer buf) {
+        byte[] data = new byte[buf.getInt()];
+        buf.get(data);
+        return data;
+    }
+
+    // --- Bit and byte streams ---
+
+    private static final class BitWriter {
+        private byte[] bytes;
+        private long bitLength;
+
+        BitWriter(int expectedValues) {
+            bytes = new byte[expectedValues];
+        }
+
+        /**
+         * Append the low {@code count} bits of {@code value}, most significant first
+         */
+        void write(int value, int count) {
+            for (int remaining = count; remaining > 0;) {
+                int byteIndex = (int) (bitLength >>> 3);
+                if (byteIndex >= bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+                int free = 8 - (int) (bitLength & 7);
+                int take = Math.min(free, remaining);
+                int chunk = (value >>> (remaining - take)) & ((1 << take) - 1);
+                bytes[byteIndex] |= (byte) (chunk << (free - take));
+                remaining -= take;
+                bitLength += take;
+            }
+        }
+
+        long bitLength() {
+            return bitLength;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, (int) ((bitLength + 7) >>> 3));
+        }
+    }
+
+    private static final class BitReader {
+        private final byte[] bytes;
+        private long position;
+
+        BitReader(byte[] bytes, long position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int read(int count) {
+            int value = 0;
+            for (int remaining = count; remaining > 0;) {
+                int available = 8 - (int) (position & 7);
+                int take = Math.min(available, remaining);
+                int current = bytes[(int) (position >>> 3)] & 0xFF;
+                int chunk = (current >>> (available - take)) & ((1 << take) - 1);
+                value = (value << take) | chunk;
+                remaining -= take;
+                position += take;
+            }
+            return value;
+        }
+    }
+
+    private static final class ByteWriter {
+        private byte[] bytes;
+        private int length;
+
+        ByteWriter(int expectedValues) {
+            bytes = new byte[expectedValues];
+        }
+
+        void writeVarLong(long value) {
+            while (true) {
+                if (length == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+                if ((value & ~0x7FL) == 0) {
+                    bytes[length++] = (byte) value;
+                    return;
+                }
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+        }
+
+        int length() {
+            return length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    private static final class ByteReader {
+        private final byte[] bytes;
+        private int position;
+
+        ByteReader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0;; shift += 7) {
+                byte b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        int position() {
+            return position;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.climasim.data.io;
+
+import com.climasim.data.models.ClimateMetric;
+import com.climasim.data.models.Region;
+import com.climasim.data.models.RegionalMetric;
+import com.climasim.data.store.YearlyMetricStore;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Streaming loader for the yearly climate JSON file.
+ *
+ * Walks the token stream once and writes each metric straight into the columns of
+ * a {@link YearlyMetricStore}, so no intermediate object tree is built. Fields the
+ * store does not need are skipped: the per-year {@code summary} strings are left
+ * for {@code YearlyClimateData.getSummary()} to regenerate on demand, and the
+ * duplicated {@code globalTemperatureAnomaly} key lands in the same column as
+ * {@code temperatureAnomaly}. Regional maps are read straight into region-id
+ * indexed rows, registering unseen region names as they appear. A {@code null}
+ * value is read as an absent field and leaves its metric or region unset.
+ */
+public class YearlyClimateJsonLoader {
+
+    /**
+     * Receives loading progress. {@code totalBytes} is -1 when the size is unknown.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long bytesRead, long totalBytes, int yearsLoaded);
+    }
+
+    private static final int PROGRESS_INTERVAL_YEARS = 16;
+
+    private final JsonFactory jsonFactory;
+
+    public YearlyClimateJsonLoader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Load every year in the stream into {@code target}, returning the number of years read
+     */
+    public int load(InputStream in, long totalBytes, YearlyMetricStore target, ProgressListener listener)
+            throws IOException {
+        int yearsLoaded = 0;
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an object keyed by year");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                int keyYear = parseYearKey(parser);
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                readYear(parser, keyYear, target);
+                yearsLoaded++;
+                if (listener != null && yearsLoaded % PROGRESS_INTERVAL_YEARS == 0) {
+                    listener.onProgress(parser.getCurrentLocation().getByteOffset(), totalBytes, yearsLoaded);
+                }
+            }
+            if (listener != null) {
+                listener.onProgress(totalBytes >= 0 ? totalBytes : parser.getCurrentLocation().getByteOffset(),
+                        totalBytes, yearsLoaded);
+            }
+        }
+        return yearsLoaded;
+    }
+
+    private int parseYearKey(JsonParser parser) throws IOException {
+        String key = parser.getCurrentName();
+        try {
+            return Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            throw new JsonParseException(parser, "Invalid year key: " + key);
+        }
+    }
+
+    /**
+     * Read one year object. Metric values are buffered until the object ends because
+     * the explicit {@code year} field may appear after them. Metrics the object does
+     * not hold are left unset in the store.
+     */
+    private void readYear(JsonParser parser, int keyYear, YearlyMetricStore target) throws IOException {
+        int year = keyYear;
+        float[] values = newMissingRow(ClimateMetric.values().length);
+        float[] regionalTemperatures = null;
+        float[] regionalPrecipitation = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue; // Same as an absent field
+            }
+            switch (field) {
+                case "year":
+                    year = parser.getIntValue();
+                    break;
+                case "globalTemperature":
+                    values[ClimateMetric.GLOBAL_TEMPERATURE.ordinal()] = parser.getFloatValue();
+                    break;
+                case "temperatureAnomaly":
+                case "globalTemperatureAnomaly":
+                    values[ClimateMetric.TEMPERATURE_ANOMALY.ordinal()] = parser.getFloatValue();
+                    break;
+                case "co2Level":
+                    values[ClimateMetric.CO2_LEVEL.ordinal()] = parser.getFloatValue();
+                    break;
+                case "seaLevelChange":
+                    values[ClimateMetric.SEA_LEVEL_CHANGE.ordinal()] = parser.getFloatValue();
+                    break;
+                case "arcticIceExtent":
+                    values[ClimateMetric.ARCTIC_ICE_EXTENT.ordinal()] = parser.getFloatValue();
+                    break;
+                case "oceanPH":
+                    values[ClimateMetric.OCEAN_PH.ordinal()] = parser.getFloatValue();
+                    break;
+                case "globalForestCover":
+                    values[ClimateMetric.GLOBAL_FOREST_COVER.ordinal()] = parser.getFloatValue();
+                    break;
+                case "extremeWeatherEvents":
+                    values[ClimateMetric.EXTREME_WEATHER_EVENTS.ordinal()] = parser.getIntValue();
+                    break;
+                case "regionalTemperatures":
+                    regionalTemperatures = readRegionalRow(parser);
+                    break;
+                case "regionalPrecipitation":
+                    regionalPrecipitation = readRegionalRow(parser);
+                    break;
+                default:
+                    // summary, majorIssues, solutions and anything unknown
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    }
+                    break;
+            }
+        }
+
+        target.addYear(year);
+        int row = target.rowOf(year);
+        for (ClimateMetric metric : ClimateMetric.values()) {
+            if (!Float.isNaN(values[metric.ordinal()])) {
+                target.set(metric, row, values[metric.ordinal()]);
+            }
+        }
+        if (regionalTemperatures != null) {
+            target.setRegionalRow(RegionalMetric.TEMPERATURE, row, regionalTemperatures);
+        }
+        if (regionalPrecipitation != null) {
+            target.setRegionalRow(RegionalMetric.PRECIPITATION, row, regionalPrecipitation);
+        }
+    }
+
+    /**
+     * Read a region-name keyed object into a row indexed by region id, NaN where missing
+     */
+    private float[] readRegionalRow(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        float[] values = newMissingRow(Region.count());
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            int id = Region.of(name).getId();
+            if (id >= values.length) {
+                int oldLength = values.length;
+                values = Arrays.copyOf(values, Math.max(id + 1, Region.count()));
+                Arrays.fill(values, oldLength, values.length, Float.NaN);
+            }
+            values[id] = parser.getFloatValue();
+        }
+        return values;
+    }
+
+    /**
+     * Row of NaN, which marks values not read
+     */
+    private static float[] newMissingRow(int length) {
+        float[] values = new float[length];
+        Arrays.fill(values, Float.NaN);
+        return values;
+    }
+}
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.climasim.data.models;
 
+import com.climasim.data.store.IssueSeriesStore;
+
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Represents a major climate issue with geographic location and timeline data
@@ -19,6 +22,10 @@ public class ClimateIssue {
     private IssueUrgency urgency;
     private double globalImpactScore; // 0-10 scale
 
+    // Dense columns replacing yearlyData in copies owned by a loaded generation
+    private IssueSeriesStore series;
+    private int seriesRow = -1;
+
     // Default constructor for JSON deserialization
     public ClimateIssue() {
     }
@@ -104,12 +111,49 @@ public class ClimateIssue {
         this.affectedRegions = affectedRegions;
     }
 
+    /**
+     * Year to data map. For a copy backed by an {@link IssueSeriesStore} this is rebuilt
+     * from the store on every call; prefer the per-year accessors.
+     */
     public Map<Integer, IssueData> getYearlyData() {
-        return yearlyData;
+        if (series == null) {
+            return yearlyData;
+        }
+        Map<Integer, IssueData> data = new TreeMap<>();
+        for (int year = series.getBaseYear(); year < series.getBaseYear() + series.getYearSpan(); year++) {
+            IssueData issueData = series.toIssueData(seriesRow, year);
+            if (issueData != null) {
+                data.put(year, issueData);
+            }
+        }
+        return data.isEmpty() ? null : data;
     }
 
     public void setYearlyData(Map<Integer, IssueData> yearlyData) {
         this.yearlyData = yearlyData;
+        this.series = null;
+        this.seriesRow = -1;
+    }
+
+    public boolean hasYearlyData() {
+        return series != null ? series.hasRow(seriesRow) : yearlyData != null;
+    }
+
+    /**
+     * Shallow copy of this issue that serves its yearly data from a store row instead
+     * of a per-year map. This issue is left unchanged.
+     */
+    public ClimateIssue withSeries(IssueSeriesStore series, int row) {
+        ClimateIssue copy = new ClimateIssue(id, title, type, primaryLocation);
+        copy.description = description;
+        copy.details = details;
+        copy.affectedRegions = affectedRegions;
+        copy.subIssues = subIssues;
+        copy.urgency = urgency;
+        copy.globalImpactScore = globalImpactScore;
+        copy.series = series;
+        copy.seriesRow = row;
+        return copy;
     }
 
     public List<SubIssue> getSubIssues() {
@@ -137,13 +181,68 @@ public class ClimateIssue {
     }
 
     // Helper methods
+
+    /**
+     * Data for the year, or null. For a copy backed by an {@link IssueSeriesStore} this
+     * is a new standalone object on every call; prefer the per-year accessors below.
+     */
     public IssueData getDataForYear(int year) {
+        if (series != null) {
+            return series.toIssueData(seriesRow, year);
+        }
         return yearlyData != null ? yearlyData.get(year) : null;
     }
 
-    public boolean isActiveInYear(int year) {
+    /**
+     * Severity for the year, or NaN when there is no data for it
+     */
+    public double getSeverityForYear(int year) {
+        if (series != null) {
+            return series.getSeverity(seriesRow, year);
+        }
+        IssueData data = getDataForYear(year);
+        return data != null ? data.getSeverity() : Double.NaN;
+    }
+
+    /**
+     * Trend for the year, or NaN when there is no data for it
+     */
+    public double getTrendForYear(int year) {
+        if (series != null) {
+            return series.getTrend(seriesRow, year);
+        }
         IssueData data = getDataForYear(year);
-        return data != null && data.getSeverity() > 0;
+        return data != null ? data.getTrend() : Double.NaN;
+    }
+
+    /**
+     * Economic impact for the year in billions of USD, or NaN when there is no data for it
+     */
+    public double getEconomicImpactForYear(int year) {
+        if (series != null) {
+            return series.getEconomicImpact(seriesRow, year);
+        }
+        IssueData data = getDataForYear(year);
+        return data != null ? data.getEconomicImpact() : Double.NaN;
+    }
+
+    /**
+     * Affected population for the year, or 0 when there is no data for it
+     */
+    public int getAffectedPopulationForYear(int year) {
+        if (series != null) {
+            return series.getAffectedPopulation(seriesRow, year);
+        }
+        IssueData data = getDataForYear(year);
+        return data != null ? data.getAffectedPopulation() : 0;
+    }
+
+    public boolean hasDataForYear(int year) {
+        return series != null ? series.has(seriesRow, year) : getDataForYear(year) != null;
+    }
+
+    public boolean isActiveInYear(int year) {
+        return getSeverityForYear(year) > 0;
     }
 
     @Override
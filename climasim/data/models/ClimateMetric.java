@@ -0,0 +1,38 @@
+package com.climasim.data.models;
+
+/**
+ * Global yearly climate metrics, one column per metric in the yearly store
+ */
+public enum ClimateMetric {
+    GLOBAL_TEMPERATURE("Global Temperature", "°C"),
+    TEMPERATURE_ANOMALY("Temperature Anomaly", "°C"),
+    CO2_LEVEL("CO2 Concentration", "ppm"),
+    SEA_LEVEL_CHANGE("Sea Level Change", "mm"),
+    ARCTIC_ICE_EXTENT("Arctic Ice Extent", "million km²"),
+    OCEAN_PH("Ocean pH", "pH"),
+    GLOBAL_FOREST_COVER("Global Forest Cover", "%"),
+    EXTREME_WEATHER_EVENTS("Extreme Weather Events", "events");
+
+    private final String displayName;
+    private final String unit;
+
+    ClimateMetric(String displayName, String unit) {
+        this.displayName = displayName;
+        this.unit = unit;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Count metrics are stored as whole numbers rather than floats
+     */
+    public boolean isCount() {
+        return this == EXTREME_WEATHER_EVENTS;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.climasim.data.models;
+
+import java.util.Arrays;
+
+/**
+ * Reusable holder for the global metrics at a possibly fractional year.
+ *
+ * Filled in place by {@code DataManager.getClimateDataAt}, so per-frame callers keep
+ * one instance and read it without allocating.
+ */
+public final class ClimateSample {
+
+    private final float[] values = new float[ClimateMetric.values().length];
+    private float year = Float.NaN;
+
+    public ClimateSample() {
+        Arrays.fill(values, Float.NaN);
+    }
+
+    /**
+     * Year the values describe; requests outside the data range are clamped to it
+     */
+    public float getYear() {
+        return year;
+    }
+
+    public void setYear(float year) {
+        this.year = year;
+    }
+
+    /**
+     * Value of a metric, or NaN when no data is loaded
+     */
+    public float get(ClimateMetric metric) {
+        return values[metric.ordinal()];
+    }
+
+    public void set(ClimateMetric metric, float value) {
+        values[metric.ordinal()] = value;
+    }
+
+    public void clear() {
+        Arrays.fill(values, Float.NaN);
+        year = Float.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return "ClimateSample{" +
+                "year=" + year +
+                ", values=" + Arrays.toString(values) +
+                '}';
+    }
+}
\ No newline at end of file
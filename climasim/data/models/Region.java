@@ -0,0 +1,101 @@
+package com.climasim.data.models;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned geographic region with a dense integer id.
+ *
+ * Region ids index the region dimension of the yearly store's regional matrices,
+ * so a region is registered once by name and afterwards looked up without hashing
+ * or boxing. Ids are assigned in registration order and are stable for the life of
+ * the process; they are not persisted, files refer to regions by name.
+ */
+public final class Region {
+
+    private static final Map<String, Region> BY_NAME = new ConcurrentHashMap<>();
+    private static volatile Region[] byId = new Region[0];
+
+    public static final Region ARCTIC = of("Arctic");
+    public static final Region NORTH_AMERICA = of("North America");
+    public static final Region EUROPE = of("Europe");
+    public static final Region ASIA = of("Asia");
+    public static final Region AFRICA = of("Africa");
+    public static final Region SOUTH_AMERICA = of("South America");
+    public static final Region AUSTRALIA = of("Australia");
+    public static final Region ANTARCTICA = of("Antarctica");
+    public static final Region PACIFIC_ISLANDS = of("Pacific Islands");
+
+    private static final List<Region> CONTINENTAL = Collections.unmodifiableList(Arrays.asList(
+            ARCTIC, NORTH_AMERICA, EUROPE, ASIA, AFRICA, SOUTH_AMERICA, AUSTRALIA, ANTARCTICA, PACIFIC_ISLANDS));
+
+    private final int id;
+    private final String name;
+
+    private Region(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Region with the given name, registering it on first use
+     */
+    public static Region of(String name) {
+        Region region = BY_NAME.get(name);
+        return region != null ? region : register(name);
+    }
+
+    private static synchronized Region register(String name) {
+        Region region = BY_NAME.get(name);
+        if (region == null) {
+            Region[] current = byId;
+            region = new Region(current.length, name);
+            Region[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[region.id] = region;
+            byId = grown;
+            BY_NAME.put(name, region);
+        }
+        return region;
+    }
+
+    /**
+     * Registered region with the given name, or null without registering it
+     */
+    public static Region find(String name) {
+        return name != null ? BY_NAME.get(name) : null;
+    }
+
+    public static Region byId(int id) {
+        return byId[id];
+    }
+
+    /**
+     * Number of registered regions; every id is below this value
+     */
+    public static int count() {
+        return byId.length;
+    }
+
+    /**
+     * The nine continental regions used by the generated data
+     */
+    public static List<Region> continental() {
+        return CONTINENTAL;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.climasim.data.models;
+
+/**
+ * Per-region yearly metrics, one [year][region] matrix per metric in the yearly store
+ */
+public enum RegionalMetric {
+    TEMPERATURE("Regional Temperature", "°C"),
+    PRECIPITATION("Regional Precipitation", "mm");
+
+    private final String displayName;
+    private final String unit;
+
+    RegionalMetric(String displayName, String unit) {
+        this.displayName = displayName;
+        this.unit = unit;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+}
\ No newline at end of file
@@ -1,12 +1,21 @@
 package com.climasim.data.models;
 
+import com.climasim.data.store.SubIssueProjections;
+
+import java.util.Arrays;
 import java.util.List;
-import java.util.ArrayList;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.Objects;
+import java.util.TreeMap;
 
 /**
- * Represents a sub-issue of a major climate issue with detailed information
+ * Represents a sub-issue of a major climate issue with detailed information.
+ *
+ * Causes, consequences, indicators and related solutions start out as the shared,
+ * immutable lists of the sub-issue's {@link SubIssueCategory}; replace them through
+ * the setters rather than modifying them. Projections are kept as a {@code double[]}
+ * over the {@link SubIssueProjections} year axis; values set for other years are kept
+ * beside it.
  */
 public class SubIssue {
     private String id;
@@ -17,7 +26,8 @@ public class SubIssue {
     private String affectedRegions;
     private List<String> causes;
     private List<String> consequences;
-    private Map<Integer, Double> projectedData; // Year -> projected value
+    private double[] projection; // Indexed by SubIssueProjections point, NaN where unknown
+    private Map<Integer, Double> offAxisProjection; // Years off the axis, null when there are none
     private List<String> indicators; // Measurable indicators
     private String unit; // Unit of measurement
     private double currentValue;
@@ -28,12 +38,7 @@ public class SubIssue {
     public SubIssue(String name, String description) {
         this.name = name;
         this.description = description;
-        this.causes = new ArrayList<>();
-        this.consequences = new ArrayList<>();
-        this.projectedData = new HashMap<>();
-        this.indicators = new ArrayList<>();
-        this.relatedSolutions = new ArrayList<>();
-        generateDetailedInfo();
+        applyCategory(SubIssueCategory.classify(name));
     }
 
     public SubIssue(String id, String name, String description, String category, float severity) {
@@ -42,139 +47,25 @@ public class SubIssue {
         this.description = description;
         this.category = category;
         this.severity = Math.max(0.0f, Math.min(1.0f, severity));
-        this.causes = new ArrayList<>();
-        this.consequences = new ArrayList<>();
-        this.projectedData = new HashMap<>();
-        this.indicators = new ArrayList<>();
-        this.relatedSolutions = new ArrayList<>();
-        generateDetailedInfo();
-    }
-
-    private void generateDetailedInfo() {
-        // Automatically categorize and generate details based on the name
-        String lowerName = name.toLowerCase();
-
-        if (lowerName.contains("temperature") || lowerName.contains("heat")) {
-            category = "Temperature";
-            unit = "°C increase";
-            currentValue = 1.1; // Current global temperature increase
-            targetValue = 1.5; // Paris Agreement target
-            timeframe = 10;
-            severity = 0.8f;
-
-            causes.add("Greenhouse gas emissions");
-            causes.add("Fossil fuel combustion");
-            causes.add("Deforestation");
-            causes.add("Industrial processes");
-
-            consequences.add("Extreme weather events");
-            consequences.add("Ecosystem disruption");
-            consequences.add("Agricultural impacts");
-            consequences.add("Human health risks");
-
-            indicators.add("Global average temperature");
-            indicators.add("Heat wave frequency");
-            indicators.add("Urban heat island effect");
-
-        } else if (lowerName.contains("sea level") || lowerName.contains("ocean")) {
-            category = "Sea Level";
-            unit = "cm rise";
-            currentValue = 21.0; // Current sea level rise since 1880
-            targetValue = 30.0; // Manageable rise by 2100
-            timeframe = 80;
-            severity = 0.7f;
-
-            causes.add("Thermal expansion of seawater");
-            causes.add("Melting glaciers and ice sheets");
-            causes.add("Polar ice cap melting");
-
-            consequences.add("Coastal flooding");
-            consequences.add("Saltwater intrusion");
-            consequences.add("Habitat loss");
-            consequences.add("Population displacement");
-
-        } else if (lowerName.contains("ice") || lowerName.contains("arctic")) {
-            category = "Polar Ice";
-            unit = "million km² loss";
-            currentValue = 13.0; // Current Arctic sea ice extent
-            targetValue = 15.0; // Historical stable level
-            timeframe = 50;
-            severity = 0.9f;
-
-            causes.add("Rising temperatures");
-            causes.add("Ocean warming");
-            causes.add("Black carbon deposits");
-
-            consequences.add("Albedo effect reduction");
-            consequences.add("Polar bear habitat loss");
-            consequences.add("Ocean current changes");
-            consequences.add("Accelerated warming");
-
-        } else if (lowerName.contains("biodiversity") || lowerName.contains("species")) {
-            category = "Biodiversity";
-            unit = "species extinction rate";
-            currentValue = 1000.0; // Current extinction rate (times natural rate)
-            targetValue = 10.0; // Target sustainable rate
-            timeframe = 30;
-            severity = 0.85f;
-
-            causes.add("Habitat destruction");
-            causes.add("Climate change");
-            causes.add("Pollution");
-            causes.add("Invasive species");
-
-            consequences.add("Ecosystem collapse");
-            consequences.add("Food chain disruption");
-            consequences.add("Loss of genetic diversity");
-            consequences.add("Reduced ecosystem services");
-
-        } else if (lowerName.contains("weather") || lowerName.contains("storm")) {
-            category = "Weather Patterns";
-            unit = "extreme events per year";
-            currentValue = 120.0; // Current extreme weather events
-            targetValue = 80.0; // Historical average
-            timeframe = 20;
-            severity = 0.75f;
-
-            causes.add("Disrupted jet stream");
-            causes.add("Increased ocean temperatures");
-            causes.add("Atmospheric moisture changes");
-
-            consequences.add("Property damage");
-            consequences.add("Agricultural losses");
-            consequences.add("Human casualties");
-            consequences.add("Infrastructure damage");
-
-        } else {
-            // Default values for general sub-issues
-            category = "General";
-            unit = "impact index";
-            currentValue = 5.0;
-            targetValue = 2.0;
-            timeframe = 25;
-            severity = 0.6f;
-
-            causes.add("Human activities");
-            causes.add("Industrial processes");
-            causes.add("Resource consumption");
-
-            consequences.add("Environmental degradation");
-            consequences.add("Social impacts");
-            consequences.add("Economic costs");
-        }
-
-        // Generate projected data
-        for (int year = 2025; year <= 2050; year += 5) {
-            double projection = currentValue + (year - 2025) * (targetValue - currentValue) / timeframe;
-            projectedData.put(year, projection);
-        }
-
-        affectedRegions = "Global with regional variations";
-
-        // Add some common related solutions
-        relatedSolutions.add("Renewable Energy Transition");
-        relatedSolutions.add("Carbon Pricing");
-        relatedSolutions.add("International Cooperation");
+        applyCategory(SubIssueCategory.classify(name));
+    }
+
+    /**
+     * Take the category's defaults and project from them
+     */
+    private void applyCategory(SubIssueCategory template) {
+        category = template.getDisplayName();
+        unit = template.getUnit();
+        currentValue = template.getCurrentValue();
+        targetValue = template.getTargetValue();
+        timeframe = template.getTimeframe();
+        severity = template.getSeverity();
+        causes = template.getCauses();
+        consequences = template.getConsequences();
+        indicators = template.getIndicators();
+        affectedRegions = SubIssueCategory.DEFAULT_AFFECTED_REGIONS;
+        relatedSolutions = SubIssueCategory.COMMON_SOLUTIONS;
+        projection = SubIssueProjections.project(currentValue, targetValue, timeframe, null);
     }
 
     // Getters and setters
@@ -226,6 +117,9 @@ public class SubIssue {
         this.affectedRegions = affectedRegions;
     }
 
+    /**
+     * Causes of the sub-issue. Unless replaced, this is the category's shared immutable list.
+     */
     public List<String> getCauses() {
         return causes;
     }
@@ -234,6 +128,9 @@ public class SubIssue {
         this.causes = causes;
     }
 
+    /**
+     * Consequences of the sub-issue. Unless replaced, this is the category's shared immutable list.
+     */
     public List<String> getConsequences() {
         return consequences;
     }
@@ -242,14 +139,83 @@ public class SubIssue {
         this.consequences = consequences;
     }
 
+    /**
+     * Year to projected value in year order, built from {@link #getProjection()} and any
+     * off-axis years on every call
+     */
     public Map<Integer, Double> getProjectedData() {
+        Map<Integer, Double> projectedData = new TreeMap<>();
+        for (int point = 0; point < projection.length; point++) {
+            if (!Double.isNaN(projection[point])) {
+                projectedData.put(SubIssueProjections.yearOf(point), projection[point]);
+            }
+        }
+        if (offAxisProjection != null) {
+            projectedData.putAll(offAxisProjection);
+        }
         return projectedData;
     }
 
+    /**
+     * Replace the projection. Years on the projection axis go into the array and other
+     * years are kept beside it; null values are left unknown and a null map clears the
+     * projection.
+     */
     public void setProjectedData(Map<Integer, Double> projectedData) {
-        this.projectedData = projectedData;
+        double[] values = new double[SubIssueProjections.POINTS];
+        Arrays.fill(values, Double.NaN);
+        Map<Integer, Double> offAxis = null;
+        if (projectedData != null) {
+            for (Map.Entry<Integer, Double> entry : projectedData.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    continue;
+                }
+                int point = SubIssueProjections.pointOf(entry.getKey());
+                if (point >= 0) {
+                    values[point] = entry.getValue();
+                } else {
+                    if (offAxis == null) {
+                        offAxis = new TreeMap<>();
+                    }
+                    offAxis.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        this.projection = values;
+        this.offAxisProjection = offAxis;
     }
 
+    /**
+     * Projected values indexed by {@link SubIssueProjections} point. The array is live; do not modify it.
+     */
+    public double[] getProjection() {
+        return projection;
+    }
+
+    /**
+     * Projected value for a year, or NaN when none is known
+     */
+    public double getProjectedValue(int year) {
+        int point = SubIssueProjections.pointOf(year);
+        if (point >= 0) {
+            return projection[point];
+        }
+        Double value = offAxisProjection != null ? offAxisProjection.get(year) : null;
+        return value != null ? value : Double.NaN;
+    }
+
+    /**
+     * Recompute the projection from the current value, target value and timeframe,
+     * discarding any off-axis years
+     */
+    public void reproject() {
+        projection = SubIssueProjections.project(currentValue, targetValue, timeframe, projection);
+        offAxisProjection = null;
+    }
+
+    /**
+     * Measurable indicators. Unless replaced, this is the category's shared immutable list.
+     */
     public List<String> getIndicators() {
         return indicators;
     }
@@ -290,6 +256,10 @@ public class SubIssue {
         this.timeframe = timeframe;
     }
 
+    /**
+     * Names of related solutions. Unless replaced, this is the shared immutable
+     * {@link SubIssueCategory#COMMON_SOLUTIONS}.
+     */
     public List<String> getRelatedSolutions() {
         return relatedSolutions;
     }
@@ -298,6 +268,25 @@ public class SubIssue {
         this.relatedSolutions = relatedSolutions;
     }
 
+    /**
+     * Whether everything but the name and description still equals what
+     * {@code new SubIssue(name, description)} would set, so the sub-issue can be
+     * rebuilt from those two alone
+     */
+    public boolean matchesCategoryDefaults() {
+        SubIssueCategory template = SubIssueCategory.classify(name);
+        return id == null && Objects.equals(category, template.getDisplayName())
+                && Objects.equals(unit, template.getUnit()) && currentValue == template.getCurrentValue()
+                && targetValue == template.getTargetValue() && timeframe == template.getTimeframe()
+                && severity == template.getSeverity() && Objects.equals(causes, template.getCauses())
+                && Objects.equals(consequences, template.getConsequences())
+                && Objects.equals(indicators, template.getIndicators())
+                && Objects.equals(affectedRegions, SubIssueCategory.DEFAULT_AFFECTED_REGIONS)
+                && Objects.equals(relatedSolutions, SubIssueCategory.COMMON_SOLUTIONS)
+                && offAxisProjection == null && Arrays.equals(projection, SubIssueProjections.project(
+                        template.getCurrentValue(), template.getTargetValue(), template.getTimeframe(), null));
+    }
+
     public String getSeverityDescription() {
         if (severity >= 0.8f)
             return "Critical";
@@ -0,0 +1,156 @@
+package com.climasim.data.models;
+
+import com.climasim.data.query.KeywordMatcher;
+
+import java.util.List;
+
+/**
+ * Sub-issue categories and the defaults every sub-issue of a category starts with.
+ *
+ * The cause, consequence and indicator lists are immutable and shared by all
+ * sub-issues of the category instead of being rebuilt per instance. Name keywords
+ * of all categories are compiled into one {@link KeywordMatcher}, in declaration
+ * order, so classifying a name is a single pass over it.
+ */
+public enum SubIssueCategory {
+    TEMPERATURE("Temperature", "°C increase", 1.1, 1.5, 10, 0.8f,
+            new String[] { "temperature", "heat" },
+            List.of("Greenhouse gas emissions", "Fossil fuel combustion", "Deforestation",
+                    "Industrial processes"),
+            List.of("Extreme weather events", "Ecosystem disruption", "Agricultural impacts",
+                    "Human health risks"),
+            List.of("Global average temperature", "Heat wave frequency", "Urban heat island effect")),
+    SEA_LEVEL("Sea Level", "cm rise", 21.0, 30.0, 80, 0.7f,
+            new String[] { "sea level", "ocean" },
+            List.of("Thermal expansion of seawater", "Melting glaciers and ice sheets", "Polar ice cap melting"),
+            List.of("Coastal flooding", "Saltwater intrusion", "Habitat loss", "Population displacement"),
+            List.of()),
+    POLAR_ICE("Polar Ice", "million km² loss", 13.0, 15.0, 50, 0.9f,
+            new String[] { "ice", "arctic" },
+            List.of("Rising temperatures", "Ocean warming", "Black carbon deposits"),
+            List.of("Albedo effect reduction", "Polar bear habitat loss", "Ocean current changes",
+                    "Accelerated warming"),
+            List.of()),
+    BIODIVERSITY("Biodiversity", "species extinction rate", 1000.0, 10.0, 30, 0.85f,
+            new String[] { "biodiversity", "species" },
+            List.of("Habitat destruction", "Climate change", "Pollution", "Invasive species"),
+            List.of("Ecosystem collapse", "Food chain disruption", "Loss of genetic diversity",
+                    "Reduced ecosystem services"),
+            List.of()),
+    WEATHER_PATTERNS("Weather Patterns", "extreme events per year", 120.0, 80.0, 20, 0.75f,
+            new String[] { "weather", "storm" },
+            List.of("Disrupted jet stream", "Increased ocean temperatures", "Atmospheric moisture changes"),
+            List.of("Property damage", "Agricultural losses", "Human casualties", "Infrastructure damage"),
+            List.of()),
+    GENERAL("General", "impact index", 5.0, 2.0, 25, 0.6f,
+            new String[0],
+            List.of("Human activities", "Industrial processes", "Resource consumption"),
+            List.of("Environmental degradation", "Social impacts", "Economic costs"),
+            List.of());
+
+    /**
+     * Solutions every generated sub-issue starts out related to. These are matched by
+     * name against the solution catalog, so they must name solutions that exist there.
+     */
+    public static final List<String> COMMON_SOLUTIONS = List.of("Solar Energy Expansion", "Climate Policy Reform",
+            "Green Technology Innovation");
+
+    public static final String DEFAULT_AFFECTED_REGIONS = "Global with regional variations";
+
+    private static final SubIssueCategory[] VALUES = values();
+
+    private static final KeywordMatcher MATCHER;
+
+    static {
+        String[][] keywords = new String[VALUES.length][];
+        for (SubIssueCategory category : VALUES) {
+            keywords[category.ordinal()] = category.keywords;
+        }
+        MATCHER = KeywordMatcher.compile(keywords);
+    }
+
+    private final String displayName;
+    private final String unit;
+    private final double currentValue;
+    private final double targetValue;
+    private final int timeframe;
+    private final float severity;
+    private final String[] keywords;
+    private final List<String> causes;
+    private final List<String> consequences;
+    private final List<String> indicators;
+
+    SubIssueCategory(String displayName, String unit, double currentValue, double targetValue, int timeframe,
+            float severity, String[] keywords, List<String> causes, List<String> consequences,
+            List<String> indicators) {
+        this.displayName = displayName;
+        this.unit = unit;
+        this.currentValue = currentValue;
+        this.targetValue = targetValue;
+        this.timeframe = timeframe;
+        this.severity = severity;
+        this.keywords = keywords;
+        this.causes = causes;
+        this.consequences = consequences;
+        this.indicators = indicators;
+    }
+
+    /**
+     * Category of a sub-issue name: the first category with a keyword in the name, else GENERAL
+     */
+    public static SubIssueCategory classify(String name) {
+        int rule = MATCHER.firstRule(name);
+        return rule != KeywordMatcher.NO_MATCH ? VALUES[rule] : GENERAL;
+    }
+
+    /**
+     * {@link #classify} for a whole catalog of names, in parallel for large catalogs
+     */
+    public static SubIssueCategory[] classifyAll(List<String> names) {
+        int[] rules = MATCHER.firstRules(names);
+        SubIssueCategory[] categories = new SubIssueCategory[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            categories[i] = rules[i] != KeywordMatcher.NO_MATCH ? VALUES[rules[i]] : GENERAL;
+        }
+        return categories;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public double getCurrentValue() {
+        return currentValue;
+    }
+
+    public double getTargetValue() {
+        return targetValue;
+    }
+
+    /**
+     * Years to reach the target value
+     */
+    public int getTimeframe() {
+        return timeframe;
+    }
+
+    public float getSeverity() {
+        return severity;
+    }
+
+    public List<String> getCauses() {
+        return causes;
+    }
+
+    public List<String> getConsequences() {
+        return consequences;
+    }
+
+    public List<String> getIndicators() {
+        return indicators;
+    }
+}
@@ -1,42 +1,32 @@
 package com.climasim.data.models;
 
+import com.climasim.data.store.YearlyMetricStore;
+
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.HashMap;
 
 /**
- * Represents all climate data for a specific year
+ * Represents all climate data for a specific year.
+ *
+ * Instances are views over one row of a {@link YearlyMetricStore}; setters write
+ * through to the store's metric columns. Objects created with the public
+ * constructors (e.g. by JSON deserialization) own a private single-row store.
  */
 public class YearlyClimateData {
 
+    private final YearlyMetricStore store;
+    private final int row;
+
     private int year;
+    private String generatedSummary; // Kept with the view, so evicting the view frees it
     private List<ClimateIssue> majorIssues;
     private List<Solution> solutions;
 
-    // NEW: Add summary field to match JSON structure
-    private String summary;
-
-    // Fields that match DataManager expectations
-    private float globalTemperature; // DataManager sets this
-    private float globalTemperatureAnomaly; // DataManager sets this
-    private float co2Level; // DataManager sets this
-    private float seaLevelChange; // DataManager sets this
-    private float arcticIceExtent; // DataManager sets this
-    private float oceanPH; // DataManager sets this
-    private float globalForestCover; // DataManager sets this
-    private int extremeWeatherEvents; // DataManager sets this
-
-    // Regional data that DataManager sets
-    private Map<String, Float> regionalTemperatures;
-    private Map<String, Float> regionalPrecipitation;
-
     // Default constructor for JSON deserialization
     public YearlyClimateData() {
-        this.majorIssues = new ArrayList<>();
-        this.solutions = new ArrayList<>();
-        this.regionalTemperatures = new HashMap<>();
-        this.regionalPrecipitation = new HashMap<>();
+        this.store = new YearlyMetricStore(0, 1);
+        this.row = 0;
     }
 
     public YearlyClimateData(int year) {
@@ -45,7 +35,16 @@ public class YearlyClimateData {
         // Calculate realistic values based on year
         calculateClimateMetrics();
         // Generate summary after calculating metrics
-        this.summary = generateSummary();
+        setSummary(generateSummary());
+    }
+
+    /**
+     * View over an existing store row
+     */
+    public YearlyClimateData(YearlyMetricStore store, int row) {
+        this.store = store;
+        this.row = row;
+        this.year = store.yearOf(row);
     }
 
     /**
@@ -55,36 +54,44 @@ public class YearlyClimateData {
         // Global temperature anomaly (compared to 1951-1980 average)
         // Based on real climate trends
         float yearsSince1980 = year - 1980;
-        globalTemperatureAnomaly = 0.4f + (yearsSince1980 * 0.02f) +
+        float globalTemperatureAnomaly = 0.4f + (yearsSince1980 * 0.02f) +
                 (float) (Math.sin(yearsSince1980 * 0.1) * 0.1); // Natural variation
+        setTemperatureAnomaly(globalTemperatureAnomaly);
 
         // Global temperature (absolute)
-        globalTemperature = 14.0f + globalTemperatureAnomaly;
+        setGlobalTemperature(14.0f + globalTemperatureAnomaly);
 
         // CO2 levels in ppm (based on Mauna Loa data trends)
-        co2Level = 339.0f + (yearsSince1980 * 2.1f) +
-                (float) (Math.sin(yearsSince1980 * 0.2) * 1.5); // Seasonal variation
+        setCo2Level(339.0f + (yearsSince1980 * 2.1f) +
+                (float) (Math.sin(yearsSince1980 * 0.2) * 1.5)); // Seasonal variation
 
         // Sea level change in mm (relative to 1993-2008 average)
-        seaLevelChange = yearsSince1980 * 3.2f + (yearsSince1980 * yearsSince1980 * 0.01f);
+        setSeaLevelChange(yearsSince1980 * 3.2f + (yearsSince1980 * yearsSince1980 * 0.01f));
 
         // Arctic sea ice extent (millions of square km, September minimum)
-        arcticIceExtent = Math.max(1.0f, 7.0f - (yearsSince1980 * 0.08f));
+        setArcticIceExtent(Math.max(1.0f, 7.0f - (yearsSince1980 * 0.08f)));
 
         // Ocean pH (declining due to acidification)
-        oceanPH = 8.1f - (yearsSince1980 * 0.002f);
+        setOceanPH(8.1f - (yearsSince1980 * 0.002f));
 
         // Global forest cover percentage
-        globalForestCover = Math.max(70.0f, 100.0f - (yearsSince1980 * 0.3f));
+        setGlobalForestCover(Math.max(70.0f, 100.0f - (yearsSince1980 * 0.3f)));
 
         // Extreme weather events count
-        extremeWeatherEvents = (int) (50 + yearsSince1980 * 1.5f);
+        setExtremeWeatherEvents((int) (50 + yearsSince1980 * 1.5f));
     }
 
     /**
      * Generate a comprehensive summary based on the climate data
      */
     private String generateSummary() {
+        float globalTemperatureAnomaly = getTemperatureAnomaly();
+        float co2Level = getCo2Level();
+        float seaLevelChange = getSeaLevelChange();
+        float arcticIceExtent = getArcticIceExtent();
+        float oceanPH = getOceanPH();
+        float globalForestCover = getGlobalForestCover();
+        int extremeWeatherEvents = getExtremeWeatherEvents();
         StringBuilder summaryBuilder = new StringBuilder();
 
         if (year <= 2024) {
@@ -177,6 +184,9 @@ public class YearlyClimateData {
     }
 
     public List<ClimateIssue> getMajorIssues() {
+        if (majorIssues == null) {
+            majorIssues = new ArrayList<>();
+        }
         return majorIssues;
     }
 
@@ -185,6 +195,9 @@ public class YearlyClimateData {
     }
 
     public List<Solution> getSolutions() {
+        if (solutions == null) {
+            solutions = new ArrayList<>();
+        }
         return solutions;
     }
 
@@ -192,130 +205,183 @@ public class YearlyClimateData {
         this.solutions = solutions;
     }
 
+    /**
+     * Generic accessor used by code that iterates over all metrics
+     */
+    public float getMetric(ClimateMetric metric) {
+        return store.get(metric, row);
+    }
+
+    public void setMetric(ClimateMetric metric, float value) {
+        store.set(metric, row, value);
+    }
+
     public float getGlobalTemperature() {
-        return globalTemperature;
+        return store.get(ClimateMetric.GLOBAL_TEMPERATURE, row);
     }
 
     public void setGlobalTemperature(float globalTemperature) {
-        this.globalTemperature = globalTemperature;
+        store.set(ClimateMetric.GLOBAL_TEMPERATURE, row, globalTemperature);
     }
 
     public float getTemperatureAnomaly() {
-        return globalTemperatureAnomaly;
+        return store.get(ClimateMetric.TEMPERATURE_ANOMALY, row);
     }
 
     public void setTemperatureAnomaly(float temperatureAnomaly) {
-        this.globalTemperatureAnomaly = temperatureAnomaly;
+        store.set(ClimateMetric.TEMPERATURE_ANOMALY, row, temperatureAnomaly);
     }
 
     // Keep the old method name for backward compatibility
     public float getGlobalTemperatureAnomaly() {
-        return globalTemperatureAnomaly;
+        return getTemperatureAnomaly();
+    }
+
+    public void setGlobalTemperatureAnomaly(float globalTemperatureAnomaly) {
+        setTemperatureAnomaly(globalTemperatureAnomaly);
     }
 
     public float getCo2Level() {
-        return co2Level;
+        return store.get(ClimateMetric.CO2_LEVEL, row);
     }
 
     public void setCo2Level(float co2Level) {
-        this.co2Level = co2Level;
+        store.set(ClimateMetric.CO2_LEVEL, row, co2Level);
     }
 
     public float getSeaLevelChange() {
-        return seaLevelChange;
+        return store.get(ClimateMetric.SEA_LEVEL_CHANGE, row);
     }
 
     public void setSeaLevelChange(float seaLevelChange) {
-        this.seaLevelChange = seaLevelChange;
+        store.set(ClimateMetric.SEA_LEVEL_CHANGE, row, seaLevelChange);
     }
 
     public float getArcticIceExtent() {
-        return arcticIceExtent;
+        return store.get(ClimateMetric.ARCTIC_ICE_EXTENT, row);
     }
 
     public void setArcticIceExtent(float arcticIceExtent) {
-        this.arcticIceExtent = arcticIceExtent;
+        store.set(ClimateMetric.ARCTIC_ICE_EXTENT, row, arcticIceExtent);
     }
 
     public float getOceanPH() {
-        return oceanPH;
+        return store.get(ClimateMetric.OCEAN_PH, row);
     }
 
     public void setOceanPH(float oceanPH) {
-        this.oceanPH = oceanPH;
+        store.set(ClimateMetric.OCEAN_PH, row, oceanPH);
     }
 
     public float getGlobalForestCover() {
-        return globalForestCover;
+        return store.get(ClimateMetric.GLOBAL_FOREST_COVER, row);
     }
 
     public void setGlobalForestCover(float globalForestCover) {
-        this.globalForestCover = globalForestCover;
+        store.set(ClimateMetric.GLOBAL_FOREST_COVER, row, globalForestCover);
     }
 
     public int getExtremeWeatherEvents() {
-        return extremeWeatherEvents;
+        return store.getExtremeWeatherEvents(row);
     }
 
     public void setExtremeWeatherEvents(int extremeWeatherEvents) {
-        this.extremeWeatherEvents = extremeWeatherEvents;
+        store.setExtremeWeatherEvents(row, extremeWeatherEvents);
     }
 
+    /**
+     * Name-keyed copy of the regional temperatures; prefer {@link #getRegional} in hot paths
+     */
     public Map<String, Float> getRegionalTemperatures() {
-        return regionalTemperatures;
+        return store.regionalMap(RegionalMetric.TEMPERATURE, row);
     }
 
     public void setRegionalTemperatures(Map<String, Float> regionalTemperatures) {
-        this.regionalTemperatures = regionalTemperatures;
+        store.setRegionalMap(RegionalMetric.TEMPERATURE, row, regionalTemperatures);
     }
 
+    /**
+     * Name-keyed copy of the regional precipitation; prefer {@link #getRegional} in hot paths
+     */
     public Map<String, Float> getRegionalPrecipitation() {
-        return regionalPrecipitation;
+        return store.regionalMap(RegionalMetric.PRECIPITATION, row);
     }
 
     public void setRegionalPrecipitation(Map<String, Float> regionalPrecipitation) {
-        this.regionalPrecipitation = regionalPrecipitation;
+        store.setRegionalMap(RegionalMetric.PRECIPITATION, row, regionalPrecipitation);
+    }
+
+    /**
+     * Regional value for this year, or NaN when the region has no data
+     */
+    public float getRegional(RegionalMetric metric, Region region) {
+        return store.getRegional(metric, row, region.getId());
+    }
+
+    public void setRegional(RegionalMetric metric, Region region, float value) {
+        store.setRegional(metric, row, region.getId(), value);
+    }
+
+    /**
+     * Copy this year's values for every region, indexed by region id, into {@code out}
+     */
+    public float[] getRegionalSlice(RegionalMetric metric, float[] out) {
+        return store.regionalSlice(metric, row, out);
     }
 
     // NEW: Summary field getter and setter for JSON serialization/deserialization
     public String getSummary() {
         // If summary is null or empty, generate it dynamically
+        String summary = store.getSummary(row);
         if (summary == null || summary.isEmpty()) {
-            summary = generateSummary();
+            if (generatedSummary == null) {
+                generatedSummary = generateSummary();
+            }
+            summary = generatedSummary;
         }
         return summary;
     }
 
     public void setSummary(String summary) {
-        this.summary = summary;
+        store.setSummary(row, summary);
+        generatedSummary = null;
     }
 
     /**
      * Get regional temperature for a specific region
      */
     public Float getRegionalTemperature(String region) {
-        return regionalTemperatures != null ? regionalTemperatures.get(region) : null;
+        return boxedRegional(RegionalMetric.TEMPERATURE, region);
     }
 
     /**
      * Get regional precipitation for a specific region
      */
     public Float getRegionalPrecipitation(String region) {
-        return regionalPrecipitation != null ? regionalPrecipitation.get(region) : null;
+        return boxedRegional(RegionalMetric.PRECIPITATION, region);
+    }
+
+    private Float boxedRegional(RegionalMetric metric, String regionName) {
+        Region region = Region.find(regionName);
+        if (region == null) {
+            return null;
+        }
+        float value = getRegional(metric, region);
+        return Float.isNaN(value) ? null : value;
     }
 
     @Override
     public String toString() {
         return "YearlyClimateData{" +
                 "year=" + year +
-                ", globalTemperature=" + globalTemperature +
-                ", globalTemperatureAnomaly=" + globalTemperatureAnomaly +
-                ", co2Level=" + co2Level +
-                ", seaLevelChange=" + seaLevelChange +
-                ", arcticIceExtent=" + arcticIceExtent +
-                ", oceanPH=" + oceanPH +
-                ", globalForestCover=" + globalForestCover +
-                ", extremeWeatherEvents=" + extremeWeatherEvents +
+                ", globalTemperature=" + getGlobalTemperature() +
+                ", globalTemperatureAnomaly=" + getTemperatureAnomaly() +
+                ", co2Level=" + getCo2Level() +
+                ", seaLevelChange=" + getSeaLevelChange() +
+                ", arcticIceExtent=" + getArcticIceExtent() +
+                ", oceanPH=" + getOceanPH() +
+                ", globalForestCover=" + getGlobalForestCover() +
+                ", extremeWeatherEvents=" + getExtremeWeatherEvents() +
                 ", summary='" + getSummary() + '\'' +
                 '}';
     }
@@ -0,0 +1,224 @@
+package com.climasim.data.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Keyword rules compiled into an Aho-Corasick automaton.
+ *
+ * Rule {@code r} matches a text when any of its keywords occurs in it, ignoring case.
+ * Rules are ordered: {@link #firstRule} returns the lowest matching rule, which is what
+ * a chain of {@code contains} checks tried in rule order would find, but in a single
+ * pass over the text however many keywords there are.
+ *
+ * Keyword characters are mapped to dense classes and the automaton is stored as a
+ * complete transition table, so a step is one table read with no failure-link walk.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class KeywordMatcher {
+
+    public static final int NO_MATCH = -1;
+
+    private static final int ITEMS_PER_TASK = 512;
+
+    private final int classes;
+    private final int[] asciiClass; // Character class of ASCII chars; 0 for chars not in any keyword
+    private final Map<Character, Integer> otherClass;
+    private final int[] transitions; // [state * classes + class] -> state
+    private final int[] firstRule; // Lowest rule ending at the state or any of its suffixes
+
+    private KeywordMatcher(int classes, int[] asciiClass, Map<Character, Integer> otherClass, int[] transitions,
+            int[] firstRule) {
+        this.classes = classes;
+        this.asciiClass = asciiClass;
+        this.otherClass = otherClass;
+        this.transitions = transitions;
+        this.firstRule = firstRule;
+    }
+
+    /**
+     * Compile {@code keywordsByRule[r]} as the keywords of rule {@code r}
+     */
+    public static KeywordMatcher compile(String[][] keywordsByRule) {
+        int[] asciiClass = new int[128];
+        Map<Character, Integer> otherClass = new HashMap<>();
+        int classes = 1;
+        for (String[] keywords : keywordsByRule) {
+            for (String keyword : keywords) {
+                for (int i = 0; i < keyword.length(); i++) {
+                    char c = fold(keyword.charAt(i));
+                    if (c < 128) {
+                        if (asciiClass[c] == 0) {
+                            asciiClass[c] = classes++;
+                        }
+                    } else if (!otherClass.containsKey(c)) {
+                        otherClass.put(c, classes++);
+                    }
+                }
+            }
+        }
+
+        // Trie over character classes; -1 marks a missing edge until the table is completed
+        List<int[]> trie = new ArrayList<>();
+        List<Integer> rules = new ArrayList<>();
+        trie.add(emptyRow(classes));
+        rules.add(NO_MATCH);
+        for (int rule = 0; rule < keywordsByRule.length; rule++) {
+            for (String keyword : keywordsByRule[rule]) {
+                if (keyword.isEmpty()) {
+                    continue;
+                }
+                int state = 0;
+                for (int i = 0; i < keyword.length(); i++) {
+                    int cls = classOf(fold(keyword.charAt(i)), asciiClass, otherClass);
+                    if (trie.get(state)[cls] < 0) {
+                        trie.get(state)[cls] = trie.size();
+                        trie.add(emptyRow(classes));
+                        rules.add(NO_MATCH);
+                    }
+                    state = trie.get(state)[cls];
+                }
+                int existing = rules.get(state);
+                rules.set(state, existing == NO_MATCH ? rule : Math.min(existing, rule));
+            }
+        }
+
+        int states = trie.size();
+        int[] transitions = new int[states * classes];
+        int[] firstRule = new int[states];
+        int[] failure = new int[states];
+        for (int s = 0; s < states; s++) {
+            firstRule[s] = rules.get(s);
+        }
+        // Breadth-first, so a state's failure target is complete before the state is visited
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int cls = 0; cls < classes; cls++) {
+            int next = trie.get(0)[cls];
+            if (next > 0) {
+                transitions[cls] = next;
+                failure[next] = 0;
+                queue.add(next);
+            } else {
+                transitions[cls] = 0;
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            firstRule[state] = minRule(firstRule[state], firstRule[failure[state]]);
+            int[] row = trie.get(state);
+            for (int cls = 0; cls < classes; cls++) {
+                int fallback = transitions[failure[state] * classes + cls];
+                if (row[cls] > 0) {
+                    failure[row[cls]] = fallback;
+                    transitions[state * classes + cls] = row[cls];
+                    queue.add(row[cls]);
+                } else {
+                    transitions[state * classes + cls] = fallback;
+                }
+            }
+        }
+        return new KeywordMatcher(classes, asciiClass, otherClass, transitions, firstRule);
+    }
+
+    private static int[] emptyRow(int classes) {
+        int[] row = new int[classes];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int minRule(int a, int b) {
+        if (a == NO_MATCH) {
+            return b;
+        }
+        return b == NO_MATCH ? a : Math.min(a, b);
+    }
+
+    private static char fold(char c) {
+        return c < 128 ? (c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c) : Character.toLowerCase(c);
+    }
+
+    private static int classOf(char c, int[] asciiClass, Map<Character, Integer> otherClass) {
+        if (c < 128) {
+            return asciiClass[c];
+        }
+        Integer cls = otherClass.get(c);
+        return cls != null ? cls : 0;
+    }
+
+    /**
+     * Lowest rule with a keyword in {@code text}, or {@link #NO_MATCH}
+     */
+    public int firstRule(CharSequence text) {
+        if (text == null) {
+            return NO_MATCH;
+        }
+        int best = NO_MATCH;
+        int state = 0;
+        boolean ascii = otherClass.isEmpty();
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            int cls = c < 128 ? asciiClass[c] : ascii ? 0 : classOf(c, asciiClass, otherClass);
+            state = transitions[state * classes + cls];
+            int rule = firstRule[state];
+            if (rule != NO_MATCH && (best == NO_MATCH || rule < best)) {
+                best = rule;
+                if (best == 0) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * {@link #firstRule} of every text, computed in parallel on the common pool
+     */
+    public int[] firstRules(List<? extends CharSequence> texts) {
+        int[] out = new int[texts.size()];
+        if (texts.size() <= ITEMS_PER_TASK) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] = firstRule(texts.get(i));
+            }
+        } else {
+            ForkJoinPool.commonPool().invoke(new ClassifyTask(texts, out, 0, out.length));
+        }
+        return out;
+    }
+
+    /**
+     * Splits an index range until it is small enough to match directly
+     */
+    private final class ClassifyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends CharSequence> texts;
+        private final int[] out;
+        private final int from;
+        private final int to;
+
+        ClassifyTask(List<? extends CharSequence> texts, int[] out, int from, int to) {
+            this.texts = texts;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ITEMS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    out[i] = firstRule(texts.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ClassifyTask(texts, out, from, middle), new ClassifyTask(texts, out, middle, to));
+        }
+    }
+}
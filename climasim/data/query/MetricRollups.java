@@ -0,0 +1,254 @@
+package com.climasim.data.query;
+
+import com.climasim.data.models.ClimateMetric;
+import com.climasim.data.store.YearlyMetricStore;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed aggregates over the yearly metric columns.
+ *
+ * For every {@link ClimateMetric} this keeps prefix sums and prefix counts of the
+ * stored years plus sparse tables for range minimum and maximum, so the mean, sum,
+ * min, max and count of any {@code [fromYear, toYear]} range are answered in O(1).
+ * Years without data are skipped by every aggregate. Range bounds may be given in
+ * either order and are clipped to the stored years; a range holding no data yields NaN.
+ *
+ * Instances are immutable. {@link #build(YearlyMetricStore, MetricRollups)} reuses
+ * the previous generation's tables when the year shape is unchanged and recomputes
+ * only the entries at and after the first row that differs.
+ */
+public final class MetricRollups {
+
+    private static final ClimateMetric[] METRICS = ClimateMetric.values();
+
+    public static final MetricRollups EMPTY = build(new YearlyMetricStore(), null);
+
+    private final int baseYear;
+    private final int rows;
+    private final MetricRollup[] byMetric;
+    private final int rebuiltRows;
+
+    private MetricRollups(int baseYear, int rows, MetricRollup[] byMetric, int rebuiltRows) {
+        this.baseYear = baseYear;
+        this.rows = rows;
+        this.byMetric = byMetric;
+        this.rebuiltRows = rebuiltRows;
+    }
+
+    /**
+     * Build the rollups for {@code store}, reusing {@code previous} where its rows still match
+     */
+    public static MetricRollups build(YearlyMetricStore store, MetricRollups previous) {
+        int baseYear = store.getBaseYear();
+        int rows = store.getCapacity();
+        boolean sameShape = previous != null && previous.baseYear == baseYear && previous.rows == rows;
+
+        MetricRollup[] byMetric = new MetricRollup[METRICS.length];
+        int rebuiltRows = 0;
+        for (ClimateMetric metric : METRICS) {
+            float[] values = new float[rows];
+            for (int row = 0; row < rows; row++) {
+                values[row] = store.hasYear(baseYear + row) ? store.get(metric, row) : Float.NaN;
+            }
+            MetricRollup old = sameShape ? previous.byMetric[metric.ordinal()] : null;
+            int firstChanged = old != null ? Arrays.mismatch(old.values, values) : 0;
+            if (firstChanged < 0) {
+                byMetric[metric.ordinal()] = old;
+            } else {
+                byMetric[metric.ordinal()] = new MetricRollup(values, old, firstChanged);
+                rebuiltRows += rows - firstChanged;
+            }
+        }
+        return new MetricRollups(baseYear, rows, byMetric, rebuiltRows);
+    }
+
+    // --- Range aggregates ---
+
+    public float sum(ClimateMetric metric, int fromYear, int toYear) {
+        int from = Math.max(0, Math.min(fromYear, toYear) - baseYear);
+        int to = Math.min(rows - 1, Math.max(fromYear, toYear) - baseYear);
+        if (from > to) {
+            return Float.NaN;
+        }
+        MetricRollup rollup = byMetric[metric.ordinal()];
+        if (rollup.prefixCount[to + 1] == rollup.prefixCount[from]) {
+            return Float.NaN;
+        }
+        return (float) (rollup.prefixSum[to + 1] - rollup.prefixSum[from]);
+    }
+
+    /**
+     * Number of years with data in the range
+     */
+    public int count(ClimateMetric metric, int fromYear, int toYear) {
+        int from = Math.max(0, Math.min(fromYear, toYear) - baseYear);
+        int to = Math.min(rows - 1, Math.max(fromYear, toYear) - baseYear);
+        if (from > to) {
+            return 0;
+        }
+        MetricRollup rollup = byMetric[metric.ordinal()];
+        return rollup.prefixCount[to + 1] - rollup.prefixCount[from];
+    }
+
+    public float mean(ClimateMetric metric, int fromYear, int toYear) {
+        int from = Math.max(0, Math.min(fromYear, toYear) - baseYear);
+        int to = Math.min(rows - 1, Math.max(fromYear, toYear) - baseYear);
+        if (from > to) {
+            return Float.NaN;
+        }
+        MetricRollup rollup = byMetric[metric.ordinal()];
+        int count = rollup.prefixCount[to + 1] - rollup.prefixCount[from];
+        if (count == 0) {
+            return Float.NaN;
+        }
+        return (float) ((rollup.prefixSum[to + 1] - rollup.prefixSum[from]) / count);
+    }
+
+    public float min(ClimateMetric metric, int fromYear, int toYear) {
+        return extreme(metric, fromYear, toYear, false);
+    }
+
+    public float max(ClimateMetric metric, int fromYear, int toYear) {
+        return extreme(metric, fromYear, toYear, true);
+    }
+
+    /**
+     * Value in {@code toYear} minus value in {@code fromYear}, or NaN when either is missing
+     */
+    public float delta(ClimateMetric metric, int fromYear, int toYear) {
+        return value(metric, toYear) - value(metric, fromYear);
+    }
+
+    /**
+     * Stored value for a single year, or NaN when the year has no data
+     */
+    public float value(ClimateMetric metric, int year) {
+        int row = year - baseYear;
+        if (row < 0 || row >= rows) {
+            return Float.NaN;
+        }
+        return byMetric[metric.ordinal()].values[row];
+    }
+
+    /**
+     * Trailing {@code window}-year mean for every row, written into {@code out} and
+     * indexed by {@code year - getBaseYear()}. Rows whose window holds no data are NaN.
+     */
+    public float[] rollingMean(ClimateMetric metric, int window, float[] out) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be at least one year: " + window);
+        }
+        if (out == null || out.length < rows) {
+            out = new float[rows];
+        }
+        MetricRollup rollup = byMetric[metric.ordinal()];
+        for (int row = 0; row < rows; row++) {
+            int from = Math.max(0, row - window + 1);
+            int count = rollup.prefixCount[row + 1] - rollup.prefixCount[from];
+            out[row] = count == 0 ? Float.NaN
+                    : (float) ((rollup.prefixSum[row + 1] - rollup.prefixSum[from]) / count);
+        }
+        return out;
+    }
+
+    private float extreme(ClimateMetric metric, int fromYear, int toYear, boolean maximum) {
+        int from = Math.max(0, Math.min(fromYear, toYear) - baseYear);
+        int to = Math.min(rows - 1, Math.max(fromYear, toYear) - baseYear);
+        if (from > to) {
+            return Float.NaN;
+        }
+        MetricRollup rollup = byMetric[metric.ordinal()];
+        if (rollup.prefixCount[to + 1] == rollup.prefixCount[from]) {
+            return Float.NaN;
+        }
+        int level = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+        int second = to - (1 << level) + 1;
+        if (maximum) {
+            float[] table = rollup.maxTable[level];
+            return Math.max(table[from], table[second]);
+        }
+        float[] table = rollup.minTable[level];
+        return Math.min(table[from], table[second]);
+    }
+
+    // --- Shape ---
+
+    public int getBaseYear() {
+        return baseYear;
+    }
+
+    public int getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Rows recomputed by the build that produced this instance, summed over all metrics
+     */
+    public int getRebuiltRows() {
+        return rebuiltRows;
+    }
+
+    /**
+     * Prefix and sparse tables for one metric column
+     */
+    private static final class MetricRollup {
+        final float[] values;
+        final double[] prefixSum;
+        final int[] prefixCount;
+        final float[][] minTable;
+        final float[][] maxTable;
+
+        /**
+         * Build the tables, copying entries that only cover rows before {@code firstChanged} from {@code old}
+         */
+        MetricRollup(float[] values, MetricRollup old, int firstChanged) {
+            int rows = values.length;
+            this.values = values;
+            if (old == null) {
+                firstChanged = 0;
+            }
+
+            prefixSum = new double[rows + 1];
+            prefixCount = new int[rows + 1];
+            if (firstChanged > 0) {
+                System.arraycopy(old.prefixSum, 0, prefixSum, 0, firstChanged + 1);
+                System.arraycopy(old.prefixCount, 0, prefixCount, 0, firstChanged + 1);
+            }
+            for (int row = firstChanged; row < rows; row++) {
+                boolean present = !Float.isNaN(values[row]);
+                prefixSum[row + 1] = prefixSum[row] + (present ? values[row] : 0.0);
+                prefixCount[row + 1] = prefixCount[row] + (present ? 1 : 0);
+            }
+
+            int levels = rows > 0 ? 32 - Integer.numberOfLeadingZeros(rows) : 0;
+            minTable = new float[levels][];
+            maxTable = new float[levels][];
+            for (int level = 0; level < levels; level++) {
+                int span = 1 << level;
+                int entries = rows - span + 1;
+                float[] min = new float[entries];
+                float[] max = new float[entries];
+                // Entries starting before this point only cover unchanged rows
+                int reuse = Math.max(0, Math.min(entries, firstChanged - span + 1));
+                if (reuse > 0) {
+                    System.arraycopy(old.minTable[level], 0, min, 0, reuse);
+                    System.arraycopy(old.maxTable[level], 0, max, 0, reuse);
+                }
+                for (int i = reuse; i < entries; i++) {
+                    if (level == 0) {
+                        boolean present = !Float.isNaN(values[i]);
+                        min[i] = present ? values[i] : Float.POSITIVE_INFINITY;
+                        max[i] = present ? values[i] : Float.NEGATIVE_INFINITY;
+                    } else {
+                        int half = span >> 1;
+                        min[i] = Math.min(minTable[level - 1][i], minTable[level - 1][i + half]);
+                        max[i] = Math.max(maxTable[level - 1][i], maxTable[level - 1][i + half]);
+                    }
+                }
+                minTable[level] = min;
+                maxTable[level] = max;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.climasim.data.query;
+
+import com.climasim.data.models.ClimateMetric;
+import com.climasim.data.models.ClimateSample;
+import com.climasim.data.store.YearlyMetricStore;
+
+/**
+ * Monotone cubic interpolation of the yearly metrics at fractional years.
+ *
+ * Knots are the stored years. Interior tangents are the Fritsch-Carlson weighted
+ * harmonic mean of the adjacent secant slopes (zero at a local extremum), as in
+ * PCHIP, so each segment is monotone wherever the data is and the curve never
+ * overshoots neighbouring years.
+ * The cubic coefficients of every segment are computed once per data generation
+ * and kept interleaved in one primitive array per metric; an evaluation is a segment
+ * lookup plus a Horner step per metric and allocates nothing.
+ */
+public final class MetricSplines {
+
+    private static final ClimateMetric[] METRICS = ClimateMetric.values();
+
+    public static final MetricSplines EMPTY = build(new YearlyMetricStore());
+
+    private final int[] knots;
+    private final int segments;
+    private final boolean contiguous;
+    private final float[][] coefficients; // [metric][segment * 4 + power]
+
+    private MetricSplines(int[] knots, int segments, boolean contiguous, float[][] coefficients) {
+        this.knots = knots;
+        this.segments = segments;
+        this.contiguous = contiguous;
+        this.coefficients = coefficients;
+    }
+
+    public static MetricSplines build(YearlyMetricStore store) {
+        int[] knots = store.getYears().stream().mapToInt(Integer::intValue).toArray();
+        int n = knots.length;
+        int segments = Math.max(1, n - 1);
+        boolean contiguous = n == 0 || knots[n - 1] - knots[0] == n - 1;
+        float[][] coefficients = new float[METRICS.length][];
+        if (n == 0) {
+            return new MetricSplines(knots, 0, true, coefficients);
+        }
+
+        double[] y = new double[n];
+        double[] slope = new double[Math.max(0, n - 1)];
+        double[] tangent = new double[n];
+        for (ClimateMetric metric : METRICS) {
+            for (int i = 0; i < n; i++) {
+                y[i] = store.get(metric, store.rowOf(knots[i]));
+            }
+            float[] c = new float[segments * 4];
+            if (n == 1) {
+                c[0] = (float) y[0];
+                coefficients[metric.ordinal()] = c;
+                continue;
+            }
+            for (int i = 0; i < n - 1; i++) {
+                slope[i] = (y[i + 1] - y[i]) / (knots[i + 1] - knots[i]);
+            }
+            tangent[0] = slope[0];
+            tangent[n - 1] = slope[n - 2];
+            for (int i = 1; i < n - 1; i++) {
+                if (slope[i - 1] * slope[i] <= 0) {
+                    tangent[i] = 0;
+                } else {
+                    double h0 = knots[i] - knots[i - 1];
+                    double h1 = knots[i + 1] - knots[i];
+                    tangent[i] = 3 * (h0 + h1)
+                            / ((2 * h1 + h0) / slope[i - 1] + (h1 + 2 * h0) / slope[i]);
+                }
+            }
+            for (int i = 0; i < n - 1; i++) {
+                double h = knots[i + 1] - knots[i];
+                c[i * 4] = (float) y[i];
+                c[i * 4 + 1] = (float) tangent[i];
+                c[i * 4 + 2] = (float) ((3 * slope[i] - 2 * tangent[i] - tangent[i + 1]) / h);
+                c[i * 4 + 3] = (float) ((tangent[i] + tangent[i + 1] - 2 * slope[i]) / (h * h));
+            }
+            coefficients[metric.ordinal()] = c;
+        }
+        return new MetricSplines(knots, segments, contiguous, coefficients);
+    }
+
+    /**
+     * Fill {@code out} with every metric at {@code year}. Years outside the data are
+     * clamped to the first or last stored year, and the method then returns false.
+     * With no data loaded the values are NaN.
+     */
+    public boolean evaluate(float year, ClimateSample out) {
+        if (segments == 0) {
+            out.clear();
+            return false;
+        }
+        int first = knots[0];
+        int last = knots[knots.length - 1];
+        boolean inRange = year >= first && year <= last;
+        float x = Math.max(first, Math.min(last, year));
+        int segment = segmentOf(x);
+        float t = x - knots[segment];
+        int base = segment * 4;
+        for (int m = 0; m < METRICS.length; m++) {
+            float[] c = coefficients[m];
+            out.set(METRICS[m], c[base] + t * (c[base + 1] + t * (c[base + 2] + t * c[base + 3])));
+        }
+        out.setYear(x);
+        return inRange;
+    }
+
+    /**
+     * Single metric at {@code year}, clamped like {@link #evaluate}
+     */
+    public float evaluate(ClimateMetric metric, float year) {
+        if (segments == 0) {
+            return Float.NaN;
+        }
+        float x = Math.max(knots[0], Math.min(knots[knots.length - 1], year));
+        int segment = segmentOf(x);
+        float t = x - knots[segment];
+        float[] c = coefficients[metric.ordinal()];
+        int base = segment * 4;
+        return c[base] + t * (c[base + 1] + t * (c[base + 2] + t * c[base + 3]));
+    }
+
+    private int segmentOf(float x) {
+        if (contiguous) {
+            return Math.min((int) (x - knots[0]), segments - 1);
+        }
+        int low = 0;
+        int high = knots.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (knots[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return Math.min(low, segments - 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,316 @@
+package com.climasim.data.query;
+
+import com.climasim.data.models.ClimateIssue;
+import com.climasim.data.models.IssueType;
+import com.climasim.data.models.Solution;
+import com.climasim.data.models.SolutionType;
+import com.climasim.data.models.SubIssue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Weighted edges from issues and sub-issues to the solutions relevant to them.
+ *
+ * Edges come from three rules, summed per solution:
+ * <ul>
+ * <li>title keywords, e.g. "warming" links to renewable energy and carbon capture</li>
+ * <li>the issue's {@link IssueType}, mapped to the solution types that address it</li>
+ * <li>solution names listed in {@link SubIssue#getRelatedSolutions()}</li>
+ * </ul>
+ * A sub-issue gets its own related solutions plus half the weight of its parent's edges.
+ *
+ * Every node's solutions are ranked once at build time, heaviest edge first with ties
+ * going to the more effective solution, and kept as an unmodifiable list. A top-k
+ * lookup is a map lookup and a sub-list view.
+ */
+public final class RelevanceGraph {
+
+    private static final float KEYWORD_PRIMARY = 1.0f;
+    private static final float KEYWORD_SECONDARY = 0.8f;
+    private static final float RELATED_SOLUTION = 0.7f;
+    private static final float ISSUE_TYPE = 0.5f;
+    private static final float PARENT_SHARE = 0.5f;
+    private static final float DEFAULT_MIX = 0.3f;
+
+    /**
+     * Title keywords and the solution types they point at, primary type first. Only the
+     * first matching rule applies; titles are matched by a compiled {@link KeywordMatcher}.
+     */
+    private static final String[][] KEYWORDS = {
+            { "temperature", "warming" },
+            { "forest", "deforestation" },
+            { "ocean" },
+    };
+    private static final KeywordMatcher KEYWORD_MATCHER = KeywordMatcher.compile(KEYWORDS);
+    private static final SolutionType[][] KEYWORD_TYPES = {
+            { SolutionType.RENEWABLE_ENERGY, SolutionType.CARBON_CAPTURE },
+            { SolutionType.REFORESTATION, SolutionType.CONSERVATION },
+            { SolutionType.CONSERVATION, SolutionType.POLICY_CHANGE },
+    };
+
+    /**
+     * Broad solutions for issues no rule links to anything
+     */
+    private static final String[] DEFAULT_SOLUTIONS = {
+            "Solar Energy Expansion", "Climate Policy Reform", "Individual Climate Action"
+    };
+
+    private static final Map<IssueType, SolutionType[]> TYPE_SOLUTIONS = new EnumMap<>(IssueType.class);
+
+    static {
+        TYPE_SOLUTIONS.put(IssueType.GLOBAL_WARMING, new SolutionType[] {
+                SolutionType.RENEWABLE_ENERGY, SolutionType.CARBON_CAPTURE, SolutionType.POLICY_CHANGE });
+        TYPE_SOLUTIONS.put(IssueType.DEFORESTATION, new SolutionType[] {
+                SolutionType.REFORESTATION, SolutionType.CONSERVATION });
+        TYPE_SOLUTIONS.put(IssueType.OCEAN_ACIDIFICATION, new SolutionType[] {
+                SolutionType.CONSERVATION, SolutionType.CARBON_CAPTURE });
+        TYPE_SOLUTIONS.put(IssueType.EXTREME_WEATHER, new SolutionType[] {
+                SolutionType.POLICY_CHANGE, SolutionType.TECHNOLOGY });
+        TYPE_SOLUTIONS.put(IssueType.ICE_MELTING, new SolutionType[] {
+                SolutionType.RENEWABLE_ENERGY, SolutionType.CARBON_CAPTURE });
+        TYPE_SOLUTIONS.put(IssueType.BIODIVERSITY_LOSS, new SolutionType[] {
+                SolutionType.CONSERVATION, SolutionType.REFORESTATION });
+        TYPE_SOLUTIONS.put(IssueType.DESERTIFICATION, new SolutionType[] {
+                SolutionType.REFORESTATION, SolutionType.CONSERVATION });
+        TYPE_SOLUTIONS.put(IssueType.SEA_LEVEL_RISE, new SolutionType[] {
+                SolutionType.POLICY_CHANGE, SolutionType.TECHNOLOGY });
+        TYPE_SOLUTIONS.put(IssueType.AIR_POLLUTION, new SolutionType[] {
+                SolutionType.RENEWABLE_ENERGY, SolutionType.TECHNOLOGY, SolutionType.POLICY_CHANGE });
+        TYPE_SOLUTIONS.put(IssueType.WATER_SCARCITY, new SolutionType[] {
+                SolutionType.CONSERVATION, SolutionType.TECHNOLOGY, SolutionType.EDUCATION });
+    }
+
+    // Built after the rule tables above, which build() reads
+    public static final RelevanceGraph EMPTY = build(Collections.emptyList(), Collections.emptyList());
+
+    private final Solution[] solutions;
+    private final Map<String, Integer> solutionIds;
+    private final int[][] solutionsByType; // [SolutionType ordinal] -> solution ids
+    private final Map<String, Ranking> issuesById;
+    private final Map<String, Ranking> issuesByTitle;
+    private final Map<SubIssue, Ranking> subIssues;
+
+    private RelevanceGraph(Solution[] solutions, Map<String, Integer> solutionIds, int[][] solutionsByType,
+            Map<String, Ranking> issuesById, Map<String, Ranking> issuesByTitle, Map<SubIssue, Ranking> subIssues) {
+        this.solutions = solutions;
+        this.solutionIds = solutionIds;
+        this.solutionsByType = solutionsByType;
+        this.issuesById = issuesById;
+        this.issuesByTitle = issuesByTitle;
+        this.subIssues = subIssues;
+    }
+
+    public static RelevanceGraph build(Collection<ClimateIssue> issues, Collection<Solution> solutions) {
+        Solution[] solutionArray = solutions.toArray(new Solution[0]);
+        Map<String, Integer> solutionIds = new HashMap<>(solutionArray.length * 2);
+        SolutionType[] types = SolutionType.values();
+        int[] typeCounts = new int[types.length];
+        for (int id = 0; id < solutionArray.length; id++) {
+            solutionIds.putIfAbsent(solutionArray[id].getName(), id);
+            if (solutionArray[id].getType() != null) {
+                typeCounts[solutionArray[id].getType().ordinal()]++;
+            }
+        }
+        int[][] solutionsByType = new int[types.length][];
+        for (int t = 0; t < types.length; t++) {
+            solutionsByType[t] = new int[typeCounts[t]];
+            typeCounts[t] = 0;
+        }
+        for (int id = 0; id < solutionArray.length; id++) {
+            SolutionType type = solutionArray[id].getType();
+            if (type != null) {
+                solutionsByType[type.ordinal()][typeCounts[type.ordinal()]++] = id;
+            }
+        }
+
+        RelevanceGraph graph = new RelevanceGraph(solutionArray, solutionIds, solutionsByType, new HashMap<>(),
+                new HashMap<>(), new IdentityHashMap<>());
+        List<String> titles = new ArrayList<>(issues.size());
+        for (ClimateIssue issue : issues) {
+            titles.add(issue.getTitle());
+        }
+        int[] titleRules = KEYWORD_MATCHER.firstRules(titles);
+
+        float[] weights = new float[solutionArray.length];
+        float[] subWeights = new float[solutionArray.length];
+        int issueIndex = 0;
+        for (ClimateIssue issue : issues) {
+            Arrays.fill(weights, 0f);
+            graph.addKeywordEdges(titleRules[issueIndex++], weights);
+            SolutionType[] typeSolutions = issue.getType() != null ? TYPE_SOLUTIONS.get(issue.getType()) : null;
+            if (typeSolutions != null) {
+                for (SolutionType type : typeSolutions) {
+                    graph.addTypeEdges(type, ISSUE_TYPE, weights);
+                }
+            }
+            List<SubIssue> subs = issue.getSubIssues() != null ? issue.getSubIssues() : Collections.emptyList();
+            for (SubIssue sub : subs) {
+                graph.addRelatedEdges(sub, weights);
+            }
+            graph.addDefaultEdgesIfUnlinked(weights);
+            Ranking ranking = graph.rank(weights);
+            graph.issuesById.put(issue.getId(), ranking);
+            graph.issuesByTitle.putIfAbsent(issue.getTitle(), ranking);
+
+            for (SubIssue sub : subs) {
+                for (int id = 0; id < weights.length; id++) {
+                    subWeights[id] = weights[id] * PARENT_SHARE;
+                }
+                graph.addRelatedEdges(sub, subWeights);
+                graph.subIssues.put(sub, graph.rank(subWeights));
+            }
+        }
+        return graph;
+    }
+
+    // --- Lookups ---
+
+    /**
+     * The {@code k} most relevant solutions for an issue id; all of them when {@code k} is negative
+     */
+    public List<Solution> forIssue(String issueId, int k) {
+        return top(issuesById.get(issueId), k);
+    }
+
+    /**
+     * The {@code k} most relevant solutions for an issue title. Titles outside the catalog
+     * are ranked on the spot by the keyword rules.
+     */
+    public List<Solution> forIssueTitle(String title, int k) {
+        Ranking ranking = issuesByTitle.get(title);
+        if (ranking == null && title != null) {
+            float[] weights = new float[solutions.length];
+            addKeywordEdges(KEYWORD_MATCHER.firstRule(title), weights);
+            addDefaultEdgesIfUnlinked(weights);
+            ranking = rank(weights);
+        }
+        return top(ranking, k);
+    }
+
+    /**
+     * The {@code k} most relevant solutions for a sub-issue of a catalog issue
+     */
+    public List<Solution> forSubIssue(SubIssue subIssue, int k) {
+        return top(subIssues.get(subIssue), k);
+    }
+
+    /**
+     * Edge weight from an issue id to a solution, 0 when they are not linked
+     */
+    public float weight(String issueId, Solution solution) {
+        Ranking ranking = issuesById.get(issueId);
+        if (ranking == null) {
+            return 0f;
+        }
+        for (int i = 0; i < ranking.solutions.size(); i++) {
+            if (ranking.solutions.get(i) == solution) {
+                return ranking.weights[i];
+            }
+        }
+        return 0f;
+    }
+
+    private static List<Solution> top(Ranking ranking, int k) {
+        if (ranking == null) {
+            return Collections.emptyList();
+        }
+        List<Solution> ranked = ranking.solutions;
+        return k < 0 || k >= ranked.size() ? ranked : ranked.subList(0, k);
+    }
+
+    // --- Edge rules ---
+
+    private void addKeywordEdges(int rule, float[] weights) {
+        if (rule == KeywordMatcher.NO_MATCH) {
+            return;
+        }
+        SolutionType[] types = KEYWORD_TYPES[rule];
+        for (int t = 0; t < types.length; t++) {
+            addTypeEdges(types[t], t == 0 ? KEYWORD_PRIMARY : KEYWORD_SECONDARY, weights);
+        }
+    }
+
+    private void addTypeEdges(SolutionType type, float weight, float[] weights) {
+        for (int id : solutionsByType[type.ordinal()]) {
+            weights[id] += weight;
+        }
+    }
+
+    private void addRelatedEdges(SubIssue subIssue, float[] weights) {
+        List<String> related = subIssue.getRelatedSolutions();
+        if (related == null) {
+            return;
+        }
+        for (String name : related) {
+            Integer id = solutionIds.get(name);
+            if (id != null) {
+                weights[id] += RELATED_SOLUTION;
+            }
+        }
+    }
+
+    private void addDefaultEdgesIfUnlinked(float[] weights) {
+        for (float weight : weights) {
+            if (weight > 0f) {
+                return;
+            }
+        }
+        for (String name : DEFAULT_SOLUTIONS) {
+            Integer id = solutionIds.get(name);
+            if (id != null) {
+                weights[id] += DEFAULT_MIX;
+            }
+        }
+    }
+
+    /**
+     * Linked solutions by descending weight, then effectiveness, then catalog order
+     */
+    private Ranking rank(float[] weights) {
+        int count = 0;
+        for (float weight : weights) {
+            if (weight > 0f) {
+                count++;
+            }
+        }
+        Integer[] order = new Integer[count];
+        int n = 0;
+        for (int id = 0; id < weights.length; id++) {
+            if (weights[id] > 0f) {
+                order[n++] = id;
+            }
+        }
+        Arrays.sort(order, (a, b) -> {
+            if (weights[a] != weights[b]) {
+                return Float.compare(weights[b], weights[a]);
+            }
+            int byEffectiveness = Double.compare(solutions[b].getEffectiveness(), solutions[a].getEffectiveness());
+            return byEffectiveness != 0 ? byEffectiveness : Integer.compare(a, b);
+        });
+        List<Solution> ranked = new ArrayList<>(count);
+        float[] rankedWeights = new float[count];
+        for (int i = 0; i < count; i++) {
+            ranked.add(solutions[order[i]]);
+            rankedWeights[i] = weights[order[i]];
+        }
+        return new Ranking(Collections.unmodifiableList(ranked), rankedWeights);
+    }
+
+    private static final class Ranking {
+        final List<Solution> solutions;
+        final float[] weights;
+
+        Ranking(List<Solution> solutions, float[] weights) {
+            this.solutions = solutions;
+            this.weights = weights;
+        }
+    }
+}
@@ -0,0 +1,568 @@
+package com.climasim.data.query;
+
+import com.climasim.data.models.ClimateIssue;
+import com.climasim.data.models.Solution;
+import com.climasim.data.models.SubIssue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prebuilt inverted index over issues, sub-issues and solutions.
+ *
+ * Text is lowercased and split into tokens once, at build time. Term ids follow the
+ * sorted order of the terms, so all terms starting with a prefix form one contiguous
+ * id range found by binary search. Postings are stored as flat arrays. A trigram index
+ * over the terms handles substring matches such as "forest" inside "deforestation".
+ *
+ * A query matches a document when every query token matches one of its terms,
+ * either exactly, as a prefix or as a substring. Matches score in that order and are
+ * weighted by the field they came from: titles and names count more than descriptions,
+ * causes and consequences.
+ *
+ * Instances are immutable. {@link #build} re-tokenizes only the documents whose text
+ * changed since the previous index and reuses the analysis of the rest.
+ */
+public final class SearchIndex {
+
+    public static final SearchIndex EMPTY = build(Collections.emptyList(), Collections.emptyList(), null);
+
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float NAME_WEIGHT = 2.0f;
+    private static final float TEXT_WEIGHT = 1.0f;
+
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.6f;
+    private static final float SUBSTRING_MATCH = 0.3f;
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private final Document[] documents;
+    private final Map<String, Document> documentsByKey;
+
+    private final String[] terms; // Sorted; the index is the term id
+    private final int[] postingOffsets; // Per term, into postingDocs / postingWeights
+    private final int[] postingDocs;
+    private final float[] postingWeights;
+
+    private final Map<Long, int[]> trigramTerms; // Packed trigram -> sorted term ids
+
+    // Per-thread query buffers, so a keystroke does not allocate document-sized arrays
+    private final ThreadLocal<Scratch> scratchBuffers = new ThreadLocal<>();
+
+    private SearchIndex(Document[] documents, Map<String, Document> documentsByKey, String[] terms,
+            int[] postingOffsets, int[] postingDocs, float[] postingWeights, Map<Long, int[]> trigramTerms) {
+        this.documents = documents;
+        this.documentsByKey = documentsByKey;
+        this.terms = terms;
+        this.postingOffsets = postingOffsets;
+        this.postingDocs = postingDocs;
+        this.postingWeights = postingWeights;
+        this.trigramTerms = trigramTerms;
+    }
+
+    /**
+     * Index the given issues (with their sub-issues) and solutions, reusing the
+     * token analysis of documents in {@code previous} whose text is unchanged
+     */
+    public static SearchIndex build(Collection<ClimateIssue> issues, Collection<Solution> solutions,
+            SearchIndex previous) {
+        Map<String, Document> previousDocs = previous != null ? previous.documentsByKey : Collections.emptyMap();
+        List<Document> documents = new ArrayList<>();
+        Map<String, Document> byKey = new LinkedHashMap<>();
+
+        for (ClimateIssue issue : issues) {
+            String issueKey = "i:" + issue.getId() + ":" + issue.getTitle();
+            addDocument(documents, byKey, previousDocs, issueKey, SearchResult.Kind.ISSUE, issue, null, null,
+                    new String[] { issue.getTitle(), issue.getDescription(), issue.getDetails() },
+                    new float[] { TITLE_WEIGHT, TEXT_WEIGHT, TEXT_WEIGHT });
+            List<SubIssue> subIssues = issue.getSubIssues();
+            if (subIssues == null) {
+                continue;
+            }
+            for (int i = 0; i < subIssues.size(); i++) {
+                SubIssue subIssue = subIssues.get(i);
+                String causes = subIssue.getCauses() != null ? String.join(" ", subIssue.getCauses()) : null;
+                String consequences = subIssue.getConsequences() != null
+                        ? String.join(" ", subIssue.getConsequences()) : null;
+                addDocument(documents, byKey, previousDocs, issueKey + "/" + i, SearchResult.Kind.SUB_ISSUE,
+                        issue, subIssue, null,
+                        new String[] { subIssue.getName(), subIssue.getDescription(), causes, consequences },
+                        new float[] { NAME_WEIGHT, TEXT_WEIGHT, TEXT_WEIGHT, TEXT_WEIGHT });
+            }
+        }
+        for (Solution solution : solutions) {
+            addDocument(documents, byKey, previousDocs, "s:" + solution.getName(), SearchResult.Kind.SOLUTION,
+                    null, null, solution,
+                    new String[] { solution.getName(), solution.getDescription() },
+                    new float[] { TITLE_WEIGHT, TEXT_WEIGHT });
+        }
+        return index(documents.toArray(new Document[0]), byKey);
+    }
+
+    private static void addDocument(List<Document> documents, Map<String, Document> byKey,
+            Map<String, Document> previousDocs, String key, SearchResult.Kind kind, ClimateIssue issue,
+            SubIssue subIssue, Solution solution, String[] fields, float[] fieldWeights) {
+        int fingerprint = Arrays.hashCode(fields);
+        Document old = previousDocs.get(key);
+        Analysis analysis = old != null && old.fingerprint == fingerprint && Arrays.equals(old.fields, fields)
+                ? old.analysis : analyze(fields, fieldWeights);
+        Document document = new Document(kind, issue, subIssue, solution, fields, fingerprint, analysis);
+        documents.add(document);
+        byKey.put(key, document);
+    }
+
+    /**
+     * Build the term dictionary, postings and trigram index over analyzed documents
+     */
+    private static SearchIndex index(Document[] documents, Map<String, Document> byKey) {
+        Map<String, Integer> termCounts = new HashMap<>();
+        for (Document document : documents) {
+            for (String token : document.analysis.tokens) {
+                termCounts.merge(token, 1, Integer::sum);
+            }
+        }
+        String[] terms = termCounts.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        Map<String, Integer> termIds = new HashMap<>(terms.length * 2);
+        int[] postingOffsets = new int[terms.length + 1];
+        for (int id = 0; id < terms.length; id++) {
+            termIds.put(terms[id], id);
+            postingOffsets[id + 1] = postingOffsets[id] + termCounts.get(terms[id]);
+        }
+
+        int[] postingDocs = new int[postingOffsets[terms.length]];
+        float[] postingWeights = new float[postingDocs.length];
+        int[] fill = Arrays.copyOf(postingOffsets, terms.length);
+        for (int doc = 0; doc < documents.length; doc++) {
+            Analysis analysis = documents[doc].analysis;
+            for (int t = 0; t < analysis.tokens.length; t++) {
+                int slot = fill[termIds.get(analysis.tokens[t])]++;
+                postingDocs[slot] = doc;
+                postingWeights[slot] = analysis.weights[t];
+            }
+        }
+
+        Map<Long, List<Integer>> trigramLists = new HashMap<>();
+        for (int id = 0; id < terms.length; id++) {
+            String term = terms[id];
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                List<Integer> ids = trigramLists.computeIfAbsent(trigram(term, i), k -> new ArrayList<>());
+                if (ids.isEmpty() || ids.get(ids.size() - 1) != id) {
+                    ids.add(id);
+                }
+            }
+        }
+        Map<Long, int[]> trigramTerms = new HashMap<>(trigramLists.size() * 2);
+        for (Map.Entry<Long, List<Integer>> entry : trigramLists.entrySet()) {
+            trigramTerms.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return new SearchIndex(documents, byKey, terms, postingOffsets, postingDocs, postingWeights, trigramTerms);
+    }
+
+    // --- Queries ---
+
+    /**
+     * Ranked hits for {@code query}, best first, at most {@code limit} of them.
+     * Every query token also matches as a prefix, so partial input finds results.
+     * A query without tokens has no hits.
+     */
+    public List<SearchResult> search(String query, int limit) {
+        String[] queryTokens = tokenize(query, 1);
+        if (queryTokens.length == 0 || documents.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Scratch scratch = scratch();
+        int firstStamp = scratch.reserveStamps(queryTokens.length);
+        int candidateCount = 0;
+
+        for (int q = 0; q < queryTokens.length; q++) {
+            int stamp = firstStamp + q;
+            int touchedCount = 0;
+            String token = queryTokens[q];
+            int from = lowerBound(token);
+            int to = prefixEnd(token, from);
+            for (int id = from; id < to; id++) {
+                float match = terms[id].length() == token.length() ? EXACT_MATCH : PREFIX_MATCH;
+                touchedCount = collect(id, match, stamp, scratch, touchedCount);
+            }
+            for (int id : substringTerms(token)) {
+                if (id < from || id >= to) {
+                    touchedCount = collect(id, SUBSTRING_MATCH, stamp, scratch, touchedCount);
+                }
+            }
+            // A document stays a candidate only while it matches every token so far
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = scratch.touched[i];
+                if (q == 0) {
+                    scratch.scores[doc] = scratch.tokenBest[doc];
+                    scratch.matched[doc] = stamp;
+                    scratch.candidates[candidateCount++] = doc;
+                } else if (scratch.matched[doc] == stamp - 1) {
+                    scratch.scores[doc] += scratch.tokenBest[doc];
+                    scratch.matched[doc] = stamp;
+                }
+            }
+        }
+
+        int lastStamp = firstStamp + queryTokens.length - 1;
+        TopHits top = new TopHits(Math.min(limit, candidateCount), scratch.scores);
+        for (int i = 0; i < candidateCount; i++) {
+            int doc = scratch.candidates[i];
+            if (scratch.matched[doc] == lastStamp) {
+                top.offer(doc);
+            }
+        }
+        int[] ranked = top.drainBestFirst();
+        List<SearchResult> results = new ArrayList<>(ranked.length);
+        for (int doc : ranked) {
+            Document document = documents[doc];
+            results.add(new SearchResult(document.kind, document.issue, document.subIssue, document.solution,
+                    scratch.scores[doc]));
+        }
+        return results;
+    }
+
+    /**
+     * Distinct issues matching {@code query} directly or through a sub-issue, best first.
+     * A blank query matches every issue, in index order.
+     */
+    public List<ClimateIssue> searchIssues(String query) {
+        Map<ClimateIssue, Boolean> issues = new LinkedHashMap<>();
+        if (tokenize(query, 1).length == 0) {
+            for (Document document : documents) {
+                if (document.issue != null) {
+                    issues.put(document.issue, Boolean.TRUE);
+                }
+            }
+            return new ArrayList<>(issues.keySet());
+        }
+        for (SearchResult result : search(query, documents.length)) {
+            if (result.getIssue() != null) {
+                issues.put(result.getIssue(), Boolean.TRUE);
+            }
+        }
+        return new ArrayList<>(issues.keySet());
+    }
+
+    public int getDocumentCount() {
+        return documents.length;
+    }
+
+    public int getTermCount() {
+        return terms.length;
+    }
+
+    /**
+     * Record the best score of one query token per document across the terms it matches
+     */
+    private int collect(int termId, float match, int stamp, Scratch scratch, int touchedCount) {
+        for (int p = postingOffsets[termId]; p < postingOffsets[termId + 1]; p++) {
+            int doc = postingDocs[p];
+            float score = match * postingWeights[p];
+            if (scratch.tokenStamp[doc] != stamp) {
+                scratch.tokenStamp[doc] = stamp;
+                scratch.tokenBest[doc] = score;
+                scratch.touched[touchedCount++] = doc;
+            } else if (score > scratch.tokenBest[doc]) {
+                scratch.tokenBest[doc] = score;
+            }
+        }
+        return touchedCount;
+    }
+
+    private Scratch scratch() {
+        Scratch scratch = scratchBuffers.get();
+        if (scratch == null || scratch.scores.length < documents.length) {
+            scratch = new Scratch(documents.length);
+            scratchBuffers.set(scratch);
+        }
+        return scratch;
+    }
+
+    /**
+     * First term id not sorting before {@code token}
+     */
+    private int lowerBound(String token) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(token) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * End of the id range of terms starting with {@code prefix}, which begins at {@code from}
+     */
+    private int prefixEnd(String prefix, int from) {
+        int low = from;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ids of terms containing {@code token} past their first character, found by
+     * intersecting the token's trigram lists and verifying the candidates
+     */
+    private int[] substringTerms(String token) {
+        if (token.length() < 3) {
+            return new int[0];
+        }
+        int[] candidates = null;
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            int[] ids = trigramTerms.get(trigram(token, i));
+            if (ids == null) {
+                return new int[0];
+            }
+            candidates = candidates == null ? ids : intersect(candidates, ids);
+            if (candidates.length == 0) {
+                return candidates;
+            }
+        }
+        int count = 0;
+        int[] matches = new int[candidates.length];
+        for (int id : candidates) {
+            if (terms[id].indexOf(token, 1) >= 0) {
+                matches[count++] = id;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // --- Analysis ---
+
+    static String[] tokenize(String text) {
+        return tokenize(text, MIN_TOKEN_LENGTH);
+    }
+
+    /**
+     * Lowercase and split on anything that is not a letter or digit
+     */
+    static String[] tokenize(String text, int minLength) {
+        if (text == null || text.isEmpty()) {
+            return new String[0];
+        }
+        List<String> tokens = new ArrayList<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= minLength) {
+                    tokens.add(lower.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * Unique tokens of a document's fields, each with the highest weight of a field it appears in
+     */
+    private static Analysis analyze(String[] fields, float[] fieldWeights) {
+        Map<String, Float> weights = new LinkedHashMap<>();
+        for (int f = 0; f < fields.length; f++) {
+            for (String token : tokenize(fields[f])) {
+                weights.merge(token, fieldWeights[f], Math::max);
+            }
+        }
+        String[] tokens = new String[weights.size()];
+        float[] tokenWeights = new float[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Float> entry : weights.entrySet()) {
+            tokens[i] = entry.getKey();
+            tokenWeights[i] = entry.getValue();
+            i++;
+        }
+        return new Analysis(tokens, tokenWeights);
+    }
+
+    private static long trigram(String text, int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    /**
+     * Reusable per-query arrays indexed by document. Stamps mark which query token last
+     * wrote an entry, so nothing has to be cleared between queries.
+     */
+    private static final class Scratch {
+        final float[] scores;
+        final float[] tokenBest;
+        final int[] tokenStamp;
+        final int[] matched;
+        final int[] touched;
+        final int[] candidates;
+        int nextStamp = 1;
+
+        Scratch(int size) {
+            scores = new float[size];
+            tokenBest = new float[size];
+            tokenStamp = new int[size];
+            matched = new int[size];
+            touched = new int[size];
+            candidates = new int[size];
+        }
+
+        int reserveStamps(int count) {
+            if (nextStamp > Integer.MAX_VALUE - count) {
+                Arrays.fill(tokenStamp, 0);
+                Arrays.fill(matched, 0);
+                nextStamp = 1;
+            }
+            int first = nextStamp;
+            nextStamp += count;
+            return first;
+        }
+    }
+
+    /**
+     * Bounded min-heap keeping the best documents by score, ties broken by document order
+     */
+    private static final class TopHits {
+        private final int[] heap;
+        private final float[] scores;
+        private int size;
+
+        TopHits(int capacity, float[] scores) {
+            this.heap = new int[capacity];
+            this.scores = scores;
+        }
+
+        void offer(int doc) {
+            if (heap.length == 0) {
+                return;
+            }
+            if (size < heap.length) {
+                heap[size] = doc;
+                siftUp(size++);
+            } else if (better(doc, heap[0])) {
+                heap[0] = doc;
+                siftDown(0);
+            }
+        }
+
+        int[] drainBestFirst() {
+            int[] ranked = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ranked[i] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return ranked;
+        }
+
+        private boolean better(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] > scores[b] : a < b;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(heap[parent], heap[i])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && better(heap[worst], heap[left])) {
+                    worst = left;
+                }
+                if (right < size && better(heap[worst], heap[right])) {
+                    worst = right;
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int t = heap[a];
+            heap[a] = heap[b];
+            heap[b] = t;
+        }
+    }
+
+    private static final class Analysis {
+        final String[] tokens;
+        final float[] weights;
+
+        Analysis(String[] tokens, float[] weights) {
+            this.tokens = tokens;
+            this.weights = weights;
+        }
+    }
+
+    private static final class Document {
+        final SearchResult.Kind kind;
+        final ClimateIssue issue;
+        final SubIssue subIssue;
+        final Solution solution;
+        final String[] fields;
+        final int fingerprint;
+        final Analysis analysis;
+
+        Document(SearchResult.Kind kind, ClimateIssue issue, SubIssue subIssue, Solution solution, String[] fields,
+                int fingerprint, Analysis analysis) {
+            this.kind = kind;
+            this.issue = issue;
+            this.subIssue = subIssue;
+            this.solution = solution;
+            this.fields = fields;
+            this.fingerprint = fingerprint;
+            this.analysis = analysis;
+        }
+    }
+}
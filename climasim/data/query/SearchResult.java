@@ -0,0 +1,77 @@
+package com.climasim.data.query;
+
+import com.climasim.data.models.ClimateIssue;
+import com.climasim.data.models.Solution;
+import com.climasim.data.models.SubIssue;
+
+/**
+ * One ranked search hit: an issue, a sub-issue of an issue, or a solution
+ */
+public final class SearchResult {
+
+    public enum Kind {
+        ISSUE,
+        SUB_ISSUE,
+        SOLUTION
+    }
+
+    private final Kind kind;
+    private final ClimateIssue issue;
+    private final SubIssue subIssue;
+    private final Solution solution;
+    private final float score;
+
+    SearchResult(Kind kind, ClimateIssue issue, SubIssue subIssue, Solution solution, float score) {
+        this.kind = kind;
+        this.issue = issue;
+        this.subIssue = subIssue;
+        this.solution = solution;
+        this.score = score;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * The matching issue, or the parent issue of a matching sub-issue; null for solutions
+     */
+    public ClimateIssue getIssue() {
+        return issue;
+    }
+
+    public SubIssue getSubIssue() {
+        return subIssue;
+    }
+
+    public Solution getSolution() {
+        return solution;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    /**
+     * Display title of the hit
+     */
+    public String getTitle() {
+        switch (kind) {
+            case SUB_ISSUE:
+                return subIssue.getName();
+            case SOLUTION:
+                return solution.getName();
+            default:
+                return issue.getTitle();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResult{" +
+                "kind=" + kind +
+                ", title=" + getTitle() +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -0,0 +1,125 @@
+package com.climasim.data.query;
+
+import com.climasim.data.models.Solution;
+import com.climasim.data.models.SolutionType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Solution lists the UI reads every frame, computed once per data generation.
+ *
+ * Per type, solutions are kept twice: most effective first (cheaper first on ties)
+ * and cheapest first (more effective first on ties). All lists are unmodifiable and
+ * shared by every caller, so reading them allocates nothing.
+ */
+public final class SolutionIndex {
+
+    public static final SolutionIndex EMPTY = build(Collections.emptyList());
+
+    /**
+     * Solution types that take donations through the donations screen
+     */
+    private static final Set<SolutionType> DONATION_TYPES = EnumSet.of(SolutionType.REFORESTATION,
+            SolutionType.CONSERVATION, SolutionType.RENEWABLE_ENERGY, SolutionType.CARBON_CAPTURE);
+
+    private static final int DONATION_FALLBACK_LIMIT = 6;
+
+    private static final Comparator<Solution> BY_EFFECTIVENESS = Comparator
+            .comparingDouble(Solution::getEffectiveness).reversed()
+            .thenComparingDouble(Solution::getCost);
+
+    private static final Comparator<Solution> BY_COST = Comparator
+            .comparingDouble(Solution::getCost)
+            .thenComparing(BY_EFFECTIVENESS);
+
+    private final Map<SolutionType, List<Solution>> byEffectiveness;
+    private final Map<SolutionType, List<Solution>> byCost;
+    private final List<Solution> donationProjects;
+    private final List<Solution> donationFallback;
+
+    private SolutionIndex(Map<SolutionType, List<Solution>> byEffectiveness,
+            Map<SolutionType, List<Solution>> byCost, List<Solution> donationProjects,
+            List<Solution> donationFallback) {
+        this.byEffectiveness = byEffectiveness;
+        this.byCost = byCost;
+        this.donationProjects = donationProjects;
+        this.donationFallback = donationFallback;
+    }
+
+    /**
+     * Index the solutions, keeping their iteration order wherever no sort applies
+     */
+    public static SolutionIndex build(Collection<Solution> solutions) {
+        Map<SolutionType, List<Solution>> grouped = new EnumMap<>(SolutionType.class);
+        List<Solution> donationProjects = new ArrayList<>();
+        List<Solution> donationFallback = new ArrayList<>();
+        for (Solution solution : solutions) {
+            if (solution.getType() != null) {
+                grouped.computeIfAbsent(solution.getType(), t -> new ArrayList<>()).add(solution);
+            }
+            if (DONATION_TYPES.contains(solution.getType())) {
+                donationProjects.add(solution);
+            }
+            if (solution.isRequiresDonation() && donationFallback.size() < DONATION_FALLBACK_LIMIT) {
+                donationFallback.add(solution);
+            }
+        }
+
+        Map<SolutionType, List<Solution>> byEffectiveness = new EnumMap<>(SolutionType.class);
+        Map<SolutionType, List<Solution>> byCost = new EnumMap<>(SolutionType.class);
+        for (Map.Entry<SolutionType, List<Solution>> entry : grouped.entrySet()) {
+            byEffectiveness.put(entry.getKey(), sorted(entry.getValue(), BY_EFFECTIVENESS));
+            byCost.put(entry.getKey(), sorted(entry.getValue(), BY_COST));
+        }
+        return new SolutionIndex(Collections.unmodifiableMap(byEffectiveness),
+                Collections.unmodifiableMap(byCost),
+                Collections.unmodifiableList(donationProjects),
+                Collections.unmodifiableList(donationFallback));
+    }
+
+    private static List<Solution> sorted(List<Solution> solutions, Comparator<Solution> order) {
+        List<Solution> copy = new ArrayList<>(solutions);
+        copy.sort(order);
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Solutions of a type, most effective first
+     */
+    public List<Solution> byType(SolutionType type) {
+        return byEffectiveness.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Solutions of a type, cheapest first
+     */
+    public List<Solution> byTypeCheapestFirst(SolutionType type) {
+        return byCost.getOrDefault(type, Collections.emptyList());
+    }
+
+    /**
+     * Non-empty per-type lists in {@link SolutionType} order, most effective first
+     */
+    public Map<SolutionType, List<Solution>> getByType() {
+        return byEffectiveness;
+    }
+
+    public List<Solution> getDonationProjects() {
+        return donationProjects;
+    }
+
+    /**
+     * First few solutions asking for donations, for when no project type is present
+     */
+    public List<Solution> getDonationFallback() {
+        return donationFallback;
+    }
+}
@@ -0,0 +1,500 @@
+package com.climasim.data.store;
+
+import com.climasim.data.models.ClimateIssue;
+import com.climasim.data.models.IssueData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense per-issue yearly time series.
+ *
+ * Every issue is a row over one shared year axis. Severity, trend, economic impact and
+ * affected population live in primitive [row][year] columns stored row-major, so one
+ * issue's series is a contiguous run. Free-form {@link IssueData#getMetrics()} entries
+ * become typed columns registered by name. A column holding only one boxed type keeps
+ * it: integers, longs, floats and doubles in primitive arrays of their own width, flags
+ * in a bit set and strings as ids into a shared table, and each reads back as the type
+ * it was loaded as. Columns mixing types, or holding anything else, keep the original
+ * values. Affected species lists are deduplicated across cells.
+ *
+ * Instances are immutable once built and never modify the issues they were built from.
+ * {@link ClimateIssue#withSeries} gives a copy of an issue that reads its row, and the
+ * primitive per-year accessors there and here read the columns without allocating.
+ */
+public final class IssueSeriesStore {
+
+    public enum ColumnType {
+        INT,
+        LONG,
+        FLOAT,
+        DOUBLE,
+        FLAG,
+        TEXT,
+        OBJECT // Mixed or non-primitive values, kept as loaded
+    }
+
+    public static final IssueSeriesStore EMPTY = build(new ArrayList<>());
+
+    private static final int NONE = -1;
+
+    private final int baseYear;
+    private final int span;
+    private final int rows;
+    private final Map<String, Integer> rowsById;
+
+    private final Column[] columns;
+    private final Map<String, Integer> columnIds;
+    private final String[] strings;
+    private final String[][] speciesSets;
+
+    private final BitSet present; // Cells the issue has data for
+    private final double[] severity;
+    private final double[] trend;
+    private final double[] economicImpact;
+    private final int[] affectedPopulation;
+    private final int[] species; // Index into speciesSets
+
+    /**
+     * One named metric column. Only the array matching the type is allocated.
+     */
+    private static final class Column {
+        final String name;
+        final ColumnType type;
+        final BitSet present;
+        int[] ints; // INT values, or string ids for TEXT
+        long[] longs;
+        double[] doubles; // FLOAT and DOUBLE values
+        BitSet flags;
+        Object[] objects;
+
+        Column(String name, ColumnType type, int cells) {
+            this.name = name;
+            this.type = type;
+            this.present = new BitSet(cells);
+            switch (type) {
+                case INT:
+                case TEXT:
+                    ints = new int[cells];
+                    break;
+                case LONG:
+                    longs = new long[cells];
+                    break;
+                case FLOAT:
+                case DOUBLE:
+                    doubles = new double[cells];
+                    break;
+                case FLAG:
+                    flags = new BitSet(cells);
+                    break;
+                default:
+                    objects = new Object[cells];
+                    break;
+            }
+        }
+    }
+
+    private IssueSeriesStore(int baseYear, int span, int rows, Map<String, Integer> rowsById, Column[] columns,
+            String[] strings, String[][] speciesSets, BitSet present, double[] severity, double[] trend,
+            double[] economicImpact, int[] affectedPopulation, int[] species) {
+        this.baseYear = baseYear;
+        this.span = span;
+        this.rows = rows;
+        this.rowsById = rowsById;
+        this.columns = columns;
+        this.columnIds = new HashMap<>(columns.length * 2);
+        for (int c = 0; c < columns.length; c++) {
+            columnIds.put(columns[c].name, c);
+        }
+        this.strings = strings;
+        this.speciesSets = speciesSets;
+        this.present = present;
+        this.severity = severity;
+        this.trend = trend;
+        this.economicImpact = economicImpact;
+        this.affectedPopulation = affectedPopulation;
+        this.species = species;
+    }
+
+    /**
+     * Pack the yearly data of the issues into columns, one row per issue in iteration
+     * order. The issues are only read.
+     */
+    public static IssueSeriesStore build(Collection<ClimateIssue> issues) {
+        ClimateIssue[] rowIssues = issues.toArray(new ClimateIssue[0]);
+        List<Map<Integer, IssueData>> yearly = new ArrayList<>(rowIssues.length);
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+        Map<String, ColumnType> schema = new LinkedHashMap<>();
+        for (ClimateIssue issue : rowIssues) {
+            Map<Integer, IssueData> data = issue.getYearlyData();
+            yearly.add(data);
+            if (data == null) {
+                continue;
+            }
+            for (Map.Entry<Integer, IssueData> entry : data.entrySet()) {
+                minYear = Math.min(minYear, entry.getKey());
+                maxYear = Math.max(maxYear, entry.getKey());
+                Map<String, Object> metrics = entry.getValue() != null ? entry.getValue().getMetrics() : null;
+                if (metrics != null) {
+                    for (Map.Entry<String, Object> metric : metrics.entrySet()) {
+                        if (metric.getValue() != null) {
+                            schema.merge(metric.getKey(), typeOf(metric.getValue()), IssueSeriesStore::widen);
+                        }
+                    }
+                }
+            }
+        }
+        int baseYear = minYear <= maxYear ? minYear : 0;
+        int span = minYear <= maxYear ? maxYear - minYear + 1 : 0;
+        int rows = rowIssues.length;
+        int cells = Math.multiplyExact(rows, span);
+
+        Column[] columns = new Column[schema.size()];
+        Map<String, Integer> columnIds = new HashMap<>(columns.length * 2);
+        int c = 0;
+        for (Map.Entry<String, ColumnType> entry : schema.entrySet()) {
+            columnIds.put(entry.getKey(), c);
+            columns[c++] = new Column(entry.getKey(), entry.getValue(), cells);
+        }
+        BitSet present = new BitSet(cells);
+        double[] severity = new double[cells];
+        double[] trend = new double[cells];
+        double[] economicImpact = new double[cells];
+        int[] affectedPopulation = new int[cells];
+        int[] species = new int[cells];
+        Arrays.fill(species, NONE);
+
+        Map<String, Integer> stringIds = new LinkedHashMap<>();
+        Map<List<String>, Integer> speciesIds = new LinkedHashMap<>();
+        Map<String, Integer> rowsById = new HashMap<>(rows * 2);
+        for (int row = 0; row < rows; row++) {
+            rowsById.putIfAbsent(rowIssues[row].getId(), row);
+            Map<Integer, IssueData> data = yearly.get(row);
+            if (data == null) {
+                continue;
+            }
+            for (Map.Entry<Integer, IssueData> entry : data.entrySet()) {
+                IssueData cell = entry.getValue();
+                if (cell == null) {
+                    continue;
+                }
+                int i = row * span + entry.getKey() - baseYear;
+                present.set(i);
+                severity[i] = cell.getSeverity();
+                trend[i] = cell.getTrend();
+                economicImpact[i] = cell.getEconomicImpact();
+                affectedPopulation[i] = cell.getAffectedPopulation();
+                if (cell.getAffectedSpecies() != null) {
+                    species[i] = speciesIds.computeIfAbsent(Arrays.asList(cell.getAffectedSpecies().clone()),
+                            k -> speciesIds.size());
+                }
+                if (cell.getMetrics() == null) {
+                    continue;
+                }
+                for (Map.Entry<String, Object> metric : cell.getMetrics().entrySet()) {
+                    Object value = metric.getValue();
+                    if (value == null) {
+                        continue;
+                    }
+                    Column column = columns[columnIds.get(metric.getKey())];
+                    column.present.set(i);
+                    switch (column.type) {
+                        case INT:
+                            column.ints[i] = (Integer) value;
+                            break;
+                        case LONG:
+                            column.longs[i] = (Long) value;
+                            break;
+                        case FLOAT:
+                        case DOUBLE:
+                            column.doubles[i] = ((Number) value).doubleValue();
+                            break;
+                        case FLAG:
+                            column.flags.set(i, (Boolean) value);
+                            break;
+                        case TEXT:
+                            column.ints[i] = stringIds.computeIfAbsent((String) value, k -> stringIds.size());
+                            break;
+                        default:
+                            column.objects[i] = value;
+                            break;
+                    }
+                }
+            }
+        }
+
+        String[][] speciesSets = new String[speciesIds.size()][];
+        for (Map.Entry<List<String>, Integer> entry : speciesIds.entrySet()) {
+            speciesSets[entry.getValue()] = entry.getKey().toArray(new String[0]);
+        }
+        return new IssueSeriesStore(baseYear, span, rows, rowsById, columns,
+                stringIds.keySet().toArray(new String[0]), speciesSets, present, severity, trend, economicImpact,
+                affectedPopulation, species);
+    }
+
+    private static ColumnType typeOf(Object value) {
+        if (value instanceof Integer) {
+            return ColumnType.INT;
+        } else if (value instanceof Long) {
+            return ColumnType.LONG;
+        } else if (value instanceof Float) {
+            return ColumnType.FLOAT;
+        } else if (value instanceof Double) {
+            return ColumnType.DOUBLE;
+        } else if (value instanceof Boolean) {
+            return ColumnType.FLAG;
+        }
+        return value instanceof String ? ColumnType.TEXT : ColumnType.OBJECT;
+    }
+
+    /**
+     * Columns mixing types keep their values as objects
+     */
+    private static ColumnType widen(ColumnType a, ColumnType b) {
+        return a == b ? a : ColumnType.OBJECT;
+    }
+
+    // --- Shape ---
+
+    public int getBaseYear() {
+        return baseYear;
+    }
+
+    public int getYearSpan() {
+        return span;
+    }
+
+    public int rowCount() {
+        return rows;
+    }
+
+    /**
+     * Row of the issue with this id, or -1
+     */
+    public int rowOf(String issueId) {
+        Integer row = rowsById.get(issueId);
+        return row != null ? row : NONE;
+    }
+
+    /**
+     * Whether the row has data for any year
+     */
+    public boolean hasRow(int row) {
+        if (row < 0 || row >= rows) {
+            return false;
+        }
+        int next = present.nextSetBit(row * span);
+        return next >= 0 && next < (row + 1) * span;
+    }
+
+    private int cell(int row, int year) {
+        int offset = year - baseYear;
+        return row >= 0 && row < rows && offset >= 0 && offset < span ? row * span + offset : NONE;
+    }
+
+    // --- Fixed columns ---
+
+    public boolean has(int row, int year) {
+        int i = cell(row, year);
+        return i >= 0 && present.get(i);
+    }
+
+    /**
+     * Severity for the year, or NaN when the issue has no data for it
+     */
+    public double getSeverity(int row, int year) {
+        int i = cell(row, year);
+        return i >= 0 && present.get(i) ? severity[i] : Double.NaN;
+    }
+
+    public double getTrend(int row, int year) {
+        int i = cell(row, year);
+        return i >= 0 && present.get(i) ? trend[i] : Double.NaN;
+    }
+
+    public double getEconomicImpact(int row, int year) {
+        int i = cell(row, year);
+        return i >= 0 && present.get(i) ? economicImpact[i] : Double.NaN;
+    }
+
+    public int getAffectedPopulation(int row, int year) {
+        int i = cell(row, year);
+        return i >= 0 ? affectedPopulation[i] : 0;
+    }
+
+    /**
+     * Affected species for the year, or null. The array is shared; do not modify it.
+     */
+    public String[] getAffectedSpecies(int row, int year) {
+        int i = cell(row, year);
+        return i >= 0 && species[i] != NONE ? speciesSets[species[i]] : null;
+    }
+
+    /**
+     * Copy an issue's severity series into {@code out}, indexed by {@code year - getBaseYear()},
+     * with NaN for years without data
+     */
+    public double[] severitySeries(int row, double[] out) {
+        double[] series = out != null && out.length >= span ? out : new double[span];
+        Arrays.fill(series, 0, span, Double.NaN);
+        if (row >= 0 && row < rows) {
+            int first = row * span;
+            for (int i = present.nextSetBit(first); i >= 0 && i < first + span; i = present.nextSetBit(i + 1)) {
+                series[i - first] = severity[i];
+            }
+        }
+        return series;
+    }
+
+    // --- Named metric columns ---
+
+    /**
+     * Id of the metric column registered under {@code name}, or -1
+     */
+    public int columnOf(String name) {
+        Integer column = columnIds.get(name);
+        return column != null ? column : NONE;
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    public String getColumnName(int column) {
+        return columns[column].name;
+    }
+
+    public ColumnType getColumnType(int column) {
+        return columns[column].type;
+    }
+
+    public boolean hasValue(int row, int year, int column) {
+        int i = cell(row, year);
+        return i >= 0 && columns[column].present.get(i);
+    }
+
+    /**
+     * Value of a numeric column widened to double, flags reading as 0 or 1. NaN when
+     * the value is missing or the column is not numeric.
+     */
+    public double getDouble(int row, int year, int column) {
+        Column values = columns[column];
+        int i = cell(row, year);
+        if (i < 0 || !values.present.get(i)) {
+            return Double.NaN;
+        }
+        switch (values.type) {
+            case INT:
+                return values.ints[i];
+            case LONG:
+                return values.longs[i];
+            case FLOAT:
+            case DOUBLE:
+                return values.doubles[i];
+            case FLAG:
+                return values.flags.get(i) ? 1 : 0;
+            default:
+                return values.objects != null && values.objects[i] instanceof Number
+                        ? ((Number) values.objects[i]).doubleValue() : Double.NaN;
+        }
+    }
+
+    /**
+     * Exact value of an {@link ColumnType#INT} or {@link ColumnType#LONG} column, or 0
+     * when missing; check {@link #hasValue} to tell the two apart
+     */
+    public long getLong(int row, int year, int column) {
+        Column values = columns[column];
+        if (values.type != ColumnType.INT && values.type != ColumnType.LONG) {
+            throw new IllegalArgumentException("Metric column " + values.name + " holds " + values.type + " values");
+        }
+        int i = cell(row, year);
+        if (i < 0 || !values.present.get(i)) {
+            return 0;
+        }
+        return values.type == ColumnType.INT ? values.ints[i] : values.longs[i];
+    }
+
+    /**
+     * Value of a flag column, false when missing
+     */
+    public boolean getFlag(int row, int year, int column) {
+        Column values = columns[column];
+        int i = cell(row, year);
+        return values.flags != null && i >= 0 && values.flags.get(i);
+    }
+
+    /**
+     * Value of a text column, or null when missing
+     */
+    public String getText(int row, int year, int column) {
+        Column values = columns[column];
+        int i = cell(row, year);
+        return values.type == ColumnType.TEXT && i >= 0 && values.present.get(i) ? strings[values.ints[i]] : null;
+    }
+
+    /**
+     * Value of any column boxed as the type it was loaded as, or null when missing
+     */
+    public Object getValue(int row, int year, int column) {
+        int i = cell(row, year);
+        return i >= 0 ? metricValue(columns[column], i) : null;
+    }
+
+    /**
+     * Standalone {@link IssueData} for one cell, or null when the issue has no data for the year
+     */
+    public IssueData toIssueData(int row, int year) {
+        int i = cell(row, year);
+        if (i < 0 || !present.get(i)) {
+            return null;
+        }
+        IssueData data = new IssueData(year, severity[i], trend[i]);
+        data.setEconomicImpact(economicImpact[i]);
+        data.setAffectedPopulation(affectedPopulation[i]);
+        if (species[i] != NONE) {
+            data.setAffectedSpecies(speciesSets[species[i]].clone());
+        }
+        Map<String, Object> metrics = null;
+        for (Column column : columns) {
+            Object value = metricValue(column, i);
+            if (value != null) {
+                if (metrics == null) {
+                    metrics = new LinkedHashMap<>();
+                }
+                metrics.put(column.name, value);
+            }
+        }
+        data.setMetrics(metrics);
+        return data;
+    }
+
+    private Object metricValue(Column column, int i) {
+        if (!column.present.get(i)) {
+            return null;
+        }
+        switch (column.type) {
+            case INT:
+                return column.ints[i];
+            case LONG:
+                return column.longs[i];
+            case FLOAT:
+                return (float) column.doubles[i];
+            case DOUBLE:
+                return column.doubles[i];
+            case FLAG:
+                return column.flags.get(i);
+            case TEXT:
+                return strings[column.ints[i]];
+            default:
+                return column.objects[i];
+        }
+    }
+}
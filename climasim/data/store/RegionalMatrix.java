@@ -0,0 +1,140 @@
+package com.climasim.data.store;
+
+import com.climasim.data.models.Region;
+
+import java.util.Arrays;
+
+/**
+ * Dense [row][region] float matrix stored row-major in one array.
+ *
+ * A year slice is a contiguous run of the array and a region series is a strided
+ * walk over it. Missing values are NaN. The region dimension grows to the current
+ * {@link Region#count()} whenever a value is written for an id beyond it.
+ */
+final class RegionalMatrix {
+
+    private final int rows;
+    private int width;
+    private float[] values;
+
+    RegionalMatrix(int rows) {
+        this.rows = rows;
+        this.width = 0;
+        this.values = new float[0];
+    }
+
+    int width() {
+        return width;
+    }
+
+    float get(int row, int region) {
+        return region < width ? values[row * width + region] : Float.NaN;
+    }
+
+    void set(int row, int region, float value) {
+        if (region >= width) {
+            if (Float.isNaN(value)) {
+                return;
+            }
+            widen(Math.max(region + 1, Region.count()));
+        }
+        values[row * width + region] = value;
+    }
+
+    /**
+     * Replace a whole row; {@code rowValues} is indexed by region id
+     */
+    void setRow(int row, float[] rowValues) {
+        int last = rowValues.length - 1;
+        while (last >= 0 && Float.isNaN(rowValues[last])) {
+            last--;
+        }
+        if (last >= width) {
+            widen(Math.max(last + 1, Region.count()));
+        }
+        int start = row * width;
+        int copied = Math.min(rowValues.length, width);
+        System.arraycopy(rowValues, 0, values, start, copied);
+        Arrays.fill(values, start + copied, start + width, Float.NaN);
+    }
+
+    /**
+     * Widen to at least {@code regionCount} columns now rather than on a later write
+     */
+    void reserve(int regionCount) {
+        if (regionCount > width) {
+            widen(regionCount);
+        }
+    }
+
+    void clearRow(int row) {
+        Arrays.fill(values, row * width, (row + 1) * width, Float.NaN);
+    }
+
+    /**
+     * True when any row holds a value for the region
+     */
+    boolean hasRegion(int region) {
+        if (region >= width) {
+            return false;
+        }
+        for (int i = region; i < values.length; i += width) {
+            if (!Float.isNaN(values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copy one region's values for every row into {@code out}
+     */
+    float[] series(int region, float[] out) {
+        if (out == null || out.length < rows) {
+            out = new float[rows];
+        }
+        if (region >= width) {
+            Arrays.fill(out, 0, rows, Float.NaN);
+            return out;
+        }
+        for (int row = 0, i = region; row < rows; row++, i += width) {
+            out[row] = values[i];
+        }
+        return out;
+    }
+
+    /**
+     * Copy one row's values, indexed by region id, into {@code out}
+     */
+    float[] slice(int row, float[] out) {
+        int length = Math.max(width, Region.count());
+        if (out == null || out.length < length) {
+            out = new float[length];
+        }
+        System.arraycopy(values, row * width, out, 0, width);
+        Arrays.fill(out, width, out.length, Float.NaN);
+        return out;
+    }
+
+    /**
+     * Copy this matrix into a taller one, moving every row down by {@code shift}
+     */
+    RegionalMatrix resize(int newRows, int shift) {
+        RegionalMatrix resized = new RegionalMatrix(newRows);
+        resized.width = width;
+        resized.values = new float[newRows * width];
+        Arrays.fill(resized.values, Float.NaN);
+        System.arraycopy(values, 0, resized.values, shift * width, rows * width);
+        return resized;
+    }
+
+    private void widen(int newWidth) {
+        float[] widened = new float[rows * newWidth];
+        Arrays.fill(widened, Float.NaN);
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(values, row * width, widened, row * newWidth, width);
+        }
+        values = widened;
+        width = newWidth;
+    }
+}
\ No newline at end of file
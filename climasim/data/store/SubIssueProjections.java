@@ -0,0 +1,134 @@
+package com.climasim.data.store;
+
+import com.climasim.data.models.SubIssue;
+
+import java.util.List;
+
+/**
+ * Linear sub-issue projections over one shared year axis.
+ *
+ * A projection moves from the current value towards the target value over the
+ * sub-issue's timeframe and is sampled every {@link #STEP} years from {@link #START_YEAR}.
+ * A batch keeps the inputs and results of many sub-issues in flat primitive arrays,
+ * [subIssue * POINTS + point] for the results, and projects them all in one pass.
+ */
+public final class SubIssueProjections {
+
+    public static final int START_YEAR = 2025;
+    public static final int STEP = 5;
+    public static final int POINTS = 6; // 2025 to 2050
+
+    private final double[] current;
+    private final double[] target;
+    private final int[] timeframe;
+    private final double[] values;
+
+    private SubIssueProjections(double[] current, double[] target, int[] timeframe) {
+        this.current = current;
+        this.target = target;
+        this.timeframe = timeframe;
+        this.values = new double[current.length * POINTS];
+        project(current, target, timeframe, 0, current.length, values);
+    }
+
+    /**
+     * Project every sub-issue from its current value, target value and timeframe
+     */
+    public static SubIssueProjections of(List<SubIssue> subIssues) {
+        int n = subIssues.size();
+        double[] current = new double[n];
+        double[] target = new double[n];
+        int[] timeframe = new int[n];
+        for (int i = 0; i < n; i++) {
+            SubIssue subIssue = subIssues.get(i);
+            current[i] = subIssue.getCurrentValue();
+            target[i] = subIssue.getTargetValue();
+            timeframe[i] = subIssue.getTimeframe();
+        }
+        return new SubIssueProjections(current, target, timeframe);
+    }
+
+    /**
+     * Project sub-issues {@code from} to {@code to} into {@code out}, POINTS values per sub-issue
+     * starting at {@code from * POINTS}
+     */
+    public static void project(double[] current, double[] target, int[] timeframe, int from, int to,
+            double[] out) {
+        for (int i = from; i < to; i++) {
+            double c = current[i];
+            double delta = target[i] - c;
+            double years = timeframe[i];
+            int base = i * POINTS;
+            for (int p = 0; p < POINTS; p++) {
+                out[base + p] = c + (p * STEP) * delta / years;
+            }
+        }
+    }
+
+    /**
+     * Projection of a single sub-issue into {@code out}, allocated when null or too small
+     */
+    public static double[] project(double current, double target, int timeframe, double[] out) {
+        double[] series = out != null && out.length >= POINTS ? out : new double[POINTS];
+        double delta = target - current;
+        for (int p = 0; p < POINTS; p++) {
+            series[p] = current + (p * STEP) * delta / timeframe;
+        }
+        return series;
+    }
+
+    /**
+     * Point on the axis for a year, or -1 when the year is not sampled
+     */
+    public static int pointOf(int year) {
+        int offset = year - START_YEAR;
+        return offset >= 0 && offset % STEP == 0 && offset / STEP < POINTS ? offset / STEP : -1;
+    }
+
+    public static int yearOf(int point) {
+        return START_YEAR + point * STEP;
+    }
+
+    public int size() {
+        return current.length;
+    }
+
+    public double get(int subIssue, int point) {
+        return values[subIssue * POINTS + point];
+    }
+
+    /**
+     * Projected value for a sampled year, or NaN
+     */
+    public double valueAt(int subIssue, int year) {
+        int point = pointOf(year);
+        return point >= 0 ? values[subIssue * POINTS + point] : Double.NaN;
+    }
+
+    /**
+     * Change the inputs of one sub-issue and re-project only it
+     */
+    public void update(int subIssue, double currentValue, double targetValue, int years) {
+        current[subIssue] = currentValue;
+        target[subIssue] = targetValue;
+        timeframe[subIssue] = years;
+        project(current, target, timeframe, subIssue, subIssue + 1, values);
+    }
+
+    /**
+     * Copy one sub-issue's projection into {@code out}, allocated when null or too small
+     */
+    public double[] series(int subIssue, double[] out) {
+        double[] series = out != null && out.length >= POINTS ? out : new double[POINTS];
+        System.arraycopy(values, subIssue * POINTS, series, 0, POINTS);
+        return series;
+    }
+
+    /**
+     * All projections, [subIssue * POINTS + point]. The array is live; do not modify it.
+     */
+    public double[] values() {
+        return values;
+    }
+
+}
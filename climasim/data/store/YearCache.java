@@ -0,0 +1,176 @@
+package com.climasim.data.store;
+
+import com.climasim.data.models.YearlyClimateData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of materialized years over a {@link YearlyMetricStore}.
+ *
+ * A materialized year is a {@link YearlyClimateData} view with its summary already
+ * generated, which is the expensive part of showing a year. The cache holds at most
+ * {@link #getCapacity()} of them whatever the length of the dataset; the columns stay
+ * in the store and evicted years are rebuilt from them on the next request.
+ *
+ * {@link #prefetch} materializes a window around a year on the common pool, reaching
+ * further in the direction the timeline is moving, so scrubbing and playback find
+ * their next years already resident. Requests arriving while a prefetch runs replace
+ * each other; the running task picks up the latest one when it finishes.
+ */
+public final class YearCache {
+
+    public static final int DEFAULT_CAPACITY = 32;
+
+    private static final int PREFETCH_AHEAD = 8;
+    private static final int PREFETCH_BEHIND = 2;
+    private static final long NO_REQUEST = Long.MIN_VALUE;
+
+    private final YearlyMetricStore store;
+    private final int capacity;
+    private final LinkedHashMap<Integer, YearlyClimateData> years; // Access ordered, guarded by itself
+
+    private final AtomicBoolean prefetching = new AtomicBoolean();
+    private final AtomicLong pendingRequest = new AtomicLong(NO_REQUEST); // Packed year and direction
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public YearCache(YearlyMetricStore store) {
+        this(store, DEFAULT_CAPACITY);
+    }
+
+    public YearCache(YearlyMetricStore store, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.store = store;
+        this.capacity = capacity;
+        this.years = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, YearlyClimateData> eldest) {
+                return size() > YearCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * The materialized year, building it on the caller's thread when it is not resident.
+     * Returns null for years the store does not hold.
+     */
+    public YearlyClimateData get(int year) {
+        synchronized (years) {
+            YearlyClimateData cached = years.get(year);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+        return load(year);
+    }
+
+    private YearlyClimateData load(int year) {
+        YearlyClimateData data = store.view(year);
+        if (data == null) {
+            return null;
+        }
+        data.getSummary();
+        synchronized (years) {
+            YearlyClimateData raced = years.putIfAbsent(year, data);
+            return raced != null ? raced : data;
+        }
+    }
+
+    public boolean isResident(int year) {
+        synchronized (years) {
+            return years.containsKey(year);
+        }
+    }
+
+    /**
+     * Materialize the years around {@code year} in the background. {@code direction} is
+     * positive when the timeline moves forward, negative when it moves back and 0 when
+     * it is still.
+     */
+    public void prefetch(int year, int direction) {
+        pendingRequest.set(pack(year, Integer.signum(direction)));
+        if (prefetching.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::drainRequests);
+        }
+    }
+
+    private void drainRequests() {
+        try {
+            long request;
+            while ((request = pendingRequest.getAndSet(NO_REQUEST)) != NO_REQUEST) {
+                prefetchWindow((int) (request >> 32), (int) request);
+            }
+        } finally {
+            prefetching.set(false);
+        }
+        // A request may have arrived between the last drain and releasing the flag
+        if (pendingRequest.get() != NO_REQUEST && prefetching.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::drainRequests);
+        }
+    }
+
+    private void prefetchWindow(int year, int direction) {
+        int ahead = direction == 0 ? (PREFETCH_AHEAD + PREFETCH_BEHIND) / 2 : PREFETCH_AHEAD;
+        int behind = direction == 0 ? ahead : PREFETCH_BEHIND;
+        int step = direction < 0 ? -1 : 1;
+        // Nearest years first, so the next frame's year is ready soonest
+        warm(year);
+        for (int d = 1; d <= Math.max(ahead, behind); d++) {
+            if (pendingRequest.get() != NO_REQUEST) {
+                return; // Superseded by a newer selection
+            }
+            if (d <= ahead) {
+                warm(year + step * d);
+            }
+            if (d <= behind) {
+                warm(year - step * d);
+            }
+        }
+    }
+
+    private void warm(int year) {
+        synchronized (years) {
+            if (years.get(year) != null) {
+                return; // Resident; the lookup also marks it recently used
+            }
+        }
+        load(year);
+    }
+
+    private static long pack(int year, int direction) {
+        return (long) year << 32 | (direction & 0xFFFFFFFFL);
+    }
+
+    public void clear() {
+        synchronized (years) {
+            years.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (years) {
+            return years.size();
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,466 @@
+package com.climasim.data.store;
+
+import com.climasim.data.models.ClimateMetric;
+import com.climasim.data.models.Region;
+import com.climasim.data.models.RegionalMetric;
+import com.climasim.data.models.YearlyClimateData;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Columnar store for yearly climate metrics.
+ *
+ * Each metric lives in its own primitive array indexed by {@code year - baseYear},
+ * so reading one metric across many years walks a single contiguous array instead
+ * of chasing one object per year. Regional metrics are dense [year][region] matrices
+ * indexed by {@link Region} id. {@link YearlyClimateData} instances handed out by
+ * {@link #view(int)} are thin views over a row of these columns. A present year may
+ * still lack individual float metrics, e.g. fields missing from a loaded file; those
+ * hold 0 in their column and {@link #hasMetric} tells them apart.
+ *
+ * A store is filled by one loader and then {@link #freeze() frozen} before it is
+ * shared; every write to a frozen store, including through a view, throws.
+ */
+public class YearlyMetricStore {
+
+    private static final ClimateMetric[] METRICS = ClimateMetric.values();
+    private static final RegionalMetric[] REGIONAL_METRICS = RegionalMetric.values();
+    private static final int MIN_CAPACITY = 8;
+
+    private int baseYear;
+    private int capacity;
+    private int size;
+
+    private float[][] columns; // Indexed by metric ordinal, null for count metrics
+    private boolean[][] metricPresent; // Rows holding each float metric, null for count metrics
+    private int[] extremeWeatherEvents;
+    private boolean[] present;
+    private String[] summaries;
+    private RegionalMatrix[] regional; // Indexed by regional metric ordinal
+
+    private volatile Set<Integer> yearSet;
+
+    // Set once before the store is published; the publishing swap makes it visible to readers
+    private boolean frozen;
+
+    public YearlyMetricStore() {
+        this(0, 0);
+    }
+
+    public YearlyMetricStore(int baseYear, int capacity) {
+        this.baseYear = baseYear;
+        allocate(capacity);
+    }
+
+    /**
+     * Build a store from standalone yearly objects, e.g. the result of JSON binding
+     */
+    public static YearlyMetricStore fromYearlyData(Collection<YearlyClimateData> yearlyData) {
+        if (yearlyData.isEmpty()) {
+            return new YearlyMetricStore();
+        }
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+        for (YearlyClimateData data : yearlyData) {
+            minYear = Math.min(minYear, data.getYear());
+            maxYear = Math.max(maxYear, data.getYear());
+        }
+        YearlyMetricStore store = new YearlyMetricStore(minYear, maxYear - minYear + 1);
+        for (YearlyClimateData data : yearlyData) {
+            store.put(data);
+        }
+        return store;
+    }
+
+    private void allocate(int newCapacity) {
+        this.capacity = newCapacity;
+        this.columns = new float[METRICS.length][];
+        this.metricPresent = new boolean[METRICS.length][];
+        for (ClimateMetric metric : METRICS) {
+            if (!metric.isCount()) {
+                columns[metric.ordinal()] = new float[newCapacity];
+                metricPresent[metric.ordinal()] = new boolean[newCapacity];
+            }
+        }
+        this.extremeWeatherEvents = new int[newCapacity];
+        this.present = new boolean[newCapacity];
+        this.summaries = new String[newCapacity];
+        this.regional = new RegionalMatrix[REGIONAL_METRICS.length];
+        for (RegionalMetric metric : REGIONAL_METRICS) {
+            regional[metric.ordinal()] = new RegionalMatrix(newCapacity);
+        }
+    }
+
+    /**
+     * Grow the column arrays so that {@code year} has a row, shifting existing rows
+     * when the year lies before the current base year. Views handed out before a
+     * shift still point at their old row index, so loaders fill the store completely
+     * before publishing it.
+     */
+    private void ensureYear(int year) {
+        if (capacity == 0) {
+            baseYear = year;
+            allocate(MIN_CAPACITY);
+            return;
+        }
+        if (year >= baseYear && year < baseYear + capacity) {
+            return;
+        }
+        int newBase = Math.min(baseYear, year);
+        int newEnd = Math.max(baseYear + capacity, year + 1);
+        int newCapacity = Math.max(newEnd - newBase, capacity + (capacity >> 1));
+        if (year < baseYear) {
+            newBase = newEnd - newCapacity;
+        }
+        int shift = baseYear - newBase;
+
+        float[][] oldColumns = columns;
+        boolean[][] oldMetricPresent = metricPresent;
+        int[] oldEvents = extremeWeatherEvents;
+        boolean[] oldPresent = present;
+        String[] oldSummaries = summaries;
+        RegionalMatrix[] oldRegional = regional;
+        int oldCapacity = capacity;
+
+        allocate(newCapacity);
+        for (int m = 0; m < METRICS.length; m++) {
+            if (oldColumns[m] != null) {
+                System.arraycopy(oldColumns[m], 0, columns[m], shift, oldCapacity);
+                System.arraycopy(oldMetricPresent[m], 0, metricPresent[m], shift, oldCapacity);
+            }
+        }
+        System.arraycopy(oldEvents, 0, extremeWeatherEvents, shift, oldCapacity);
+        System.arraycopy(oldPresent, 0, present, shift, oldCapacity);
+        System.arraycopy(oldSummaries, 0, summaries, shift, oldCapacity);
+        for (int m = 0; m < REGIONAL_METRICS.length; m++) {
+            regional[m] = oldRegional[m].resize(newCapacity, shift);
+        }
+        baseYear = newBase;
+    }
+
+    /**
+     * Reserve a row for the given year and return a view that writes through to it
+     */
+    public YearlyClimateData addYear(int year) {
+        checkMutable();
+        ensureYear(year);
+        int row = year - baseYear;
+        if (!present[row]) {
+            present[row] = true;
+            size++;
+            yearSet = null;
+        }
+        return view(year);
+    }
+
+    /**
+     * Copy a standalone yearly object into its row
+     */
+    public void put(YearlyClimateData data) {
+        checkMutable();
+        int year = data.getYear();
+        addYear(year);
+        int row = year - baseYear;
+        for (ClimateMetric metric : METRICS) {
+            if (metric.isCount()) {
+                extremeWeatherEvents[row] = data.getExtremeWeatherEvents();
+            } else {
+                columns[metric.ordinal()][row] = data.getMetric(metric);
+                metricPresent[metric.ordinal()][row] = true;
+            }
+        }
+        summaries[row] = data.getSummary();
+        for (RegionalMetric metric : REGIONAL_METRICS) {
+            regional[metric.ordinal()].setRow(row, data.getRegionalSlice(metric, null));
+        }
+    }
+
+    // --- Row access ---
+
+    public boolean hasYear(int year) {
+        int row = year - baseYear;
+        return row >= 0 && row < capacity && present[row];
+    }
+
+    /**
+     * Row index for a year, or -1 when the year is not stored
+     */
+    public int rowOf(int year) {
+        return hasYear(year) ? year - baseYear : -1;
+    }
+
+    public int yearOf(int row) {
+        return baseYear + row;
+    }
+
+    /**
+     * New view over the year's row, or null. Views are not retained; callers that show
+     * years repeatedly go through a {@link YearCache}.
+     */
+    public YearlyClimateData view(int year) {
+        int row = rowOf(year);
+        return row >= 0 ? new YearlyClimateData(this, row) : null;
+    }
+
+    public float get(ClimateMetric metric, int row) {
+        if (metric.isCount()) {
+            return extremeWeatherEvents[row];
+        }
+        return columns[metric.ordinal()][row];
+    }
+
+    public void set(ClimateMetric metric, int row, float value) {
+        checkMutable();
+        if (metric.isCount()) {
+            extremeWeatherEvents[row] = (int) value;
+        } else {
+            columns[metric.ordinal()][row] = value;
+            metricPresent[metric.ordinal()][row] = true;
+        }
+    }
+
+    /**
+     * Whether the row's year is stored and holds a value of the metric. The count
+     * metric is held by every stored year.
+     */
+    public boolean hasMetric(ClimateMetric metric, int row) {
+        if (row < 0 || row >= capacity || !present[row]) {
+            return false;
+        }
+        return metric.isCount() || metricPresent[metric.ordinal()][row];
+    }
+
+    public int getExtremeWeatherEvents(int row) {
+        return extremeWeatherEvents[row];
+    }
+
+    public void setExtremeWeatherEvents(int row, int events) {
+        checkMutable();
+        extremeWeatherEvents[row] = events;
+    }
+
+    public String getSummary(int row) {
+        return summaries[row];
+    }
+
+    public void setSummary(int row, String summary) {
+        checkMutable();
+        summaries[row] = summary;
+    }
+
+    // --- Regional access ---
+
+    /**
+     * Value for one region in one row, or NaN when it is missing
+     */
+    public float getRegional(RegionalMetric metric, int row, int regionId) {
+        return regional[metric.ordinal()].get(row, regionId);
+    }
+
+    public void setRegional(RegionalMetric metric, int row, int regionId, float value) {
+        checkMutable();
+        regional[metric.ordinal()].set(row, regionId, value);
+    }
+
+    /**
+     * Replace a row's regional values; {@code values} is indexed by region id and NaN
+     * marks a missing region
+     */
+    public void setRegionalRow(RegionalMetric metric, int row, float[] values) {
+        checkMutable();
+        regional[metric.ordinal()].setRow(row, values);
+    }
+
+    /**
+     * Widen the regional matrices so every region id below {@code regionCount} can be
+     * written without reallocating. Together with pre-added years this lets parallel
+     * writers fill disjoint rows safely.
+     */
+    public void reserveRegions(int regionCount) {
+        checkMutable();
+        for (RegionalMatrix matrix : regional) {
+            matrix.reserve(regionCount);
+        }
+    }
+
+    /**
+     * Copy one region's values for every row into {@code out}, reallocating it when it
+     * is shorter than {@link #getCapacity()}. Rows without data hold NaN.
+     */
+    public float[] regionalSeries(RegionalMetric metric, Region region, float[] out) {
+        return regional[metric.ordinal()].series(region.getId(), out);
+    }
+
+    /**
+     * Copy one row's values, indexed by region id, into {@code out}, reallocating it
+     * when it is shorter than {@link Region#count()}. Missing regions hold NaN.
+     */
+    public float[] regionalSlice(RegionalMetric metric, int row, float[] out) {
+        return regional[metric.ordinal()].slice(row, out);
+    }
+
+    /**
+     * True when any year holds a value of the metric for the region
+     */
+    public boolean hasRegion(RegionalMetric metric, Region region) {
+        return regional[metric.ordinal()].hasRegion(region.getId());
+    }
+
+    /**
+     * Name-keyed copy of a row's regional values, used for JSON export
+     */
+    public Map<String, Float> regionalMap(RegionalMetric metric, int row) {
+        RegionalMatrix matrix = regional[metric.ordinal()];
+        Map<String, Float> map = new HashMap<>();
+        for (int id = 0; id < matrix.width(); id++) {
+            float value = matrix.get(row, id);
+            if (!Float.isNaN(value)) {
+                map.put(Region.byId(id).getName(), value);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Replace a row's regional values from a name-keyed map, registering new regions
+     */
+    public void setRegionalMap(RegionalMetric metric, int row, Map<String, Float> values) {
+        checkMutable();
+        RegionalMatrix matrix = regional[metric.ordinal()];
+        matrix.clearRow(row);
+        if (values == null) {
+            return;
+        }
+        for (Map.Entry<String, Float> entry : values.entrySet()) {
+            if (entry.getValue() != null) {
+                matrix.set(row, Region.of(entry.getKey()).getId(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Raw column for a float metric. Rows without data, and rows lacking the metric,
+     * hold 0; check {@link #hasMetric} where that matters. Callers must not modify it.
+     */
+    public float[] column(ClimateMetric metric) {
+        if (metric.isCount()) {
+            throw new IllegalArgumentException(metric + " is stored as a count column");
+        }
+        return columns[metric.ordinal()];
+    }
+
+    /**
+     * Raw extreme weather count column; callers must not modify it.
+     */
+    public int[] countColumn() {
+        return extremeWeatherEvents;
+    }
+
+    // --- Mutability ---
+
+    /**
+     * Reject all further writes. Called when the store becomes part of a published
+     * data generation, which readers on other threads use without locking.
+     */
+    public void freeze() {
+        frozen = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new IllegalStateException("Yearly store is frozen; it belongs to a published data generation");
+        }
+    }
+
+    // --- Shape ---
+
+    public int getBaseYear() {
+        return baseYear;
+    }
+
+    /**
+     * Number of rows backed by the column arrays, including years without data
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Number of years that hold data
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getFirstYear() {
+        for (int row = 0; row < capacity; row++) {
+            if (present[row]) {
+                return baseYear + row;
+            }
+        }
+        return baseYear;
+    }
+
+    public int getLastYear() {
+        for (int row = capacity - 1; row >= 0; row--) {
+            if (present[row]) {
+                return baseYear + row;
+            }
+        }
+        return baseYear;
+    }
+
+    /**
+     * Sorted, unmodifiable set of the stored years
+     */
+    public Set<Integer> getYears() {
+        Set<Integer> years = yearSet;
+        if (years == null) {
+            Set<Integer> built = new LinkedHashSet<>();
+            for (int row = 0; row < capacity; row++) {
+                if (present[row]) {
+                    built.add(baseYear + row);
+                }
+            }
+            years = Collections.unmodifiableSet(built);
+            yearSet = years;
+        }
+        return years;
+    }
+
+    /**
+     * Year-keyed views over every stored row, used for JSON export
+     */
+    public Map<Integer, YearlyClimateData> asMap() {
+        Map<Integer, YearlyClimateData> map = new TreeMap<>();
+        for (int year : getYears()) {
+            map.put(year, view(year));
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "YearlyMetricStore{" +
+                "baseYear=" + baseYear +
+                ", capacity=" + capacity +
+                ", size=" + size +
+                ", metrics=" + Arrays.toString(METRICS) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.climasim.state;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Typed change notifications from the DataManager and StateManager to the UI.
+ *
+ * Events can be posted from any thread. They are held, one per
+ * {@link ChangeEvent.Kind}, until {@link #dispatch()} delivers them on the render
+ * thread at the start of the next frame, so a burst of changes costs listeners one
+ * call per kind and frame. Listeners are expected to only mark their caches stale and
+ * rebuild them lazily when they next render.
+ */
+public class ChangeBus {
+
+    private static final ChangeEvent.Kind[] KINDS = ChangeEvent.Kind.values();
+
+    // Latest undelivered event per kind, null when nothing is pending
+    private final AtomicReferenceArray<ChangeEvent> pending = new AtomicReferenceArray<>(KINDS.length);
+    private final Map<Class<?>, List<Consumer<ChangeEvent>>> listeners = new ConcurrentHashMap<>();
+
+    private static class InstanceHolder {
+        private static final ChangeBus INSTANCE = new ChangeBus();
+    }
+
+    private ChangeBus() {
+    }
+
+    public static ChangeBus getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Call {@code listener} on the render thread for every dispatched event of {@code type}
+     */
+    public <E extends ChangeEvent> void subscribe(Class<E> type, Consumer<? super E> listener) {
+        listeners.computeIfAbsent(type, k -> new CopyOnWriteArrayList<>())
+                .add(event -> listener.accept(type.cast(event)));
+    }
+
+    /**
+     * Queue an event for the next dispatch, merging it into a pending one of the same kind
+     */
+    public void post(ChangeEvent event) {
+        int slot = event.getKind().ordinal();
+        pending.accumulateAndGet(slot, event, (queued, later) -> queued == null ? later : queued.coalesce(later));
+    }
+
+    /**
+     * Deliver the pending events in {@link ChangeEvent.Kind} order. Returns whether
+     * anything was delivered; in steady state this is a handful of null checks.
+     */
+    public boolean dispatch() {
+        boolean delivered = false;
+        for (int slot = 0; slot < KINDS.length; slot++) {
+            if (pending.get(slot) == null) {
+                continue;
+            }
+            ChangeEvent event = pending.getAndSet(slot, null);
+            List<Consumer<ChangeEvent>> subscribed = listeners.get(event.getClass());
+            if (subscribed != null) {
+                for (Consumer<ChangeEvent> listener : subscribed) {
+                    listener.accept(event);
+                }
+            }
+            delivered = true;
+        }
+        return delivered;
+    }
+}
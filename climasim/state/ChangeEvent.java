@@ -0,0 +1,146 @@
+package com.climasim.state;
+
+import com.climasim.data.models.ClimateIssue;
+
+/**
+ * Notifications posted to the {@link ChangeBus}.
+ *
+ * Each kind is coalesced until the next frame's dispatch, so an event spans every
+ * change of its kind since the last frame: it keeps the earliest "previous" value and
+ * the latest current one.
+ */
+public abstract class ChangeEvent {
+
+    /**
+     * Event kinds in dispatch order. Data replacement goes first so listeners see the
+     * new generation before they react to selection changes made in the same frame.
+     */
+    public enum Kind {
+        DATA_REPLACED,
+        STATE_TRANSITIONED,
+        ISSUE_SELECTED,
+        YEAR_CHANGED
+    }
+
+    private ChangeEvent() {
+    }
+
+    public abstract Kind getKind();
+
+    /**
+     * Merge a later event of the same kind into this one
+     */
+    abstract ChangeEvent coalesce(ChangeEvent later);
+
+    /**
+     * The selected year changed
+     */
+    public static final class YearChanged extends ChangeEvent {
+        private final int previousYear;
+        private final int year;
+
+        public YearChanged(int previousYear, int year) {
+            this.previousYear = previousYear;
+            this.year = year;
+        }
+
+        public int getPreviousYear() {
+            return previousYear;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.YEAR_CHANGED;
+        }
+
+        @Override
+        ChangeEvent coalesce(ChangeEvent later) {
+            return new YearChanged(previousYear, ((YearChanged) later).year);
+        }
+    }
+
+    /**
+     * A new data generation was published by the DataManager
+     */
+    public static final class DataReplaced extends ChangeEvent {
+        private final long generation;
+
+        public DataReplaced(long generation) {
+            this.generation = generation;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.DATA_REPLACED;
+        }
+
+        @Override
+        ChangeEvent coalesce(ChangeEvent later) {
+            return later;
+        }
+    }
+
+    /**
+     * The selected issue changed; the issue is null when the selection was cleared
+     */
+    public static final class IssueSelected extends ChangeEvent {
+        private final ClimateIssue issue;
+
+        public IssueSelected(ClimateIssue issue) {
+            this.issue = issue;
+        }
+
+        public ClimateIssue getIssue() {
+            return issue;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.ISSUE_SELECTED;
+        }
+
+        @Override
+        ChangeEvent coalesce(ChangeEvent later) {
+            return later;
+        }
+    }
+
+    /**
+     * The application moved to another state
+     */
+    public static final class StateTransitioned extends ChangeEvent {
+        private final AppState from;
+        private final AppState to;
+
+        public StateTransitioned(AppState from, AppState to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public AppState getFrom() {
+            return from;
+        }
+
+        public AppState getTo() {
+            return to;
+        }
+
+        @Override
+        public Kind getKind() {
+            return Kind.STATE_TRANSITIONED;
+        }
+
+        @Override
+        ChangeEvent coalesce(ChangeEvent later) {
+            return new StateTransitioned(from, ((StateTransitioned) later).to);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.climasim.state;
 
+import com.climasim.data.DataManager;
 import com.climasim.data.models.ClimateIssue;
 import com.climasim.data.models.SubIssue;
 import com.climasim.data.models.Solution;
@@ -14,6 +15,9 @@ public class StateManager {
 
     private AppState currentState;
 
+    // Change notifications for listeners that cache derived state
+    private final ChangeBus changeBus = ChangeBus.getInstance();
+
     // --- Application Context Data ---
     // These hold the user's current selections.
     private int selectedYear = 2024; // Default to current year
@@ -42,6 +46,12 @@ public class StateManager {
     public void initialize() {
         // The application always starts at the WELCOME screen.
         this.currentState = AppState.WELCOME;
+        // Forward data generations to the bus; one may already be published
+        DataManager dataManager = DataManager.getInstance();
+        dataManager.addSnapshotListener(next -> changeBus.post(new ChangeEvent.DataReplaced(next.getGeneration())));
+        if (dataManager.isDataLoaded()) {
+            changeBus.post(new ChangeEvent.DataReplaced(dataManager.getSnapshot().getGeneration()));
+        }
         System.out.println("✅ StateManager initialized, starting in WELCOME state.");
     }
 
@@ -63,10 +73,11 @@ public class StateManager {
             this.currentState = newState;
 
             System.out.println("State transition: " + oldState + " -> " + newState);
+            changeBus.post(new ChangeEvent.StateTransitioned(oldState, newState));
 
             // When returning to the main view, clear the specific issue selection.
             if (newState == AppState.MAIN_VIEW) {
-                this.selectedIssue = null;
+                setSelectedIssue(null);
             }
         }
     }
@@ -104,7 +115,7 @@ public class StateManager {
 
     public void returnToWelcome() {
         // Clear all selections when returning to welcome
-        this.selectedIssue = null;
+        setSelectedIssue(null);
         this.selectedSubIssue = null;
         this.selectedSolution = null;
         setState(AppState.WELCOME);
@@ -149,8 +160,15 @@ public class StateManager {
 
     public void setSelectedYear(int year) {
         if (year >= 1980 && year <= 2050) {
+            int previousYear = this.selectedYear;
+            int direction = Integer.signum(year - previousYear);
             this.selectedYear = year;
             System.out.println("Selected year: " + year);
+            if (year != previousYear) {
+                changeBus.post(new ChangeEvent.YearChanged(previousYear, year));
+            }
+            // Have the neighbouring years ready before the timeline reaches them
+            DataManager.getInstance().prefetchYears(year, direction);
         } else {
             System.out.println("Invalid year: " + year + ". Must be between 1980 and 2050.");
         }
@@ -158,7 +176,10 @@ public class StateManager {
 
     // FIX: Correct method signature
     public void setSelectedIssue(ClimateIssue issue) {
-        this.selectedIssue = issue;
+        if (issue != this.selectedIssue) {
+            this.selectedIssue = issue;
+            changeBus.post(new ChangeEvent.IssueSelected(issue));
+        }
         if (issue != null) {
             System.out.println("Selected issue: " + issue.getTitle());
         }
@@ -2,6 +2,7 @@ package com.climasim.ui; // FIX: Correct package
 
 import com.climasim.state.StateManager;
 import com.climasim.state.AppState;
+import com.climasim.data.DataManager;
 import com.climasim.data.models.*;
 import imgui.ImGui;
 import imgui.flag.ImGuiWindowFlags;
@@ -20,6 +21,10 @@ public class TimelineSimulationPanel {
     private float animationSpeed = 1.0f;
     private float simulationTime = 0.0f;
 
+    // Reused every frame for the interpolated projection and its 2024 baseline
+    private final ClimateSample projection = new ClimateSample();
+    private final ClimateSample baseline = new ClimateSample();
+
     public TimelineSimulationPanel(StateManager stateManager) {
         this.stateManager = stateManager;
     }
@@ -118,6 +123,19 @@ public class TimelineSimulationPanel {
         float seaLevelRise = yearsFromNow * 3.2f; // 3.2mm per year
         float co2Level = 420.0f + (yearsFromNow * 2.5f); // Current + increase
 
+        // Prefer the loaded data, continuing with the same rates past its last year
+        DataManager dataManager = DataManager.getInstance();
+        dataManager.getClimateDataAt(currentYear, projection);
+        dataManager.getClimateDataAt(2024.0f, baseline);
+        if (!Float.isNaN(projection.get(ClimateMetric.GLOBAL_TEMPERATURE))) {
+            float beyondData = currentYear - projection.getYear();
+            tempIncrease = projection.get(ClimateMetric.GLOBAL_TEMPERATURE)
+                    - baseline.get(ClimateMetric.GLOBAL_TEMPERATURE) + beyondData * 0.02f;
+            seaLevelRise = projection.get(ClimateMetric.SEA_LEVEL_CHANGE)
+                    - baseline.get(ClimateMetric.SEA_LEVEL_CHANGE) + beyondData * 3.2f;
+            co2Level = projection.get(ClimateMetric.CO2_LEVEL) + beyondData * 2.5f;
+        }
+
         // Temperature
         ImGui.textColored(1.0f, 0.4f, 0.4f, 1.0f, "🌡️ Global Temperature");
         ImGui.text("Increase: +" + String.format("%.1f", tempIncrease) + "°C from 2024");
@@ -2,6 +2,7 @@ package com.climasim.ui;
 
 import com.climasim.state.StateManager;
 import com.climasim.state.AppState;
+import com.climasim.state.ChangeBus;
 import com.climasim.ui.panels.*;
 import imgui.ImGui;
 import imgui.ImGuiIO;
@@ -183,6 +184,9 @@ public class UIManager {
         if (!initialized)
             return;
 
+        // Let panels invalidate their caches for changes since the last frame
+        ChangeBus.getInstance().dispatch();
+
         // Start new ImGui frame
         imGuiGlfw.newFrame();
         ImGui.newFrame();
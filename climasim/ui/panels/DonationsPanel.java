@@ -34,10 +34,7 @@ public class DonationsPanel {
 
         // Safety check in case no projects are available
         if (projects.isEmpty()) {
-            projects = dataManager.getAllSolutions().stream()
-                    .filter(s -> s.isRequiresDonation())
-                    .limit(6)
-                    .collect(java.util.stream.Collectors.toList());
+            projects = dataManager.getDonationFallbackProjects();
         }
 
         ImGui.setNextWindowPos(ImGui.getMainViewport().getWorkSizeX() / 2f - 300, 40);
@@ -1,6 +1,8 @@
 package com.climasim.ui.panels;
 
 import com.climasim.state.AppState;
+import com.climasim.state.ChangeBus;
+import com.climasim.state.ChangeEvent;
 import com.climasim.state.StateManager;
 import com.climasim.data.DataManager;
 import com.climasim.data.models.*;
@@ -9,6 +11,7 @@ import imgui.flag.ImGuiWindowFlags;
 import imgui.flag.ImGuiCol;
 import imgui.flag.ImGuiStyleVar;
 import imgui.type.ImInt;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,9 +21,68 @@ public class IssueDeepDivePanel {
     private StateManager stateManager;
     private DataManager dataManager;
 
+    // Display text for the selected issue and year, rebuilt after a change notification
+    private boolean stale = true;
+    private String yearText;
+    private String[] subIssueLabels;
+    private String subIssueCountText;
+    private YearlyClimateData yearData;
+    private String relatedTitle;
+    private final List<String> relatedLines = new ArrayList<>();
+    private final List<String> keyIndicatorLines = new ArrayList<>();
+
     public IssueDeepDivePanel(StateManager stateManager) {
         this.stateManager = stateManager;
         this.dataManager = DataManager.getInstance(); // Get the singleton instance
+        ChangeBus changeBus = ChangeBus.getInstance();
+        changeBus.subscribe(ChangeEvent.IssueSelected.class, event -> stale = true);
+        changeBus.subscribe(ChangeEvent.YearChanged.class, event -> stale = true);
+        changeBus.subscribe(ChangeEvent.DataReplaced.class, event -> stale = true);
+    }
+
+    private void refresh(ClimateIssue selectedIssue) {
+        int selectedYear = stateManager.getSelectedYear();
+        yearText = "Year: " + selectedYear;
+
+        List<SubIssue> subIssues = selectedIssue.getSubIssues();
+        int subIssueCount = (subIssues != null) ? subIssues.size() : 0;
+        subIssueLabels = new String[subIssueCount];
+        for (int i = 0; i < subIssueCount; i++) {
+            subIssueLabels[i] = "🔸 " + subIssues.get(i).getName();
+        }
+        subIssueCountText = "Total sub-issues: " + subIssueCount;
+
+        yearData = dataManager.getClimateDataForYear(selectedYear);
+        relatedLines.clear();
+        keyIndicatorLines.clear();
+        if (yearData != null) {
+            relatedTitle = "Climate Data (" + selectedYear + ")";
+            String issueId = selectedIssue.getId().toLowerCase();
+
+            // Show relevant data based on the selected issue
+            if (issueId.contains("global_warming") || issueId.contains("temperature")) {
+                relatedLines.add("🌡️ Global Temperature: " + String.format("%.2f°C", yearData.getGlobalTemperature()));
+                relatedLines.add("📈 Temperature Anomaly: +" + String.format("%.2f°C", yearData.getTemperatureAnomaly()));
+            }
+
+            if (issueId.contains("ocean")) {
+                relatedLines.add("🌊 Ocean pH: " + String.format("%.2f", yearData.getOceanPH()));
+                relatedLines.add("📏 Sea Level Change: +" + String.format("%.1fmm", yearData.getSeaLevelChange()));
+            }
+
+            if (issueId.contains("forest") || issueId.contains("deforestation")) {
+                relatedLines.add("🌳 Forest Cover: " + String.format("%.1f%%", yearData.getGlobalForestCover()));
+            }
+
+            if (issueId.contains("ice") || issueId.contains("arctic")) {
+                relatedLines.add("🧊 Arctic Ice: " + String.format("%.1f million km²", yearData.getArcticIceExtent()));
+            }
+
+            // Always show these key indicators
+            keyIndicatorLines.add("🏭 CO₂ Level: " + String.format("%.1f ppm", yearData.getCo2Level()));
+            keyIndicatorLines.add("⛈️ Extreme Weather: " + yearData.getExtremeWeatherEvents() + " events");
+        }
+        stale = false;
     }
 
     public void render() {
@@ -41,6 +103,10 @@ public class IssueDeepDivePanel {
             return;
         }
 
+        if (stale) {
+            refresh(selectedIssue);
+        }
+
         // Header
         ImGui.setNextWindowPos(10, 10);
         ImGui.setNextWindowSize(500, 120);
@@ -52,7 +118,7 @@ public class IssueDeepDivePanel {
 
             // Show the description from DataManager
             ImGui.textWrapped(selectedIssue.getDescription());
-            ImGui.text("Year: " + stateManager.getSelectedYear());
+            ImGui.text(yearText);
 
             // Show additional details if available
             if (selectedIssue.getDetails() != null && !selectedIssue.getDetails().isEmpty()) {
@@ -72,13 +138,13 @@ public class IssueDeepDivePanel {
 
             if (subIssues != null && !subIssues.isEmpty()) {
                 // Display actual sub-issues from the data
-                for (SubIssue subIssue : subIssues) {
+                for (int i = 0; i < subIssues.size(); i++) {
+                    SubIssue subIssue = subIssues.get(i);
                     // Create a unique ID for each sub-issue row
-                    ImGui.pushID("subissue_" + subIssue.getName());
+                    ImGui.pushID(i);
 
                     // Sub-issue info button (original functionality)
-                    String infoButtonText = "🔸 " + subIssue.getName();
-                    if (ImGui.button(infoButtonText, 350, 40)) {
+                    if (ImGui.button(subIssueLabels[i], 350, 40)) {
                         stateManager.selectSubIssue(subIssue);
                     }
 
@@ -141,8 +207,7 @@ public class IssueDeepDivePanel {
 
             // Add some spacing and show total count
             ImGui.separator();
-            int subIssueCount = (subIssues != null) ? subIssues.size() : 0;
-            ImGui.text("Total sub-issues: " + subIssueCount);
+            ImGui.text(subIssueCountText);
 
             // Instructions for users
             ImGui.spacing();
@@ -210,9 +275,6 @@ public class IssueDeepDivePanel {
      * Render related climate data for the selected year and issue
      */
     private void renderRelatedData() {
-        int selectedYear = stateManager.getSelectedYear();
-        YearlyClimateData yearData = dataManager.getClimateDataForYear(selectedYear);
-
         if (yearData == null)
             return;
 
@@ -220,33 +282,15 @@ public class IssueDeepDivePanel {
         ImGui.setNextWindowPos(720, 10);
         ImGui.setNextWindowSize(400, 200);
 
-        if (ImGui.begin("Climate Data (" + selectedYear + ")", ImGuiWindowFlags.NoResize | ImGuiWindowFlags.NoMove)) {
-            ClimateIssue selectedIssue = stateManager.getSelectedIssue();
-            String issueId = selectedIssue.getId().toLowerCase();
-
-            // Show relevant data based on the selected issue
-            if (issueId.contains("global_warming") || issueId.contains("temperature")) {
-                ImGui.text("🌡️ Global Temperature: " + String.format("%.2f°C", yearData.getGlobalTemperature()));
-                ImGui.text("📈 Temperature Anomaly: +" + String.format("%.2f°C", yearData.getTemperatureAnomaly()));
+        if (ImGui.begin(relatedTitle, ImGuiWindowFlags.NoResize | ImGuiWindowFlags.NoMove)) {
+            for (String line : relatedLines) {
+                ImGui.text(line);
             }
 
-            if (issueId.contains("ocean")) {
-                ImGui.text("🌊 Ocean pH: " + String.format("%.2f", yearData.getOceanPH()));
-                ImGui.text("📏 Sea Level Change: +" + String.format("%.1fmm", yearData.getSeaLevelChange()));
-            }
-
-            if (issueId.contains("forest") || issueId.contains("deforestation")) {
-                ImGui.text("🌳 Forest Cover: " + String.format("%.1f%%", yearData.getGlobalForestCover()));
-            }
-
-            if (issueId.contains("ice") || issueId.contains("arctic")) {
-                ImGui.text("🧊 Arctic Ice: " + String.format("%.1f million km²", yearData.getArcticIceExtent()));
-            }
-
-            // Always show these key indicators
             ImGui.separator();
-            ImGui.text("🏭 CO₂ Level: " + String.format("%.1f ppm", yearData.getCo2Level()));
-            ImGui.text("⛈️ Extreme Weather: " + yearData.getExtremeWeatherEvents() + " events");
+            for (String line : keyIndicatorLines) {
+                ImGui.text(line);
+            }
 
             // Show the year summary if available
             if (yearData.getSummary() != null && !yearData.getSummary().isEmpty()) {
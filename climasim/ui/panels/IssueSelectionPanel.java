@@ -2,6 +2,8 @@ package com.climasim.ui.panels;
 
 import com.climasim.data.DataManager;
 import com.climasim.state.AppState;
+import com.climasim.state.ChangeBus;
+import com.climasim.state.ChangeEvent;
 import com.climasim.state.StateManager;
 import com.climasim.data.models.*;
 import imgui.ImGui;
@@ -19,20 +21,49 @@ public class IssueSelectionPanel {
     private DataManager dataManager;
     private List<ClimateIssue> availableIssues;
 
+    // Display strings derived from the year and data, rebuilt after a change notification
+    private boolean stale = true;
+    private int year;
+    private String headerTitle;
+    private String headerText;
+    private String[] issueLabels;
+    private String totalIssuesText;
+    private String yearsText;
+
     public IssueSelectionPanel(StateManager stateManager) {
         this.stateManager = stateManager;
         this.dataManager = DataManager.getInstance();
+        ChangeBus changeBus = ChangeBus.getInstance();
+        changeBus.subscribe(ChangeEvent.YearChanged.class, event -> stale = true);
+        changeBus.subscribe(ChangeEvent.DataReplaced.class, event -> stale = true);
+    }
+
+    private void refresh() {
+        year = stateManager.getSelectedYear();
+        headerTitle = "Climate Issues - " + year;
+        headerText = "🌍 Major Climate Issues in " + year;
+        availableIssues = dataManager.getClimateIssuesForYear(year);
+        issueLabels = new String[availableIssues != null ? availableIssues.size() : 0];
+        for (int i = 0; i < issueLabels.length; i++) {
+            ClimateIssue issue = availableIssues.get(i);
+            issueLabels[i] = getIssueIcon(issue.getId()) + " " + issue.getTitle();
+        }
+        totalIssuesText = "Total issues available: " + dataManager.getAllClimateIssues().size();
+        yearsText = "Climate data years: " + dataManager.getAvailableYears().size();
+        stale = false;
     }
 
     public void render() {
-        int year = stateManager.getSelectedYear();
+        if (stale) {
+            refresh();
+        }
 
         // Header panel
         ImGui.setNextWindowPos(10, 10);
         ImGui.setNextWindowSize(400, 100);
 
-        if (ImGui.begin("Climate Issues - " + year, ImGuiWindowFlags.NoResize | ImGuiWindowFlags.NoMove)) {
-            ImGui.text("🌍 Major Climate Issues in " + year);
+        if (ImGui.begin(headerTitle, ImGuiWindowFlags.NoResize | ImGuiWindowFlags.NoMove)) {
+            ImGui.text(headerText);
             ImGui.separator();
             ImGui.textColored(1.0f, 0.8f, 0.2f, 1.0f,
                     "Click on issues below to explore detailed information");
@@ -44,16 +75,13 @@ public class IssueSelectionPanel {
         ImGui.setNextWindowSize(400, 400);
 
         if (ImGui.begin("Available Issues", ImGuiWindowFlags.NoResize | ImGuiWindowFlags.NoMove)) {
-            // Get real climate issues from DataManager
-            List<ClimateIssue> issues = dataManager.getClimateIssuesForYear(year);
+            List<ClimateIssue> issues = availableIssues;
 
             if (issues != null && !issues.isEmpty()) {
                 // Display real climate issues from DataManager
-                for (ClimateIssue issue : issues) {
-                    // Create button with issue title
-                    String buttonText = getIssueIcon(issue.getId()) + " " + issue.getTitle();
-
-                    if (ImGui.button(buttonText, 350, 35)) {
+                for (int i = 0; i < issues.size(); i++) {
+                    ClimateIssue issue = issues.get(i);
+                    if (ImGui.button(issueLabels[i], 350, 35)) {
                         stateManager.setSelectedIssue(issue);
                         stateManager.showIssueDeepDive();
                     }
@@ -96,10 +124,8 @@ public class IssueSelectionPanel {
 
             // Show data statistics
             if (dataManager.isDataLoaded()) {
-                ImGui.textColored(0.7f, 0.7f, 0.7f, 1.0f,
-                        "Total issues available: " + dataManager.getAllClimateIssues().size());
-                ImGui.textColored(0.7f, 0.7f, 0.7f, 1.0f,
-                        "Climate data years: " + dataManager.getAvailableYears().size());
+                ImGui.textColored(0.7f, 0.7f, 0.7f, 1.0f, totalIssuesText);
+                ImGui.textColored(0.7f, 0.7f, 0.7f, 1.0f, yearsText);
             }
         }
         ImGui.end();
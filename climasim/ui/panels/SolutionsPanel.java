@@ -9,9 +9,11 @@ import com.climasim.state.StateManager;
 import imgui.ImGui;
 import imgui.flag.ImGuiWindowFlags;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Displays potential solutions for the currently selected climate issue.
@@ -22,6 +24,11 @@ public class SolutionsPanel {
     public SolutionsPanel() {
     }
 
+    // Solutions of the selected issue grouped by type, rebuilt only when the issue or data generation changes
+    private ClimateIssue groupedIssue;
+    private long groupedGeneration = -1;
+    private Map<SolutionType, List<Solution>> groupedSolutions = Collections.emptyMap();
+
     public void render(float deltaTime) {
         // FIX: Get singleton instances inside the render method.
         StateManager stateManager = StateManager.getInstance();
@@ -48,19 +55,14 @@ public class SolutionsPanel {
                     "The following solutions can help mitigate the effects of " + selectedIssue.getTitle() + ".");
             ImGui.separator();
 
-            // FIX: Get the list of RELEVANT solutions from the DataManager.
-            List<Solution> solutions = dataManager.getSolutionsForIssue(selectedIssue.getTitle());
+            Map<SolutionType, List<Solution>> groupedSolutions = groupedSolutionsFor(dataManager, selectedIssue);
 
-            if (solutions == null || solutions.isEmpty()) {
+            if (groupedSolutions.isEmpty()) {
                 ImGui.textWrapped("Specific solutions for this issue have not been detailed yet.");
 
                 // Show generic solutions as fallback
                 showGenericSolutions();
             } else {
-                // Group solutions by their type for organized display.
-                Map<SolutionType, List<Solution>> groupedSolutions = solutions.stream()
-                        .collect(Collectors.groupingBy(Solution::getType));
-
                 for (SolutionType type : groupedSolutions.keySet()) {
                     ImGui.spacing();
                     ImGui.textColored(0.4f, 0.8f, 1.0f, 1.0f, "--- " + type.getDisplayName() + " ---");
@@ -113,6 +115,23 @@ public class SolutionsPanel {
         ImGui.end();
     }
 
+    /**
+     * Relevant solutions for the issue grouped by type, cached across frames
+     */
+    private Map<SolutionType, List<Solution>> groupedSolutionsFor(DataManager dataManager, ClimateIssue issue) {
+        long generation = dataManager.getSnapshot().getGeneration();
+        if (issue != groupedIssue || generation != groupedGeneration) {
+            Map<SolutionType, List<Solution>> grouped = new EnumMap<>(SolutionType.class);
+            for (Solution solution : dataManager.getSolutionsForIssue(issue.getTitle())) {
+                grouped.computeIfAbsent(solution.getType(), t -> new ArrayList<>()).add(solution);
+            }
+            groupedSolutions = grouped;
+            groupedIssue = issue;
+            groupedGeneration = generation;
+        }
+        return groupedSolutions;
+    }
+
     private void renderNoIssueSelected() {
         ImGui.setNextWindowPos(
                 ImGui.getMainViewport().getWorkPosX() + (ImGui.getMainViewport().getWorkSizeX() * 0.5f),
@@ -3,6 +3,8 @@ package com.climasim.ui.panels;
 import com.climasim.data.DataManager;
 import com.climasim.data.models.YearlyClimateData;
 import com.climasim.state.AppState;
+import com.climasim.state.ChangeBus;
+import com.climasim.state.ChangeEvent;
 import com.climasim.state.StateManager;
 import imgui.ImGui;
 import imgui.flag.ImGuiCol;
@@ -19,10 +21,57 @@ public class YearInputPanel {
     private boolean isPlaying = false;
     private float timer = 0.0f;
 
+    // Indicator text for currentYear, rebuilt after a change notification
+    private boolean stale = true;
+    private String currentYearText;
+    private String keyEventsText;
+    private final String[] indicatorLines = new String[5];
+    private float severity;
+
     // Default constructor for clean UIManager integration
     public YearInputPanel() {
         // Initialize the year from the StateManager's default
         this.currentYear = new ImInt(StateManager.getInstance().getSelectedYear());
+        ChangeBus changeBus = ChangeBus.getInstance();
+        changeBus.subscribe(ChangeEvent.YearChanged.class, event -> {
+            // Follow year changes made by other panels too
+            currentYear.set(event.getYear());
+            stale = true;
+        });
+        changeBus.subscribe(ChangeEvent.DataReplaced.class, event -> stale = true);
+    }
+
+    private void refresh(DataManager dataManager) {
+        int year = currentYear.get();
+        currentYearText = "Current Year: " + year;
+        keyEventsText = "Key Events in " + year + ":";
+
+        YearlyClimateData data = dataManager.getClimateDataForYear(year);
+        float tempChange;
+        if (data != null) {
+            tempChange = data.getTemperatureAnomaly();
+            indicatorLines[0] = "🌡️ Global Temperature Change: +" + String.format("%.2f", tempChange) + "°C";
+            indicatorLines[1] = "🏭 CO2 Levels: " + String.format("%.1f", data.getCo2Level()) + " PPM";
+            indicatorLines[2] = "🌊 Sea Level Rise: +" + String.format("%.1f", data.getSeaLevelChange()) + " cm";
+            indicatorLines[3] = "🌳 Forest Cover: " + String.format("%.1f", data.getGlobalForestCover())
+                    + "% (1980 baseline)";
+            indicatorLines[4] = "🧊 Arctic Ice: " + String.format("%.1f", data.getArcticIceExtent())
+                    + "% (1980 baseline)";
+        } else {
+            // Fallback: If DataManager doesn't have data, show calculated values
+            tempChange = (year - 1980) * 0.02f; // +0.02°C per year
+            float co2Level = 315 + (year - 1980) * 1.5f; // PPM
+            float seaLevel = (year - 1980) * 0.08f; // cm
+            indicatorLines[0] = "🌡️ Global Temperature Change: +" + String.format("%.2f", tempChange) + "°C";
+            indicatorLines[1] = "🏭 CO2 Levels: " + String.format("%.1f", co2Level) + " PPM";
+            indicatorLines[2] = "🌊 Sea Level Rise: +" + String.format("%.1f", seaLevel) + " cm";
+            indicatorLines[3] = "🌳 Forest Cover: " + String.format("%.1f", 100 - (year - 1980) * 0.3f)
+                    + "% (1980 baseline)";
+            indicatorLines[4] = "🧊 Arctic Ice: " + String.format("%.1f", 100 - (year - 1980) * 0.5f)
+                    + "% (1980 baseline)";
+        }
+        severity = Math.min(1.0f, tempChange / 3.0f); // Max out at +3°C
+        stale = false;
     }
 
     public void render(float deltaTime) {
@@ -44,6 +93,10 @@ public class YearInputPanel {
             }
         }
 
+        if (stale) {
+            refresh(dataManager);
+        }
+
         // Control panel
         ImGui.setNextWindowPos(10, 10);
         ImGui.setNextWindowSize(500, 200);
@@ -53,7 +106,7 @@ public class YearInputPanel {
             ImGui.separator();
 
             // Current year display
-            ImGui.text("Current Year: " + currentYear.get());
+            ImGui.text(currentYearText);
 
             // Timeline slider
             if (ImGui.sliderInt("##timeline", currentYear.getData(), 1980, 2050)) {
@@ -92,7 +145,7 @@ public class YearInputPanel {
             ImGui.separator();
 
             // Key events for current year
-            ImGui.text("Key Events in " + currentYear.get() + ":");
+            ImGui.text(keyEventsText);
             displayKeyEvents(currentYear.get());
         }
         ImGui.end();
@@ -102,72 +155,28 @@ public class YearInputPanel {
         ImGui.setNextWindowSize(500, 300);
 
         if (ImGui.begin("Climate Indicators", ImGuiWindowFlags.NoResize | ImGuiWindowFlags.NoMove)) {
-            // Get data directly from the DataManager for consistency
-            YearlyClimateData data = dataManager.getClimateDataForYear(currentYear.get());
-
-            if (data != null) {
-                ImGui.text("🌡️ Global Temperature Change: +" + String.format("%.2f", data.getTemperatureAnomaly())
-                        + "°C");
-                ImGui.text("🏭 CO2 Levels: " + String.format("%.1f", data.getCo2Level()) + " PPM");
-                ImGui.text("🌊 Sea Level Rise: +" + String.format("%.1f", data.getSeaLevelChange()) + " cm");
-                // Fixed method call - use correct method name
-                ImGui.text(
-                        "🌳 Forest Cover: " + String.format("%.1f", data.getGlobalForestCover()) + "% (1980 baseline)");
-                ImGui.text("🧊 Arctic Ice: " + String.format("%.1f", data.getArcticIceExtent()) + "% (1980 baseline)");
-
-                ImGui.spacing();
-                ImGui.separator();
-
-                // Progress bars for visual impact
-                ImGui.text("Climate Impact Severity:");
-                float severity = Math.min(1.0f, data.getTemperatureAnomaly() / 3.0f); // Max out at +3°C
-                ImGui.pushStyleColor(ImGuiCol.PlotHistogram,
-                        severity < 0.3f ? 0.2f : (severity < 0.7f ? 0.8f : 1.0f),
-                        severity < 0.3f ? 0.8f : (severity < 0.7f ? 0.8f : 0.2f),
-                        0.2f, 1.0f);
-                ImGui.progressBar(severity, 400, 20);
-                ImGui.popStyleColor();
-
-                if (severity < 0.3f) {
-                    ImGui.textColored(0.2f, 0.8f, 0.2f, 1.0f, "Status: Manageable Impact");
-                } else if (severity < 0.7f) {
-                    ImGui.textColored(0.8f, 0.8f, 0.2f, 1.0f, "Status: Significant Impact");
-                } else {
-                    ImGui.textColored(1.0f, 0.2f, 0.2f, 1.0f, "Status: Critical Impact");
-                }
+            for (String line : indicatorLines) {
+                ImGui.text(line);
+            }
+
+            ImGui.spacing();
+            ImGui.separator();
+
+            // Progress bars for visual impact
+            ImGui.text("Climate Impact Severity:");
+            ImGui.pushStyleColor(ImGuiCol.PlotHistogram,
+                    severity < 0.3f ? 0.2f : (severity < 0.7f ? 0.8f : 1.0f),
+                    severity < 0.3f ? 0.8f : (severity < 0.7f ? 0.8f : 0.2f),
+                    0.2f, 1.0f);
+            ImGui.progressBar(severity, 400, 20);
+            ImGui.popStyleColor();
+
+            if (severity < 0.3f) {
+                ImGui.textColored(0.2f, 0.8f, 0.2f, 1.0f, "Status: Manageable Impact");
+            } else if (severity < 0.7f) {
+                ImGui.textColored(0.8f, 0.8f, 0.2f, 1.0f, "Status: Significant Impact");
             } else {
-                // Fallback: If DataManager doesn't have data, show calculated values
-                int year = currentYear.get();
-                float tempChange = (year - 1980) * 0.02f; // +0.02°C per year
-                float co2Level = 315 + (year - 1980) * 1.5f; // PPM
-                float seaLevel = (year - 1980) * 0.08f; // cm
-
-                ImGui.text("🌡️ Global Temperature Change: +" + String.format("%.2f", tempChange) + "°C");
-                ImGui.text("🏭 CO2 Levels: " + String.format("%.1f", co2Level) + " PPM");
-                ImGui.text("🌊 Sea Level Rise: +" + String.format("%.1f", seaLevel) + " cm");
-                ImGui.text(
-                        "🌳 Forest Cover: " + String.format("%.1f", 100 - (year - 1980) * 0.3f) + "% (1980 baseline)");
-                ImGui.text("🧊 Arctic Ice: " + String.format("%.1f", 100 - (year - 1980) * 0.5f) + "% (1980 baseline)");
-
-                ImGui.spacing();
-                ImGui.separator();
-
-                ImGui.text("Climate Impact Severity:");
-                float severity = Math.min(1.0f, tempChange / 3.0f);
-                ImGui.pushStyleColor(ImGuiCol.PlotHistogram,
-                        severity < 0.3f ? 0.2f : (severity < 0.7f ? 0.8f : 1.0f),
-                        severity < 0.3f ? 0.8f : (severity < 0.7f ? 0.8f : 0.2f),
-                        0.2f, 1.0f);
-                ImGui.progressBar(severity, 400, 20);
-                ImGui.popStyleColor();
-
-                if (severity < 0.3f) {
-                    ImGui.textColored(0.2f, 0.8f, 0.2f, 1.0f, "Status: Manageable Impact");
-                } else if (severity < 0.7f) {
-                    ImGui.textColored(0.8f, 0.8f, 0.2f, 1.0f, "Status: Significant Impact");
-                } else {
-                    ImGui.textColored(1.0f, 0.2f, 0.2f, 1.0f, "Status: Critical Impact");
-                }
+                ImGui.textColored(1.0f, 0.2f, 0.2f, 1.0f, "Status: Critical Impact");
             }
         }
         ImGui.end();